@@ -0,0 +1,31 @@
+package entities;
+
+import entities.ast.Program;
+import symbols.SymbolsTable;
+
+// What the front end leaves for the code generator once a file is analysed without errors. The blank lines are the ones
+// the parser printed on the way, a cached analysis prints them again so the output doesn't change
+public class Analysis {
+
+    private final Program program;
+    private final SymbolsTable symbolsTable;
+    private final int blankLines;
+
+    public Analysis(Program program, SymbolsTable symbolsTable, int blankLines) {
+        this.program = program;
+        this.symbolsTable = symbolsTable;
+        this.blankLines = blankLines;
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public SymbolsTable getSymbolsTable() {
+        return symbolsTable;
+    }
+
+    public int getBlankLines() {
+        return blankLines;
+    }
+}
@@ -1,24 +1,130 @@
 package entities;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
 
+// The names the analysis tells apart have one shared type each, fams and any other name are values equal by name and
+// dimensions, which the symbols table of a compilation keeps one of. The name is kept as an index, and whether one type
+// takes a value of another and which one an operation gives are worked out once for every pair of names, comparing two
+// types is an array load
 public class Datatype {
+        // The names the analysis tells apart, any other one behaves as OTHER
+        private static final String[] NAMES = {"bipolar", "bool_lit", "zombie", "null_lit", "bro", "num_lit",
+                "char_lit", "mainchar", "sis", "dec_lit", "str_lit", "twin", "ERROR"};
+        private static final int OTHER = NAMES.length;
+        private static final HashMap<String, Integer> INDEXES = new HashMap<>();
+        // Whether a value of the second name can go where the first one is expected
+        private static final boolean[][] COMPATIBLE = new boolean[OTHER + 1][OTHER + 1];
+        // The operands of an operation give the type of the highest rank, -1 for the names that don't rank
+        private static final int[] RANKS = new int[OTHER + 1];
+        // Strings, nulls and booleans can't be operands of an arithmetic operation
+        private static final boolean[] OPERABLE = new boolean[OTHER + 1];
+        private static final Datatype[] SCALARS = new Datatype[OTHER];
+
+        static {
+            for (int i = 0; i < NAMES.length; i++) {
+                INDEXES.put(NAMES[i], i);
+            }
+            for (int i = 0; i <= OTHER; i++) {
+                String type1 = i == OTHER ? "" : NAMES[i];
+                RANKS[i] = rank(type1);
+                OPERABLE[i] = !type1.equals("str_lit") && !type1.equals("null_lit") && !type1.equals("bool_lit");
+                for (int j = 0; j <= OTHER; j++) {
+                    COMPATIBLE[i][j] = compatible(type1, j == OTHER ? "" : NAMES[j]);
+                }
+            }
+            for (int i = 0; i < NAMES.length; i++) {
+                SCALARS[i] = new Datatype(NAMES[i], null, i);
+            }
+        }
+
+        public static final Datatype ERROR = of("ERROR");
+
         private final String type;
-        private final ArrayList<Integer> dimensions;
+        private final List<Integer> dimensions;
+        private final int index;
 
-        public Datatype(String type, ArrayList<Integer> dimensions) {
+        private Datatype(String type, List<Integer> dimensions, int index) {
             this.type = type;
             this.dimensions = dimensions;
+            this.index = index;
+        }
+
+        public static Datatype of(String type) {
+            Integer index = INDEXES.get(type);
+            if (index != null) return SCALARS[index];
+            return new Datatype(type, null, OTHER);
+        }
+
+        // dimensions is null for anything but a fam
+        public static Datatype of(String type, List<Integer> dimensions) {
+            if (dimensions == null) return of(type);
+            return new Datatype(type, List.copyOf(dimensions), INDEXES.getOrDefault(type, OTHER));
+        }
+
+        private static boolean compatible(String type1, String type2) {
+            if ((type1.equals("bool_lit") || type1.equals("bipolar")) && (type2.equals("bool_lit") || type2.equals("bipolar")))
+                return true;
+            else if ((type1.equals("null_lit") || type1.equals("zombie")) && (type2.equals("null_lit") || type2.equals("zombie")))
+                return true;
+            else if ((type1.equals("num_lit") || type1.equals("char_lit") || type1.equals("bro") || type1.equals("mainchar")) &&
+                    (type2.equals("num_lit") || type2.equals("char_lit") || type2.equals("bro") || type2.equals("mainchar")))
+                return true;
+            else if ((type1.equals("dec_lit") || type1.equals("sis")) &&
+                    (type2.equals("dec_lit") || type2.equals("num_lit") || type2.equals("char_lit") || type2.equals("sis")  || type2.equals("bro")) || type2.equals("mainchar"))
+                return true;
+
+            return false;
+        }
+
+        private static int rank(String type) {
+            return switch (type) {
+                case "char_lit", "mainchar" -> 0;
+                case "num_lit", "bro" -> 1;
+                case "sis", "dec_lit" -> 2;
+                case "twin" -> 3;
+                default -> -1;
+            };
         }
 
         public String getType() {
             return type;
         }
 
-        public ArrayList<Integer> getDimensions() {
+        // Can't be modified
+        public List<Integer> getDimensions() {
             return dimensions;
         }
 
+        // Only the names are compared, not the dimensions
+        public boolean isCompatible(Datatype other) {
+            return COMPATIBLE[index][other.index];
+        }
+
+        public int getRank() {
+            return RANKS[index];
+        }
+
+        public boolean isError() {
+            return index == ERROR.index;
+        }
+
+        public boolean canBeOperated() {
+            return OPERABLE[index];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Datatype datatype && type.equals(datatype.type)
+                    && Objects.equals(dimensions, datatype.dimensions);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode() * 31 + Objects.hashCode(dimensions);
+        }
+
         public String getMessage() {
             StringBuilder message = new StringBuilder();
             if (dimensions != null) {
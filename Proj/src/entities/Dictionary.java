@@ -1,77 +1,128 @@
 package entities;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
-public class Dictionary {
+public final class Dictionary {
 
-    private final Map<String, Token.TokenType> dict;
+    private static final int[] SYMBOLS = new int[256];
 
-    public Dictionary() {
-        dict = new HashMap<>();
-        populate();
+    static {
+        Arrays.fill(SYMBOLS, TokenKind.NONE);
+        SYMBOLS['.'] = TokenKind.DOT;
+        SYMBOLS[','] = TokenKind.COMMA;
+        SYMBOLS[':'] = TokenKind.COLON;
+        SYMBOLS['('] = TokenKind.LEFT_PAREN;
+        SYMBOLS[')'] = TokenKind.RIGHT_PAREN;
+        SYMBOLS['['] = TokenKind.LEFT_BRACKET;
+        SYMBOLS[']'] = TokenKind.RIGHT_BRACKET;
+        SYMBOLS['¡'] = TokenKind.BODY_OPEN;
+        SYMBOLS['!'] = TokenKind.BODY_CLOSE;
+        SYMBOLS['¿'] = TokenKind.ARGS_OPEN;
+        SYMBOLS['?'] = TokenKind.ARGS_CLOSE;
+        SYMBOLS['='] = TokenKind.ASSIGN;
+        SYMBOLS['+'] = TokenKind.PLUS;
+        SYMBOLS['-'] = TokenKind.MINUS;
+        SYMBOLS['*'] = TokenKind.STAR;
+        SYMBOLS['/'] = TokenKind.SLASH;
+        SYMBOLS['%'] = TokenKind.PERCENT;
+        SYMBOLS['<'] = TokenKind.LESS;
+        SYMBOLS['>'] = TokenKind.GREATER;
+        SYMBOLS['&'] = TokenKind.AMPERSAND;
+        SYMBOLS['|'] = TokenKind.PIPE;
+        SYMBOLS['#'] = TokenKind.HASH;
+        SYMBOLS['4'] = TokenKind.FOUR;
     }
 
-    public Token.TokenType find(String token) {
-        return dict.get(token);
+    private Dictionary() {
     }
 
-    private void populate() {
-        dict.put("fact", Token.TokenType.KEYWORD);
-        dict.put(".", Token.TokenType.SEPARATOR);
-        dict.put("=", Token.TokenType.OPERATOR);
-        dict.put("+", Token.TokenType.OPERATOR);
-        dict.put("-", Token.TokenType.OPERATOR);
-        dict.put("*", Token.TokenType.OPERATOR);
-        dict.put("/", Token.TokenType.OPERATOR);
-        dict.put("%", Token.TokenType.OPERATOR);
-        dict.put("fam", Token.TokenType.KEYWORD);
-        dict.put("(", Token.TokenType.SEPARATOR);
-        dict.put(")", Token.TokenType.SEPARATOR);
-        dict.put("[", Token.TokenType.SEPARATOR);
-        dict.put("]", Token.TokenType.SEPARATOR);
-        dict.put(",", Token.TokenType.SEPARATOR);
-        dict.put("bro", Token.TokenType.KEYWORD);
-        dict.put("sis", Token.TokenType.KEYWORD);
-        dict.put("bipolar", Token.TokenType.KEYWORD);
-        dict.put("mainchar", Token.TokenType.KEYWORD);
-        dict.put("ghosted", Token.TokenType.NULL_LIT);
-        dict.put("pass", Token.TokenType.BOOL_LIT);
-        dict.put("smash", Token.TokenType.BOOL_LIT);
-        dict.put("CEO", Token.TokenType.KEYWORD);
-        dict.put("¡", Token.TokenType.SEPARATOR);
-        dict.put("!", Token.TokenType.SEPARATOR);
-        dict.put("¿", Token.TokenType.SEPARATOR);
-        dict.put("?", Token.TokenType.SEPARATOR);
-        dict.put("zombie", Token.TokenType.KEYWORD);
-        dict.put("throwback", Token.TokenType.KEYWORD);
-        dict.put("vibe", Token.TokenType.KEYWORD);
-        dict.put("check", Token.TokenType.KEYWORD);
-        dict.put("then", Token.TokenType.KEYWORD);
-        dict.put("like", Token.TokenType.KEYWORD);
-        dict.put("whatever", Token.TokenType.KEYWORD);
-        dict.put("and", Token.TokenType.OPERATOR);
-        dict.put("or", Token.TokenType.OPERATOR);
-        dict.put("<", Token.TokenType.OPERATOR);
-        dict.put("<=", Token.TokenType.OPERATOR);
-        dict.put(">", Token.TokenType.OPERATOR);
-        dict.put(">=", Token.TokenType.OPERATOR);
-        dict.put("==", Token.TokenType.OPERATOR);
-        dict.put("#=", Token.TokenType.OPERATOR);
-        dict.put("swipe", Token.TokenType.KEYWORD);
-        dict.put("right", Token.TokenType.KEYWORD);
-        dict.put(":", Token.TokenType.SEPARATOR);
-        dict.put("left", Token.TokenType.KEYWORD);
-        dict.put("periodt", Token.TokenType.KEYWORD);
-        dict.put("4", Token.TokenType.KEYWORD);
-        dict.put("++", Token.TokenType.OPERATOR);
-        dict.put("--", Token.TokenType.OPERATOR);
-        dict.put("+=", Token.TokenType.OPERATOR);
-        dict.put("-=", Token.TokenType.OPERATOR);
-        dict.put("*=", Token.TokenType.OPERATOR);
-        dict.put("/=", Token.TokenType.OPERATOR);
-        dict.put("&", Token.TokenType.OPERATOR);
-        dict.put("|", Token.TokenType.OPERATOR);
-        dict.put("#", Token.TokenType.OPERATOR);
+    // Fixed vocabulary lookup, switching on the length and then on a character that tells the words apart
+    public static int find(CharSequence src, int start, int end) {
+        char first = src.charAt(start);
+
+        switch (end - start) {
+            case 1:
+                return first < SYMBOLS.length ? SYMBOLS[first] : TokenKind.NONE;
+            case 2:
+                if (first == 'o') return word(src, start, "or", TokenKind.OR);
+                return findCompound(first, src.charAt(start + 1));
+            case 3:
+                switch (first) {
+                    case 'f': return word(src, start, "fam", TokenKind.FAM);
+                    case 'b': return word(src, start, "bro", TokenKind.BRO);
+                    case 's': return word(src, start, "sis", TokenKind.SIS);
+                    case 'a': return word(src, start, "and", TokenKind.AND);
+                    case 'C': return word(src, start, "CEO", TokenKind.CEO);
+                    default: return TokenKind.NONE;
+                }
+            case 4:
+                switch (first) {
+                    case 'f': return word(src, start, "fact", TokenKind.FACT);
+                    case 'p': return word(src, start, "pass", TokenKind.BOOL_LIT);
+                    case 'v': return word(src, start, "vibe", TokenKind.VIBE);
+                    case 't': return word(src, start, "then", TokenKind.THEN);
+                    case 'l':
+                        return src.charAt(start + 1) == 'i'
+                                ? word(src, start, "like", TokenKind.LIKE)
+                                : word(src, start, "left", TokenKind.LEFT);
+                    default: return TokenKind.NONE;
+                }
+            case 5:
+                switch (first) {
+                    case 'c': return word(src, start, "check", TokenKind.CHECK);
+                    case 'r': return word(src, start, "right", TokenKind.RIGHT);
+                    case 's':
+                        return src.charAt(start + 1) == 'm'
+                                ? word(src, start, "smash", TokenKind.BOOL_LIT)
+                                : word(src, start, "swipe", TokenKind.SWIPE);
+                    default: return TokenKind.NONE;
+                }
+            case 6:
+                return word(src, start, "zombie", TokenKind.ZOMBIE);
+            case 7:
+                switch (first) {
+                    case 'b': return word(src, start, "bipolar", TokenKind.BIPOLAR);
+                    case 'g': return word(src, start, "ghosted", TokenKind.NULL_LIT);
+                    case 'p': return word(src, start, "periodt", TokenKind.PERIODT);
+                    default: return TokenKind.NONE;
+                }
+            case 8:
+                switch (first) {
+                    case 'm': return word(src, start, "mainchar", TokenKind.MAINCHAR);
+                    case 'w': return word(src, start, "whatever", TokenKind.WHATEVER);
+                    default: return TokenKind.NONE;
+                }
+            case 9:
+                return word(src, start, "throwback", TokenKind.THROWBACK);
+            default:
+                return TokenKind.NONE;
+        }
+    }
+
+    public static int findCompound(char first, char second) {
+        if (second == '=') {
+            return switch (first) {
+                case '+' -> TokenKind.PLUS_ASSIGN;
+                case '-' -> TokenKind.MINUS_ASSIGN;
+                case '*' -> TokenKind.STAR_ASSIGN;
+                case '/' -> TokenKind.SLASH_ASSIGN;
+                case '<' -> TokenKind.LESS_EQUAL;
+                case '>' -> TokenKind.GREATER_EQUAL;
+                case '#' -> TokenKind.NOT_EQUAL;
+                case '=' -> TokenKind.EQUAL;
+                default -> TokenKind.NONE;
+            };
+        }
+        if (first == '+' && second == '+') return TokenKind.INCREMENT;
+        if (first == '-' && second == '-') return TokenKind.DECREMENT;
+        return TokenKind.NONE;
+    }
+
+    // The caller already checked the length, so only the characters are compared
+    private static int word(CharSequence src, int start, String word, int kind) {
+        for (int i = 0; i < word.length(); i++) {
+            if (src.charAt(start + i) != word.charAt(i)) return TokenKind.NONE;
+        }
+        return kind;
     }
-}
\ No newline at end of file
+}
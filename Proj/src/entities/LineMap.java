@@ -0,0 +1,32 @@
+package entities;
+
+import java.util.Arrays;
+
+// Offsets where each line of the source starts, to turn packed positions back into lines and columns
+public class LineMap {
+
+    private int[] lineStarts;
+    private int lineCount;
+
+    public LineMap(CharSequence srcCode) {
+        lineStarts = new int[64];
+        lineCount = 1;
+
+        for (int i = 0; i < srcCode.length(); i++) {
+            if (srcCode.charAt(i) != '\n') continue;
+
+            if (lineCount == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+            lineStarts[lineCount++] = i + 1;
+        }
+    }
+
+    // Lines and columns are shown starting at 1, so Line 0 | Column 0 stands for no position at all
+    public SourceLocation resolve(long position) {
+        if (position == SourcePosition.NONE) return new SourceLocation(0, 0);
+
+        int line = SourcePosition.getLine(position);
+        int offset = SourcePosition.getOffset(position);
+
+        return new SourceLocation(line + 1, offset - lineStarts[line] + 1);
+    }
+}
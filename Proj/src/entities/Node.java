@@ -1,64 +1,120 @@
 package entities;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 
-public class Node {
-    private final String statement;
-    private String value;
-    private Node parent;
-    private final LinkedList<Node> childs;
-    private int id;
-    private SourceLocation location;
+// A node of a SyntaxTree, it only holds the tree and the index. Two Nodes are equal when they point to the same node
+public final class Node {
+    private final SyntaxTree tree;
+    private final int index;
 
-    public Node(String statement) {
-        this.statement = statement;
-        this.childs = new LinkedList<>();
-        this.parent = null;
-        this.location = new SourceLocation();
+    Node(SyntaxTree tree, int index) {
+        this.tree = tree;
+        this.index = index;
     }
 
-    public void setValue(String value) {
-        this.value = value;
+    public Node addChild(NodeKind kind) {
+        return new Node(tree, tree.addChild(index, kind));
     }
 
-    public void setParent(Node parent) {
-        this.parent = parent;
+    // The node has to belong to the same tree
+    public void attach(Node node) {
+        tree.attach(index, node.index);
     }
 
-    public void addChild(Node node) {
-        node.setParent(this);
-        this.childs.add(node);
+    public void setValue(String value) {
+        tree.setValue(index, value);
     }
 
     public String getValue() {
-        return this.value;
+        return tree.getValue(index);
     }
 
-    public String getStatement() {
-        return this.statement;
+    public NodeKind getKind() {
+        return tree.getKind(index);
     }
 
-    public LinkedList<Node> getChilds() {
-        return this.childs;
+    public String getStatement() {
+        return tree.getStatement(index);
     }
 
     public Node getParent() {
-        return this.parent;
+        return tree.node(tree.getParent(index));
+    }
+
+    public Node getChild(int i) {
+        return new Node(tree, tree.getChild(index, i));
+    }
+
+    public Node getFirstChild() {
+        return tree.node(tree.getFirstChild(index));
+    }
+
+    public Node getLastChild() {
+        return tree.node(tree.getLastChild(index));
+    }
+
+    public Node getNextSibling() {
+        return tree.node(tree.getNextSibling(index));
+    }
+
+    public int getChildCount() {
+        return tree.getChildCount(index);
+    }
+
+    // The non-terminal was derived to the empty string, it has no children
+    public boolean isEpsilon() {
+        return tree.isEpsilon(index);
+    }
+
+    public void setEpsilon() {
+        tree.setEpsilon(index);
+    }
+
+    public boolean hasChilds() {
+        return tree.getFirstChild(index) != SyntaxTree.NONE;
+    }
+
+    // A copy, only for the passes that need the children as a list
+    public List<Node> getChilds() {
+        ArrayList<Node> childs = new ArrayList<>();
+        for (int child = tree.getFirstChild(index); child != SyntaxTree.NONE; child = tree.getNextSibling(child)) {
+            childs.add(new Node(tree, child));
+        }
+        return childs;
     }
 
     public void setId(int id) {
-        this.id = id;
+        tree.setId(index, id);
     }
 
     public int getId() {
-        return this.id;
+        return tree.getId(index);
+    }
+
+    public long getPosition() {
+        return tree.getPosition(index);
+    }
+
+    public void setPosition(long position) {
+        tree.setPosition(index, position);
+    }
+
+    public SyntaxTree getTree() {
+        return tree;
+    }
+
+    public int getIndex() {
+        return index;
     }
 
-    public SourceLocation getLocation() {
-        return this.location;
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Node node && node.tree == tree && node.index == index;
     }
 
-    public void setLocation(SourceLocation location) {
-        this.location = location;
+    @Override
+    public int hashCode() {
+        return index;
     }
 }
@@ -0,0 +1,175 @@
+package entities;
+
+// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead
+// Kind of a parse tree node, every non-terminal in grammar order followed by every token kind
+public enum NodeKind {
+
+    // Non-terminals
+    START("start"),
+    GLOBALS("globals"),
+    GLOBALS_DECL("globals_decl"),
+    DECLARATION("declaration"),
+    FUNC_OR_VAR_DECL("func_or_var_decl"),
+    CONSTANT("constant"),
+    VAR_DECL_ASSIGN("var_decl_assign"),
+    VAR_OP("var_op"),
+    VAR_OP_VAL("var_op_val"),
+    NESTED_OP("nested_op"),
+    OPERATOR("operator"),
+    HIGH_PRIORITY_OPERATOR("high_priority_operator"),
+    ARR_DECL("arr_decl"),
+    ARR_DIM("arr_dim"),
+    ARR_ARR("arr_arr"),
+    ARR_ASSIGN("arr_assign"),
+    ARR_ASSIGN_VAL("arr_assign_val"),
+    ARR_LIST("arr_list"),
+    ARR_VALUE("arr_value"),
+    ARR_VALUE_LIST("arr_value_list"),
+    VAR_VALUE("var_value"),
+    ARR_OR_FUNC("arr_or_func"),
+    ARR_POS("arr_pos"),
+    NEG("neg"),
+    DATATYPE("datatype"),
+    LITERAL("literal"),
+    NON_COMPARABLE_LITERAL("non_comparable_literal"),
+    COMPARABLE_LITERAL("comparable_literal"),
+    MAIN("main_"),
+    FUNC_DECL("func_decl"),
+    FUNC_IMPL("func_impl"),
+    FUNC_PARAM("func_param"),
+    PARAM_DECL("param_decl"),
+    PARAM_LIST("param_list"),
+    FUNC_BODY("func_body"),
+    EXPRESSION("expression"),
+    FUNC_OR_VAR("func_or_var"),
+    END("end"),
+    RETURN("return_"),
+    RETURN_VALUE("return_value"),
+    FUNC_CALL("func_call"),
+    VALUE_LIST("value_list"),
+    VAR_LIST_MORE("var_list_more"),
+    VAR_ASSIGN("var_assign"),
+    ASSIGNATION("assignation"),
+    EQUAL_ASSIGN_OP("equal_assign_op"),
+    WHILE_LOOP("while_loop"),
+    WHILE_OPT("while_opt"),
+    WHILE("while_"),
+    DO_WHILE("do_while"),
+    CONDITIONAL("conditional"),
+    IF("if_"),
+    COND_ELSE("cond_else"),
+    ELSE_OPT("else_opt"),
+    ELIF("elif"),
+    ELSE("else_"),
+    BOOLEAN_COND("boolean_cond"),
+    CONDITION("condition"),
+    NEST_COND("nest_cond"),
+    COMPARISON("comparison"),
+    COMPARISON_OP("comparison_op"),
+    SWITCH("switch_"),
+    CASE("case_"),
+    NESTED_CASE("nested_case"),
+    DEFAULT("default_"),
+    CASE_BODY("case_body"),
+    BREAK("break_"),
+    FOR_LOOP("for_loop"),
+    FOR_DECL("for_decl"),
+    FOR_VAR_TYPE("for_var_type"),
+    FOR_ITERATOR("for_iterator"),
+    IT_CHANGE("it_change"),
+
+    // Terminals
+    NAME("name"),
+    NUM_LIT("num_lit"),
+    STR_LIT("str_lit"),
+    DEC_LIT("dec_lit"),
+    CHAR_LIT("char_lit"),
+    NULL_LIT("null_lit"),
+    BOOL_LIT("bool_lit"),
+    FACT("fact"),
+    FAM("fam"),
+    BRO("bro"),
+    SIS("sis"),
+    BIPOLAR("bipolar"),
+    MAINCHAR("mainchar"),
+    CEO("CEO"),
+    ZOMBIE("zombie"),
+    THROWBACK("throwback"),
+    VIBE("vibe"),
+    CHECK("check"),
+    THEN("then"),
+    LIKE("like"),
+    WHATEVER("whatever"),
+    SWIPE("swipe"),
+    RIGHT("right"),
+    LEFT("left"),
+    PERIODT("periodt"),
+    FOUR("4"),
+    ASSIGN("="),
+    PLUS("+"),
+    MINUS("-"),
+    STAR("*"),
+    SLASH("/"),
+    PERCENT("%"),
+    AND("and"),
+    OR("or"),
+    LESS("<"),
+    LESS_EQUAL("<="),
+    GREATER(">"),
+    GREATER_EQUAL(">="),
+    EQUAL("=="),
+    NOT_EQUAL("#="),
+    AMPERSAND("&"),
+    PIPE("|"),
+    HASH("#"),
+    INCREMENT("++"),
+    DECREMENT("--"),
+    PLUS_ASSIGN("+="),
+    MINUS_ASSIGN("-="),
+    STAR_ASSIGN("*="),
+    SLASH_ASSIGN("/="),
+    DOT("."),
+    COMMA(","),
+    LEFT_PAREN("("),
+    RIGHT_PAREN(")"),
+    LEFT_BRACKET("["),
+    RIGHT_BRACKET("]"),
+    BODY_OPEN("¡"),
+    BODY_CLOSE("!"),
+    ARGS_OPEN("¿"),
+    ARGS_CLOSE("?"),
+    COLON(":"),
+    EPSILON("epsilon"),
+    UNKNOWN("unknown"),
+    EOF("end of input");
+
+    private static final NodeKind[] KINDS = values();
+
+    private final String symbol;
+
+    NodeKind(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public static NodeKind ofNonTerminal(int nonTerminal) {
+        return KINDS[nonTerminal];
+    }
+
+    public static NodeKind ofTerminal(int kind) {
+        return KINDS[NonTerminal.COUNT + kind];
+    }
+
+    // The grammar symbol, as written in the grammar
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public boolean isTerminal() {
+        return ordinal() >= NonTerminal.COUNT;
+    }
+
+    // NONE for terminals
+    public int getNonTerminal() {
+        return isTerminal() ? TokenKind.NONE : ordinal();
+    }
+}
@@ -0,0 +1,179 @@
+package entities;
+
+import java.util.HashMap;
+
+// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead
+// Grammar non-terminals, interned like TokenKind so that the parser can index tables with them
+public final class NonTerminal {
+
+    public static final int START = 0;
+    public static final int GLOBALS = 1;
+    public static final int GLOBALS_DECL = 2;
+    public static final int DECLARATION = 3;
+    public static final int FUNC_OR_VAR_DECL = 4;
+    public static final int CONSTANT = 5;
+    public static final int VAR_DECL_ASSIGN = 6;
+    public static final int VAR_OP = 7;
+    public static final int VAR_OP_VAL = 8;
+    public static final int NESTED_OP = 9;
+    public static final int OPERATOR = 10;
+    public static final int HIGH_PRIORITY_OPERATOR = 11;
+    public static final int ARR_DECL = 12;
+    public static final int ARR_DIM = 13;
+    public static final int ARR_ARR = 14;
+    public static final int ARR_ASSIGN = 15;
+    public static final int ARR_ASSIGN_VAL = 16;
+    public static final int ARR_LIST = 17;
+    public static final int ARR_VALUE = 18;
+    public static final int ARR_VALUE_LIST = 19;
+    public static final int VAR_VALUE = 20;
+    public static final int ARR_OR_FUNC = 21;
+    public static final int ARR_POS = 22;
+    public static final int NEG = 23;
+    public static final int DATATYPE = 24;
+    public static final int LITERAL = 25;
+    public static final int NON_COMPARABLE_LITERAL = 26;
+    public static final int COMPARABLE_LITERAL = 27;
+    public static final int MAIN = 28;
+    public static final int FUNC_DECL = 29;
+    public static final int FUNC_IMPL = 30;
+    public static final int FUNC_PARAM = 31;
+    public static final int PARAM_DECL = 32;
+    public static final int PARAM_LIST = 33;
+    public static final int FUNC_BODY = 34;
+    public static final int EXPRESSION = 35;
+    public static final int FUNC_OR_VAR = 36;
+    public static final int END = 37;
+    public static final int RETURN = 38;
+    public static final int RETURN_VALUE = 39;
+    public static final int FUNC_CALL = 40;
+    public static final int VALUE_LIST = 41;
+    public static final int VAR_LIST_MORE = 42;
+    public static final int VAR_ASSIGN = 43;
+    public static final int ASSIGNATION = 44;
+    public static final int EQUAL_ASSIGN_OP = 45;
+    public static final int WHILE_LOOP = 46;
+    public static final int WHILE_OPT = 47;
+    public static final int WHILE = 48;
+    public static final int DO_WHILE = 49;
+    public static final int CONDITIONAL = 50;
+    public static final int IF = 51;
+    public static final int COND_ELSE = 52;
+    public static final int ELSE_OPT = 53;
+    public static final int ELIF = 54;
+    public static final int ELSE = 55;
+    public static final int BOOLEAN_COND = 56;
+    public static final int CONDITION = 57;
+    public static final int NEST_COND = 58;
+    public static final int COMPARISON = 59;
+    public static final int COMPARISON_OP = 60;
+    public static final int SWITCH = 61;
+    public static final int CASE = 62;
+    public static final int NESTED_CASE = 63;
+    public static final int DEFAULT = 64;
+    public static final int CASE_BODY = 65;
+    public static final int BREAK = 66;
+    public static final int FOR_LOOP = 67;
+    public static final int FOR_DECL = 68;
+    public static final int FOR_VAR_TYPE = 69;
+    public static final int FOR_ITERATOR = 70;
+    public static final int IT_CHANGE = 71;
+
+    public static final int COUNT = 72;
+
+    private static final String[] NAMES = new String[COUNT];
+    private static final HashMap<String, Integer> NON_TERMINALS = new HashMap<>();
+
+    static {
+        register(START, "start");
+        register(GLOBALS, "globals");
+        register(GLOBALS_DECL, "globals_decl");
+        register(DECLARATION, "declaration");
+        register(FUNC_OR_VAR_DECL, "func_or_var_decl");
+        register(CONSTANT, "constant");
+        register(VAR_DECL_ASSIGN, "var_decl_assign");
+        register(VAR_OP, "var_op");
+        register(VAR_OP_VAL, "var_op_val");
+        register(NESTED_OP, "nested_op");
+        register(OPERATOR, "operator");
+        register(HIGH_PRIORITY_OPERATOR, "high_priority_operator");
+        register(ARR_DECL, "arr_decl");
+        register(ARR_DIM, "arr_dim");
+        register(ARR_ARR, "arr_arr");
+        register(ARR_ASSIGN, "arr_assign");
+        register(ARR_ASSIGN_VAL, "arr_assign_val");
+        register(ARR_LIST, "arr_list");
+        register(ARR_VALUE, "arr_value");
+        register(ARR_VALUE_LIST, "arr_value_list");
+        register(VAR_VALUE, "var_value");
+        register(ARR_OR_FUNC, "arr_or_func");
+        register(ARR_POS, "arr_pos");
+        register(NEG, "neg");
+        register(DATATYPE, "datatype");
+        register(LITERAL, "literal");
+        register(NON_COMPARABLE_LITERAL, "non_comparable_literal");
+        register(COMPARABLE_LITERAL, "comparable_literal");
+        register(MAIN, "main_");
+        register(FUNC_DECL, "func_decl");
+        register(FUNC_IMPL, "func_impl");
+        register(FUNC_PARAM, "func_param");
+        register(PARAM_DECL, "param_decl");
+        register(PARAM_LIST, "param_list");
+        register(FUNC_BODY, "func_body");
+        register(EXPRESSION, "expression");
+        register(FUNC_OR_VAR, "func_or_var");
+        register(END, "end");
+        register(RETURN, "return_");
+        register(RETURN_VALUE, "return_value");
+        register(FUNC_CALL, "func_call");
+        register(VALUE_LIST, "value_list");
+        register(VAR_LIST_MORE, "var_list_more");
+        register(VAR_ASSIGN, "var_assign");
+        register(ASSIGNATION, "assignation");
+        register(EQUAL_ASSIGN_OP, "equal_assign_op");
+        register(WHILE_LOOP, "while_loop");
+        register(WHILE_OPT, "while_opt");
+        register(WHILE, "while_");
+        register(DO_WHILE, "do_while");
+        register(CONDITIONAL, "conditional");
+        register(IF, "if_");
+        register(COND_ELSE, "cond_else");
+        register(ELSE_OPT, "else_opt");
+        register(ELIF, "elif");
+        register(ELSE, "else_");
+        register(BOOLEAN_COND, "boolean_cond");
+        register(CONDITION, "condition");
+        register(NEST_COND, "nest_cond");
+        register(COMPARISON, "comparison");
+        register(COMPARISON_OP, "comparison_op");
+        register(SWITCH, "switch_");
+        register(CASE, "case_");
+        register(NESTED_CASE, "nested_case");
+        register(DEFAULT, "default_");
+        register(CASE_BODY, "case_body");
+        register(BREAK, "break_");
+        register(FOR_LOOP, "for_loop");
+        register(FOR_DECL, "for_decl");
+        register(FOR_VAR_TYPE, "for_var_type");
+        register(FOR_ITERATOR, "for_iterator");
+        register(IT_CHANGE, "it_change");
+    }
+
+    private NonTerminal() {
+    }
+
+    private static void register(int nonTerminal, String name) {
+        NAMES[nonTerminal] = name;
+        NON_TERMINALS.put(name, nonTerminal);
+    }
+
+    // Returns TokenKind.NONE for names that are not non-terminals
+    public static int of(String name) {
+        Integer nonTerminal = NON_TERMINALS.get(name);
+        return nonTerminal == null ? TokenKind.NONE : nonTerminal;
+    }
+
+    public static String nameOf(int nonTerminal) {
+        return NAMES[nonTerminal];
+    }
+}
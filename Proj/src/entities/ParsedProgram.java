@@ -0,0 +1,37 @@
+package entities;
+
+import entities.ast.Program;
+import symbols.SymbolsTable;
+
+// What the parser leaves for the semantic analysis: the lowered program, the symbols it declares, and how many parse
+// tree nodes and blank lines it took to get there
+public class ParsedProgram {
+
+    private final Program program;
+    private final SymbolsTable symbolsTable;
+    private final int nodeCount;
+    private final int blankLines;
+
+    public ParsedProgram(Program program, SymbolsTable symbolsTable, int nodeCount, int blankLines) {
+        this.program = program;
+        this.symbolsTable = symbolsTable;
+        this.nodeCount = nodeCount;
+        this.blankLines = blankLines;
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public SymbolsTable getSymbolsTable() {
+        return symbolsTable;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getBlankLines() {
+        return blankLines;
+    }
+}
@@ -2,21 +2,12 @@ package entities;
 
 public class SourceLocation {
 
-    private int lineNum;
-    private int columnNum;
+    private final int lineNum;
+    private final int columnNum;
 
-    public SourceLocation() {
-        lineNum = 0;
-        columnNum = 0;
-    }
-
-    public void updateLine(int diff) {
-        columnNum = 0;
-        lineNum += diff;
-    }
-
-    public void updateColumn(int diff) {
-        columnNum += diff;
+    public SourceLocation(int line, int column) {
+        lineNum = line;
+        columnNum = column;
     }
 
     public int getLine() {
@@ -0,0 +1,23 @@
+package entities;
+
+// A position packed in a long, the line in the high half and the offset in the low one. Columns are left to LineMap,
+// which only needs them when a diagnostic is printed
+public final class SourcePosition {
+
+    public static final long NONE = -1L;
+
+    private SourcePosition() {
+    }
+
+    public static long pack(int line, int offset) {
+        return ((long) line << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    public static int getLine(long position) {
+        return (int) (position >>> 32);
+    }
+
+    public static int getOffset(long position) {
+        return (int) position;
+    }
+}
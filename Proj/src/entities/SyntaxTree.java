@@ -0,0 +1,194 @@
+package entities;
+
+import java.util.Arrays;
+
+// Every node of a parse tree lives in these parallel arrays and is referred to by its index. Children are linked
+// through first child and next sibling, so a node costs a few ints instead of an object and a list of its own
+public class SyntaxTree {
+    public static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private NodeKind[] kinds;
+    // Non-terminals that derived the empty string, instead of an epsilon child
+    private boolean[] epsilons;
+    private int[] parents;
+    private int[] firstChilds;
+    private int[] lastChilds;
+    private int[] nextSiblings;
+    private int[] ids;
+    private long[] positions;
+    private String[] values;
+    private int size;
+
+    public SyntaxTree() {
+        kinds = new NodeKind[INITIAL_CAPACITY];
+        epsilons = new boolean[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        firstChilds = new int[INITIAL_CAPACITY];
+        lastChilds = new int[INITIAL_CAPACITY];
+        nextSiblings = new int[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        positions = new long[INITIAL_CAPACITY];
+        values = new String[INITIAL_CAPACITY];
+    }
+
+    // A node with no parent yet
+    public Node newNode(NodeKind kind) {
+        return node(add(kind));
+    }
+
+    public Node node(int index) {
+        return index == NONE ? null : new Node(this, index);
+    }
+
+    public int addChild(int parent, NodeKind kind) {
+        int child = add(kind);
+        attach(parent, child);
+        return child;
+    }
+
+    // Makes child the last child of parent. A child taken from another parent keeps its subtree but not its siblings
+    public void attach(int parent, int child) {
+        parents[child] = parent;
+        nextSiblings[child] = NONE;
+
+        if (firstChilds[parent] == NONE) firstChilds[parent] = child;
+        else nextSiblings[lastChilds[parent]] = child;
+        lastChilds[parent] = child;
+    }
+
+    // Copies other after the nodes of this tree, its node i becomes node i + the returned offset
+    public int append(SyntaxTree other) {
+        int offset = size;
+        ensureCapacity(size + other.size);
+
+        System.arraycopy(other.kinds, 0, kinds, offset, other.size);
+        System.arraycopy(other.epsilons, 0, epsilons, offset, other.size);
+        System.arraycopy(other.ids, 0, ids, offset, other.size);
+        System.arraycopy(other.positions, 0, positions, offset, other.size);
+        System.arraycopy(other.values, 0, values, offset, other.size);
+        for (int i = 0; i < other.size; i++) {
+            parents[offset + i] = shift(other.parents[i], offset);
+            firstChilds[offset + i] = shift(other.firstChilds[i], offset);
+            lastChilds[offset + i] = shift(other.lastChilds[i], offset);
+            nextSiblings[offset + i] = shift(other.nextSiblings[i], offset);
+        }
+
+        size += other.size;
+        return offset;
+    }
+
+    public NodeKind getKind(int node) {
+        return kinds[node];
+    }
+
+    public String getStatement(int node) {
+        return kinds[node].getSymbol();
+    }
+
+    public boolean isEpsilon(int node) {
+        return epsilons[node];
+    }
+
+    public void setEpsilon(int node) {
+        epsilons[node] = true;
+    }
+
+    public String getValue(int node) {
+        return values[node];
+    }
+
+    public void setValue(int node, String value) {
+        values[node] = value;
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    public int getFirstChild(int node) {
+        return firstChilds[node];
+    }
+
+    public int getLastChild(int node) {
+        return lastChilds[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    // Walks the siblings, nodes have a handful of children at most
+    public int getChild(int node, int index) {
+        int child = firstChilds[node];
+        for (int i = 0; i < index && child != NONE; i++) {
+            child = nextSiblings[child];
+        }
+        if (child == NONE || index < 0) throw new IndexOutOfBoundsException(index);
+        return child;
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for (int child = firstChilds[node]; child != NONE; child = nextSiblings[child]) {
+            count++;
+        }
+        return count;
+    }
+
+    public int getId(int node) {
+        return ids[node];
+    }
+
+    public void setId(int node, int id) {
+        ids[node] = id;
+    }
+
+    // Only terminals get a position from their token, the rest take the one of the first terminal under them
+    public long getPosition(int node) {
+        while (positions[node] == SourcePosition.NONE && firstChilds[node] != NONE) {
+            node = firstChilds[node];
+        }
+        return positions[node];
+    }
+
+    public void setPosition(int node, long position) {
+        positions[node] = position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int add(NodeKind kind) {
+        ensureCapacity(size + 1);
+
+        kinds[size] = kind;
+        epsilons[size] = false;
+        parents[size] = NONE;
+        firstChilds[size] = NONE;
+        lastChilds[size] = NONE;
+        nextSiblings[size] = NONE;
+        positions[size] = SourcePosition.NONE;
+        return size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= kinds.length) return;
+
+        int length = Math.max(capacity, kinds.length + (kinds.length >> 1));
+        kinds = Arrays.copyOf(kinds, length);
+        epsilons = Arrays.copyOf(epsilons, length);
+        parents = Arrays.copyOf(parents, length);
+        firstChilds = Arrays.copyOf(firstChilds, length);
+        lastChilds = Arrays.copyOf(lastChilds, length);
+        nextSiblings = Arrays.copyOf(nextSiblings, length);
+        ids = Arrays.copyOf(ids, length);
+        positions = Arrays.copyOf(positions, length);
+        values = Arrays.copyOf(values, length);
+    }
+
+    private static int shift(int node, int offset) {
+        return node == NONE ? NONE : node + offset;
+    }
+}
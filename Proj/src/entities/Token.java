@@ -12,22 +12,60 @@ public class Token {
         DEC_LIT,
         CHAR_LIT,
         NULL_LIT,
-        BOOL_LIT
+        BOOL_LIT,
+        UNKNOWN
     }
 
-    private final TokenType type;
-    private final String value;
+    private final int kind;
+    private final CharSequence source;
+    private final int length;
+    private final long position;
+    private String value;
 
-    public Token(String value, String type) {
-        this.value = value;
-        this.type = TokenType.valueOf(type.toUpperCase());
+    // The position already holds the offset where the token starts
+    public Token(int kind, CharSequence source, int length, long position) {
+        this.kind = kind;
+        this.source = source;
+        this.length = length;
+        this.position = position;
+    }
+
+    public int getKind() {
+        return kind;
     }
 
     public String getType() {
-        return type.toString();
+        return TokenKind.typeOf(kind).toString();
     }
 
+    // Fixed words reuse the interned kind name, only names and literals are copied out of the source
     public String getValue() {
+        if (value == null) {
+            int start = getStart();
+            value = TokenKind.hasSourceValue(kind)
+                    ? source.subSequence(start, start + length).toString()
+                    : TokenKind.nameOf(kind);
+        }
         return value;
     }
+
+    public int getStart() {
+        return SourcePosition.getOffset(position);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getEnd() {
+        return getStart() + length;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public int getLine() {
+        return SourcePosition.getLine(position);
+    }
 }
@@ -0,0 +1,202 @@
+package entities;
+
+import java.util.HashMap;
+
+public final class TokenKind {
+
+    public static final int NONE = -1;
+
+    // Token classes, their value is read from the source
+    public static final int NAME = 0;
+    public static final int NUM_LIT = 1;
+    public static final int STR_LIT = 2;
+    public static final int DEC_LIT = 3;
+    public static final int CHAR_LIT = 4;
+    public static final int NULL_LIT = 5;
+    public static final int BOOL_LIT = 6;
+
+    // Keywords
+    public static final int FACT = 7;
+    public static final int FAM = 8;
+    public static final int BRO = 9;
+    public static final int SIS = 10;
+    public static final int BIPOLAR = 11;
+    public static final int MAINCHAR = 12;
+    public static final int CEO = 13;
+    public static final int ZOMBIE = 14;
+    public static final int THROWBACK = 15;
+    public static final int VIBE = 16;
+    public static final int CHECK = 17;
+    public static final int THEN = 18;
+    public static final int LIKE = 19;
+    public static final int WHATEVER = 20;
+    public static final int SWIPE = 21;
+    public static final int RIGHT = 22;
+    public static final int LEFT = 23;
+    public static final int PERIODT = 24;
+    public static final int FOUR = 25;
+
+    // Operators
+    public static final int ASSIGN = 26;
+    public static final int PLUS = 27;
+    public static final int MINUS = 28;
+    public static final int STAR = 29;
+    public static final int SLASH = 30;
+    public static final int PERCENT = 31;
+    public static final int AND = 32;
+    public static final int OR = 33;
+    public static final int LESS = 34;
+    public static final int LESS_EQUAL = 35;
+    public static final int GREATER = 36;
+    public static final int GREATER_EQUAL = 37;
+    public static final int EQUAL = 38;
+    public static final int NOT_EQUAL = 39;
+    public static final int AMPERSAND = 40;
+    public static final int PIPE = 41;
+    public static final int HASH = 42;
+    public static final int INCREMENT = 43;
+    public static final int DECREMENT = 44;
+    public static final int PLUS_ASSIGN = 45;
+    public static final int MINUS_ASSIGN = 46;
+    public static final int STAR_ASSIGN = 47;
+    public static final int SLASH_ASSIGN = 48;
+
+    // Separators
+    public static final int DOT = 49;
+    public static final int COMMA = 50;
+    public static final int LEFT_PAREN = 51;
+    public static final int RIGHT_PAREN = 52;
+    public static final int LEFT_BRACKET = 53;
+    public static final int RIGHT_BRACKET = 54;
+    public static final int BODY_OPEN = 55;
+    public static final int BODY_CLOSE = 56;
+    public static final int ARGS_OPEN = 57;
+    public static final int ARGS_CLOSE = 58;
+    public static final int COLON = 59;
+
+    // Grammar symbol, never produced by the lexer
+    public static final int EPSILON = 60;
+
+    // Text that matches no token, only kept by lexers that go on past lexical errors
+    public static final int UNKNOWN = 61;
+
+    // Stands for the end of the source once every token has been read
+    public static final int EOF = 62;
+
+    public static final int COUNT = 63;
+
+    private static final String[] NAMES = new String[COUNT];
+    private static final Token.TokenType[] TYPES = new Token.TokenType[COUNT];
+    private static final HashMap<String, Integer> KINDS = new HashMap<>();
+
+    static {
+        register(NAME, "name", Token.TokenType.NAME);
+        register(NUM_LIT, "num_lit", Token.TokenType.NUM_LIT);
+        register(STR_LIT, "str_lit", Token.TokenType.STR_LIT);
+        register(DEC_LIT, "dec_lit", Token.TokenType.DEC_LIT);
+        register(CHAR_LIT, "char_lit", Token.TokenType.CHAR_LIT);
+        register(NULL_LIT, "null_lit", Token.TokenType.NULL_LIT);
+        register(BOOL_LIT, "bool_lit", Token.TokenType.BOOL_LIT);
+
+        register(FACT, "fact", Token.TokenType.KEYWORD);
+        register(FAM, "fam", Token.TokenType.KEYWORD);
+        register(BRO, "bro", Token.TokenType.KEYWORD);
+        register(SIS, "sis", Token.TokenType.KEYWORD);
+        register(BIPOLAR, "bipolar", Token.TokenType.KEYWORD);
+        register(MAINCHAR, "mainchar", Token.TokenType.KEYWORD);
+        register(CEO, "CEO", Token.TokenType.KEYWORD);
+        register(ZOMBIE, "zombie", Token.TokenType.KEYWORD);
+        register(THROWBACK, "throwback", Token.TokenType.KEYWORD);
+        register(VIBE, "vibe", Token.TokenType.KEYWORD);
+        register(CHECK, "check", Token.TokenType.KEYWORD);
+        register(THEN, "then", Token.TokenType.KEYWORD);
+        register(LIKE, "like", Token.TokenType.KEYWORD);
+        register(WHATEVER, "whatever", Token.TokenType.KEYWORD);
+        register(SWIPE, "swipe", Token.TokenType.KEYWORD);
+        register(RIGHT, "right", Token.TokenType.KEYWORD);
+        register(LEFT, "left", Token.TokenType.KEYWORD);
+        register(PERIODT, "periodt", Token.TokenType.KEYWORD);
+        register(FOUR, "4", Token.TokenType.KEYWORD);
+
+        register(ASSIGN, "=", Token.TokenType.OPERATOR);
+        register(PLUS, "+", Token.TokenType.OPERATOR);
+        register(MINUS, "-", Token.TokenType.OPERATOR);
+        register(STAR, "*", Token.TokenType.OPERATOR);
+        register(SLASH, "/", Token.TokenType.OPERATOR);
+        register(PERCENT, "%", Token.TokenType.OPERATOR);
+        register(AND, "and", Token.TokenType.OPERATOR);
+        register(OR, "or", Token.TokenType.OPERATOR);
+        register(LESS, "<", Token.TokenType.OPERATOR);
+        register(LESS_EQUAL, "<=", Token.TokenType.OPERATOR);
+        register(GREATER, ">", Token.TokenType.OPERATOR);
+        register(GREATER_EQUAL, ">=", Token.TokenType.OPERATOR);
+        register(EQUAL, "==", Token.TokenType.OPERATOR);
+        register(NOT_EQUAL, "#=", Token.TokenType.OPERATOR);
+        register(AMPERSAND, "&", Token.TokenType.OPERATOR);
+        register(PIPE, "|", Token.TokenType.OPERATOR);
+        register(HASH, "#", Token.TokenType.OPERATOR);
+        register(INCREMENT, "++", Token.TokenType.OPERATOR);
+        register(DECREMENT, "--", Token.TokenType.OPERATOR);
+        register(PLUS_ASSIGN, "+=", Token.TokenType.OPERATOR);
+        register(MINUS_ASSIGN, "-=", Token.TokenType.OPERATOR);
+        register(STAR_ASSIGN, "*=", Token.TokenType.OPERATOR);
+        register(SLASH_ASSIGN, "/=", Token.TokenType.OPERATOR);
+
+        register(DOT, ".", Token.TokenType.SEPARATOR);
+        register(COMMA, ",", Token.TokenType.SEPARATOR);
+        register(LEFT_PAREN, "(", Token.TokenType.SEPARATOR);
+        register(RIGHT_PAREN, ")", Token.TokenType.SEPARATOR);
+        register(LEFT_BRACKET, "[", Token.TokenType.SEPARATOR);
+        register(RIGHT_BRACKET, "]", Token.TokenType.SEPARATOR);
+        register(BODY_OPEN, "¡", Token.TokenType.SEPARATOR);
+        register(BODY_CLOSE, "!", Token.TokenType.SEPARATOR);
+        register(ARGS_OPEN, "¿", Token.TokenType.SEPARATOR);
+        register(ARGS_CLOSE, "?", Token.TokenType.SEPARATOR);
+        register(COLON, ":", Token.TokenType.SEPARATOR);
+
+        register(EPSILON, "epsilon", null);
+        register(UNKNOWN, "unknown", Token.TokenType.UNKNOWN);
+        register(EOF, "end of input", null);
+    }
+
+    private TokenKind() {
+    }
+
+    private static void register(int kind, String name, Token.TokenType type) {
+        NAMES[kind] = name;
+        TYPES[kind] = type;
+        KINDS.put(name, kind);
+    }
+
+    // Interns a grammar terminal, returns NONE for names that no token can have
+    public static int of(String terminal) {
+        Integer kind = KINDS.get(terminal);
+        return kind == null ? NONE : kind;
+    }
+
+    public static String nameOf(int kind) {
+        return NAMES[kind];
+    }
+
+    public static Token.TokenType typeOf(int kind) {
+        return TYPES[kind];
+    }
+
+    // Kinds whose value depends on the source text instead of being fixed by the kind
+    public static boolean hasSourceValue(int kind) {
+        return kind <= BOOL_LIT || kind == UNKNOWN;
+    }
+
+    // Compound operators are joined from two special characters (+=, ++, #=, ...)
+    public static boolean isCompound(int kind) {
+        return kind == INCREMENT || kind == DECREMENT || kind == PLUS_ASSIGN || kind == MINUS_ASSIGN
+                || kind == STAR_ASSIGN || kind == SLASH_ASSIGN || kind == LESS_EQUAL || kind == GREATER_EQUAL
+                || kind == EQUAL || kind == NOT_EQUAL;
+    }
+
+    // Special characters make the tokenizer read the following token to check for a compound operator
+    public static boolean readsAhead(int kind) {
+        return kind == ASSIGN || kind == PLUS || kind == MINUS || kind == STAR || kind == SLASH
+                || kind == LESS || kind == GREATER || kind == HASH;
+    }
+}
@@ -0,0 +1,20 @@
+package entities.ast;
+
+public class ArrayAccess extends Expression {
+    private final Name name;
+    private final Expression index;
+
+    public ArrayAccess(Name name, Expression index) {
+        super(name.getPosition());
+        this.name = name;
+        this.index = index;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public Expression getIndex() {
+        return index;
+    }
+}
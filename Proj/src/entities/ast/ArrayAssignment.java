@@ -0,0 +1,27 @@
+package entities.ast;
+
+// The value is null when nothing is assigned to the position
+public class ArrayAssignment extends Statement {
+    private final Name target;
+    private final Expression index;
+    private final Expression value;
+
+    public ArrayAssignment(Name target, Expression index, Expression value) {
+        super(target.getPosition());
+        this.target = target;
+        this.index = index;
+        this.value = value;
+    }
+
+    public Name getTarget() {
+        return target;
+    }
+
+    public Expression getIndex() {
+        return index;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+}
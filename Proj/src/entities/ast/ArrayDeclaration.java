@@ -0,0 +1,40 @@
+package entities.ast;
+
+import java.util.List;
+
+public class ArrayDeclaration extends Statement {
+    private final List<String> dimensions;
+    private final String datatype;
+    private final Name name;
+    private final Expression value;
+    private final boolean constant;
+
+    public ArrayDeclaration(List<String> dimensions, String datatype, Name name, Expression value, boolean constant) {
+        super(name.getPosition());
+        this.dimensions = dimensions;
+        this.datatype = datatype;
+        this.name = name;
+        this.value = value;
+        this.constant = constant;
+    }
+
+    public List<String> getDimensions() {
+        return dimensions;
+    }
+
+    public String getDatatype() {
+        return datatype;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+}
@@ -0,0 +1,17 @@
+package entities.ast;
+
+import java.util.List;
+
+// [ ... ] on the right of a fam, the position is the one of its first value
+public class ArrayLiteral extends Expression {
+    private final List<Expression> elements;
+
+    public ArrayLiteral(List<Expression> elements, long position) {
+        super(position);
+        this.elements = elements;
+    }
+
+    public List<Expression> getElements() {
+        return elements;
+    }
+}
@@ -0,0 +1,28 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+public class Assignment extends Statement {
+    private final Name target;
+    private final NodeKind operator;
+    private final Expression value;
+
+    public Assignment(Name target, NodeKind operator, Expression value) {
+        super(target.getPosition());
+        this.target = target;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public Name getTarget() {
+        return target;
+    }
+
+    public NodeKind getOperator() {
+        return operator;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,40 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+// An arithmetic operation, a comparison or an & / | of two conditions, told apart by the operator
+public class Binary extends Expression {
+    private final NodeKind operator;
+    private final Expression left;
+    private final Expression right;
+
+    public Binary(NodeKind operator, Expression left, Expression right) {
+        super(left.getPosition());
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    public NodeKind getOperator() {
+        return operator;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    public boolean isComparison() {
+        return switch (operator) {
+            case LESS, LESS_EQUAL, GREATER, GREATER_EQUAL, EQUAL, NOT_EQUAL -> true;
+            default -> false;
+        };
+    }
+
+    public boolean isLogical() {
+        return operator == NodeKind.AMPERSAND || operator == NodeKind.PIPE;
+    }
+}
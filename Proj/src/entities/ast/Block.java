@@ -0,0 +1,28 @@
+package entities.ast;
+
+import java.util.List;
+
+// The body of a statement that opens a scope, id is the one of its scope in the symbols table
+public class Block {
+    private final int id;
+    private final long position;
+    private final List<Statement> statements;
+
+    public Block(int id, long position, List<Statement> statements) {
+        this.id = id;
+        this.position = position;
+        this.statements = statements;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+}
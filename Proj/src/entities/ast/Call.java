@@ -0,0 +1,22 @@
+package entities.ast;
+
+import java.util.List;
+
+public class Call extends Expression {
+    private final Name name;
+    private final List<Expression> arguments;
+
+    public Call(Name name, List<Expression> arguments) {
+        super(name.getPosition());
+        this.name = name;
+        this.arguments = arguments;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public List<Expression> getArguments() {
+        return arguments;
+    }
+}
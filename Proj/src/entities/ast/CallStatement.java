@@ -0,0 +1,14 @@
+package entities.ast;
+
+public class CallStatement extends Statement {
+    private final Call call;
+
+    public CallStatement(Call call) {
+        super(call.getPosition());
+        this.call = call;
+    }
+
+    public Call getCall() {
+        return call;
+    }
+}
@@ -0,0 +1,16 @@
+package entities.ast;
+
+import java.util.List;
+
+public class Conditional extends Statement {
+    private final List<ConditionalBranch> branches;
+
+    public Conditional(List<ConditionalBranch> branches, long position) {
+        super(position);
+        this.branches = branches;
+    }
+
+    public List<ConditionalBranch> getBranches() {
+        return branches;
+    }
+}
@@ -0,0 +1,28 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+// IF, ELIF or ELSE, the condition is null for ELSE
+public class ConditionalBranch {
+    private final NodeKind kind;
+    private final Expression condition;
+    private final Block body;
+
+    public ConditionalBranch(NodeKind kind, Expression condition, Block body) {
+        this.kind = kind;
+        this.condition = condition;
+        this.body = body;
+    }
+
+    public NodeKind getKind() {
+        return kind;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+}
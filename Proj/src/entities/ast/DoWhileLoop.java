@@ -0,0 +1,20 @@
+package entities.ast;
+
+public class DoWhileLoop extends Statement {
+    private final Block body;
+    private final Expression condition;
+
+    public DoWhileLoop(Block body, Expression condition, long position) {
+        super(position);
+        this.body = body;
+        this.condition = condition;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+}
@@ -0,0 +1,13 @@
+package entities.ast;
+
+public abstract class Expression {
+    private final long position;
+
+    public Expression(long position) {
+        this.position = position;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,48 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+// The change is ++, -- or one of the equal assign operators, only the last ones have a step
+public class ForLoop extends Statement {
+    private final VariableDeclaration init;
+    private final Expression condition;
+    private final Name iterator;
+    private final NodeKind change;
+    private final Expression step;
+    private final Block body;
+
+    public ForLoop(VariableDeclaration init, Expression condition, Name iterator, NodeKind change, Expression step,
+                   Block body) {
+        super(body.getPosition());
+        this.init = init;
+        this.condition = condition;
+        this.iterator = iterator;
+        this.change = change;
+        this.step = step;
+        this.body = body;
+    }
+
+    public VariableDeclaration getInit() {
+        return init;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Name getIterator() {
+        return iterator;
+    }
+
+    public NodeKind getChange() {
+        return change;
+    }
+
+    public Expression getStep() {
+        return step;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,43 @@
+package entities.ast;
+
+import java.util.List;
+
+// The return type is null for zombie functions and the body null when the function is only declared. The position is
+// the one of the ¿ that opens the parameters
+public class FunctionDeclaration extends Statement {
+    private final String returnType;
+    private final Name name;
+    private final List<ParameterDeclaration> parameters;
+    private final List<Statement> body;
+    private final boolean constant;
+
+    public FunctionDeclaration(String returnType, Name name, List<ParameterDeclaration> parameters, List<Statement> body,
+                               boolean constant, long position) {
+        super(position);
+        this.returnType = returnType;
+        this.name = name;
+        this.parameters = parameters;
+        this.body = body;
+        this.constant = constant;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public List<ParameterDeclaration> getParameters() {
+        return parameters;
+    }
+
+    public List<Statement> getBody() {
+        return body;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+}
@@ -0,0 +1,22 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+public class Literal extends Expression {
+    private final NodeKind kind;
+    private final String value;
+
+    public Literal(NodeKind kind, String value, long position) {
+        super(position);
+        this.kind = kind;
+        this.value = value;
+    }
+
+    public NodeKind getKind() {
+        return kind;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package entities.ast;
+
+// A name as written in the source, its id is the one of the symbol it resolves to once the semantic analysis looks it up
+public class Name {
+    private final String value;
+    private final long position;
+    private int id;
+
+    public Name(String value, int id, long position) {
+        this.value = value;
+        this.id = id;
+        this.position = position;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,15 @@
+package entities.ast;
+
+// # in front of a value, an operation or a condition. The position is the one of the #
+public class Negation extends Expression {
+    private final Expression operand;
+
+    public Negation(Expression operand, long position) {
+        super(position);
+        this.operand = operand;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+}
@@ -0,0 +1,19 @@
+package entities.ast;
+
+public class ParameterDeclaration {
+    private final String datatype;
+    private final Name name;
+
+    public ParameterDeclaration(String datatype, Name name) {
+        this.datatype = datatype;
+        this.name = name;
+    }
+
+    public String getDatatype() {
+        return datatype;
+    }
+
+    public Name getName() {
+        return name;
+    }
+}
@@ -0,0 +1,28 @@
+package entities.ast;
+
+import java.util.List;
+
+// Root of the abstract syntax tree, the global declarations in source order and the CEO function
+public class Program {
+    private final List<Statement> globals;
+    private final Name main;
+    private final List<Statement> mainBody;
+
+    public Program(List<Statement> globals, Name main, List<Statement> mainBody) {
+        this.globals = globals;
+        this.main = main;
+        this.mainBody = mainBody;
+    }
+
+    public List<Statement> getGlobals() {
+        return globals;
+    }
+
+    public Name getMain() {
+        return main;
+    }
+
+    public List<Statement> getMainBody() {
+        return mainBody;
+    }
+}
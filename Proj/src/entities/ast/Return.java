@@ -0,0 +1,15 @@
+package entities.ast;
+
+// The position is the one of the throwback
+public class Return extends Statement {
+    private final Expression value;
+
+    public Return(Expression value, long position) {
+        super(position);
+        this.value = value;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,13 @@
+package entities.ast;
+
+public abstract class Statement {
+    private final long position;
+
+    public Statement(long position) {
+        this.position = position;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,29 @@
+package entities.ast;
+
+import java.util.List;
+
+// The default body is null when there is no default case
+public class Switch extends Statement {
+    private final Name subject;
+    private final List<SwitchCase> cases;
+    private final Block defaultBody;
+
+    public Switch(Name subject, List<SwitchCase> cases, Block defaultBody, long position) {
+        super(position);
+        this.subject = subject;
+        this.cases = cases;
+        this.defaultBody = defaultBody;
+    }
+
+    public Name getSubject() {
+        return subject;
+    }
+
+    public List<SwitchCase> getCases() {
+        return cases;
+    }
+
+    public Block getDefaultBody() {
+        return defaultBody;
+    }
+}
@@ -0,0 +1,26 @@
+package entities.ast;
+
+// The body is null when the case has no statements
+public class SwitchCase {
+    private final Literal value;
+    private final Block body;
+    private final long position;
+
+    public SwitchCase(Literal value, Block body, long position) {
+        this.value = value;
+        this.body = body;
+        this.position = position;
+    }
+
+    public Literal getValue() {
+        return value;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,14 @@
+package entities.ast;
+
+public class Variable extends Expression {
+    private final Name name;
+
+    public Variable(Name name) {
+        super(name.getPosition());
+        this.name = name;
+    }
+
+    public Name getName() {
+        return name;
+    }
+}
@@ -0,0 +1,42 @@
+package entities.ast;
+
+import entities.NodeKind;
+
+// The datatype is null for the variable of a for loop that was declared before it, the operator and the value are null
+// when the variable is only declared
+public class VariableDeclaration extends Statement {
+    private final String datatype;
+    private final Name name;
+    private final NodeKind operator;
+    private final Expression value;
+    private final boolean constant;
+
+    public VariableDeclaration(String datatype, Name name, NodeKind operator, Expression value, boolean constant) {
+        super(name.getPosition());
+        this.datatype = datatype;
+        this.name = name;
+        this.operator = operator;
+        this.value = value;
+        this.constant = constant;
+    }
+
+    public String getDatatype() {
+        return datatype;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public NodeKind getOperator() {
+        return operator;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+}
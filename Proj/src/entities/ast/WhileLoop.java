@@ -0,0 +1,20 @@
+package entities.ast;
+
+public class WhileLoop extends Statement {
+    private final Expression condition;
+    private final Block body;
+
+    public WhileLoop(Expression condition, Block body, long position) {
+        super(position);
+        this.condition = condition;
+        this.body = body;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+}
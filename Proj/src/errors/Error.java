@@ -1,7 +1,5 @@
 package errors;
 
-import entities.SourceLocation;
-
 public abstract class Error extends Throwable {
 
     public enum ErrorType {
@@ -12,19 +10,19 @@ public abstract class Error extends Throwable {
     }
 
     private final ErrorType type;
-    private final SourceLocation location;
+    private final long position;
 
-    public Error(ErrorType errorType, SourceLocation srcLocation) {
+    public Error(ErrorType errorType, long srcPosition) {
         type = errorType;
-        location = srcLocation;
+        position = srcPosition;
     }
 
     public ErrorType getType() {
         return type;
     }
 
-    public SourceLocation getLocation() {
-        return location;
+    public long getPosition() {
+        return position;
     }
 
     abstract public String getMessage();
@@ -1,5 +1,6 @@
 package errors;
 
+import entities.LineMap;
 import entities.SourceLocation;
 
 public class ErrorHandler implements ErrorListener {
@@ -8,8 +9,11 @@ public class ErrorHandler implements ErrorListener {
     private final StringBuilder syntaxErrors;
     private final StringBuilder semanticErrors;
     private final StringBuilder semanticWarnings;
+    private final CharSequence srcCode;
+    private LineMap lineMap;
 
-    public ErrorHandler() {
+    public ErrorHandler(CharSequence srcCode) {
+        this.srcCode = srcCode;
         lexicalErrors = new StringBuilder();
         syntaxErrors = new StringBuilder();
         semanticErrors = new StringBuilder();
@@ -27,6 +31,11 @@ public class ErrorHandler implements ErrorListener {
         }
     }
 
+    // Warnings count too, no code is generated while there is anything to report
+    public boolean hasErrors() {
+        return !lexicalErrors.isEmpty() || !syntaxErrors.isEmpty() || !semanticErrors.isEmpty() || !semanticWarnings.isEmpty();
+    }
+
     public String getErrorWall() {
         String errors = lexicalErrors.toString() + syntaxErrors + semanticErrors + semanticWarnings;
         if (errors.isEmpty()) {
@@ -42,7 +51,7 @@ public class ErrorHandler implements ErrorListener {
             lexicalErrors.append("------------------------------ Too cringe ✖_✖------------------------------\n\n");
         }
 
-        lexicalErrors.append(formatLocation(err.getLocation()));
+        lexicalErrors.append(formatLocation(err.getPosition()));
         lexicalErrors.append(" -> ");
         lexicalErrors.append(err.getMessage());
         lexicalErrors.append("\n\n");
@@ -54,7 +63,7 @@ public class ErrorHandler implements ErrorListener {
             syntaxErrors.append("------------------------------ Ohh, your canceled :) ------------------------------\n\n");
         }
 
-        syntaxErrors.append(formatLocation(err.getLocation()));
+        syntaxErrors.append(formatLocation(err.getPosition()));
         syntaxErrors.append(" -> ");
         syntaxErrors.append(err.getMessage());
         syntaxErrors.append("\n\n");
@@ -66,7 +75,7 @@ public class ErrorHandler implements ErrorListener {
             semanticErrors.append("------------------------------ What a boomer ¬_¬ ------------------------------\n\n");
         }
 
-        semanticErrors.append(formatLocation(err.getLocation()));
+        semanticErrors.append(formatLocation(err.getPosition()));
         semanticErrors.append(" -> ");
         semanticErrors.append(err.getMessage());
         semanticErrors.append("\n\n");
@@ -78,17 +87,17 @@ public class ErrorHandler implements ErrorListener {
             semanticWarnings.append("------------------------------ A little sus ◔_◔ ------------------------------\n\n");
         }
 
-        semanticWarnings.append(formatLocation(err.getLocation()));
+        semanticWarnings.append(formatLocation(err.getPosition()));
         semanticWarnings.append(" -> ");
         semanticWarnings.append(err.getMessage());
         semanticWarnings.append("\n\n");
     }
 
-    private String formatLocation(SourceLocation location) {
-        return String.format("Line %d | Column %d", location.getLine(), location.getColumn());
-    }
+    // The line map is only built once there is something to report
+    private String formatLocation(long position) {
+        if (lineMap == null) lineMap = new LineMap(srcCode);
 
-    public void abort() {
-        System.exit(1);
+        SourceLocation location = lineMap.resolve(position);
+        return String.format("Line %d | Column %d", location.getLine(), location.getColumn());
     }
 }
@@ -2,5 +2,4 @@ package errors;
 
 public interface ErrorListener {
     void report(Error err);
-    void abort();
 }
@@ -0,0 +1,17 @@
+package errors.types;
+
+import errors.Error;
+
+public class NestingTooDeepError extends Error {
+
+    private static final String MESSAGE = "The program nests too deep to be compiled";
+
+    public NestingTooDeepError(long position) {
+        super(ErrorType.SYNTAX, position);
+    }
+
+    @Override
+    public String getMessage() {
+        return MESSAGE;
+    }
+}
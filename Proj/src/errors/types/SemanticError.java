@@ -1,13 +1,12 @@
 package errors.types;
 
 import errors.Error;
-import entities.SourceLocation;
 
 public class SemanticError extends Error {
     private final String message;
 
-    public SemanticError(String message, SourceLocation location) {
-        super(ErrorType.SEMANTIC, location);
+    public SemanticError(String message, long position) {
+        super(ErrorType.SEMANTIC, position);
         this.message = message;
     }
 
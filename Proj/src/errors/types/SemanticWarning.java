@@ -1,13 +1,12 @@
 package errors.types;
 
-import entities.SourceLocation;
 import errors.Error;
 
 public class SemanticWarning extends Error {
     private final String message;
 
-    public SemanticWarning(String message, SourceLocation location) {
-        super(Error.ErrorType.WARNING, location);
+    public SemanticWarning(String message, long position) {
+        super(Error.ErrorType.WARNING, position);
         this.message = message;
     }
 
@@ -2,7 +2,6 @@ package errors.types;
 
 import entities.Token;
 import errors.Error;
-import entities.SourceLocation;
 
 public class UnexpectedTokenError extends Error {
 
@@ -10,8 +9,8 @@ public class UnexpectedTokenError extends Error {
     private final Token token;
     private final String expectedType;
 
-    public UnexpectedTokenError(Token token, String expectedType, SourceLocation location) {
-        super(ErrorType.SYNTAX, location);
+    public UnexpectedTokenError(Token token, String expectedType) {
+        super(ErrorType.SYNTAX, token.getPosition());
         this.token = token;
         this.expectedType = expectedType;
     }
@@ -0,0 +1,8 @@
+package exceptions;
+
+public class GrammarException extends Exception {
+
+    public GrammarException(String message) {
+        super(message);
+    }
+}
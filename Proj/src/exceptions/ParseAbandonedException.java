@@ -0,0 +1,8 @@
+package exceptions;
+
+public class ParseAbandonedException extends RuntimeException {
+
+    public ParseAbandonedException() {
+        super();
+    }
+}
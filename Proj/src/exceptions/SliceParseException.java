@@ -0,0 +1,8 @@
+package exceptions;
+
+public class SliceParseException extends RuntimeException {
+
+    public SliceParseException() {
+        super();
+    }
+}
@@ -0,0 +1,211 @@
+package helpers;
+
+import entities.Analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Directory of analyses of files that compiled without errors, one file per source named after a SHA-256 of the codec
+// version, which changes with the grammar, the version of the compiler and the source. Each file starts with a SHA-256
+// of the rest of it. A hit skips everything up to the intermediate code generation. Any entry that can't be read or
+// doesn't match its hash is a miss, and one that can't be written is left out, the cache never makes a compilation fail
+public class AnalysisCache {
+
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private static final String EXTENSION = ".zzzc";
+    private static final int HASH_BYTES = 32;
+
+    private final Path directory;
+    private final String version;
+    private final long maxBytes;
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+
+    // version has to change whenever the compiler does, what an older one analysed is never read then
+    public AnalysisCache(Path directory, String version) {
+        this(directory, version, DEFAULT_MAX_BYTES);
+    }
+
+    // Past maxBytes the entries used least recently are removed
+    public AnalysisCache(Path directory, String version, long maxBytes) {
+        this.directory = directory;
+        this.version = version;
+        this.maxBytes = maxBytes;
+        hits = new AtomicInteger();
+        misses = new AtomicInteger();
+    }
+
+    // Null when there is no analysis for this source
+    public Analysis load(CharSequence srcCode) {
+
+        Path entry = directory.resolve(key(srcCode) + EXTENSION);
+        try {
+            byte[] bytes = Files.readAllBytes(entry);
+            if (bytes.length < HASH_BYTES || !MessageDigest.isEqual(hash(bytes, HASH_BYTES),
+                    Arrays.copyOf(bytes, HASH_BYTES))) {
+                // Cut short or changed after it was written, it is written again after this compilation
+                Files.deleteIfExists(entry);
+                misses.incrementAndGet();
+                return null;
+            }
+
+            Analysis analysis = AnalysisCodec.read(new DataInputStream(
+                    new ByteArrayInputStream(bytes, HASH_BYTES, bytes.length - HASH_BYTES)));
+            // The modification time is when the entry was last used, the eviction goes by it
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return analysis;
+        }
+        catch (IOException | RuntimeException e) {
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    // Written next to its final name and moved there, so compilations running at the same time never read half of it
+    public void store(CharSequence srcCode, Analysis analysis) {
+
+        Path temporary = null;
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(payload);
+            out.write(new byte[HASH_BYTES]);
+            AnalysisCodec.write(analysis, out);
+            out.flush();
+            byte[] bytes = payload.toByteArray();
+            if (bytes.length > maxBytes) return;
+            System.arraycopy(hash(bytes, HASH_BYTES), 0, bytes, 0, HASH_BYTES);
+
+            Files.createDirectories(directory);
+            String key = key(srcCode);
+            temporary = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream file = Files.newOutputStream(temporary)) {
+                file.write(bytes);
+            }
+            Files.move(temporary, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        }
+        catch (IOException | RuntimeException e) {
+            try {
+                if (temporary != null) Files.deleteIfExists(temporary);
+            }
+            catch (IOException ignored) {
+                // Only a leftover temporary file
+            }
+        }
+    }
+
+    // A SHA-256 of the classes the compiler was loaded from, a directory of them or a jar, so any change to the code that
+    // analyses a program makes a new version. Random when they can't be read, nothing is reused then
+    public static String versionOf(Class<?> compiler) {
+        try {
+            Path classes = Path.of(compiler.getProtectionDomain().getCodeSource().getLocation().toURI());
+            MessageDigest digest = sha256();
+            if (Files.isDirectory(classes)) {
+                try (Stream<Path> files = Files.walk(classes)) {
+                    List<Path> classFiles = files.filter(file -> file.toString().endsWith(".class")).sorted().toList();
+                    for (Path file : classFiles) {
+                        digest.update(classes.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                        digest.update(Files.readAllBytes(file));
+                    }
+                }
+            }
+            else {
+                digest.update(Files.readAllBytes(classes));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (IOException | URISyntaxException | RuntimeException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    // Removes the entries used least recently until the rest fit in maxBytes. Other compilations can be removing the
+    // same ones, so an entry that is already gone is skipped
+    private void evict() throws IOException {
+
+        List<Path> entries = new ArrayList<>();
+        HashMap<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path entry : (Iterable<Path>) files::iterator) {
+                if (!entry.getFileName().toString().endsWith(EXTENSION)) continue;
+                try {
+                    BasicFileAttributes attribute = Files.readAttributes(entry, BasicFileAttributes.class);
+                    entries.add(entry);
+                    attributes.put(entry, attribute);
+                    total += attribute.size();
+                }
+                catch (IOException ignored) {
+                    // Removed since it was listed
+                }
+            }
+        }
+        if (total <= maxBytes) return;
+
+        entries.sort(Comparator.comparing(entry -> attributes.get(entry).lastModifiedTime()));
+        for (int i = 0; i < entries.size() && total > maxBytes; i++) {
+            Files.deleteIfExists(entries.get(i));
+            total -= attributes.get(entries.get(i)).size();
+        }
+    }
+
+    private String key(CharSequence srcCode) {
+        MessageDigest digest = sha256();
+        digest.update(AnalysisCodec.VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(version.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(srcCode)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] hash(byte[] bytes, int offset) {
+        MessageDigest digest = sha256();
+        digest.update(bytes, offset, bytes.length - offset);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
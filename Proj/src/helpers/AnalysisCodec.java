@@ -0,0 +1,586 @@
+package helpers;
+
+import entities.Analysis;
+import entities.NodeKind;
+import entities.ast.ArrayAccess;
+import entities.ast.ArrayAssignment;
+import entities.ast.ArrayDeclaration;
+import entities.ast.ArrayLiteral;
+import entities.ast.Assignment;
+import entities.ast.Binary;
+import entities.ast.Block;
+import entities.ast.Call;
+import entities.ast.CallStatement;
+import entities.ast.Conditional;
+import entities.ast.ConditionalBranch;
+import entities.ast.DoWhileLoop;
+import entities.ast.Expression;
+import entities.ast.ForLoop;
+import entities.ast.FunctionDeclaration;
+import entities.ast.Literal;
+import entities.ast.Name;
+import entities.ast.Negation;
+import entities.ast.ParameterDeclaration;
+import entities.ast.Program;
+import entities.ast.Return;
+import entities.ast.Statement;
+import entities.ast.Switch;
+import entities.ast.SwitchCase;
+import entities.ast.Variable;
+import entities.ast.VariableDeclaration;
+import entities.ast.WhileLoop;
+import stages.frontend.ParseTable;
+import symbols.SymbolsTable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary format of an Analysis: a header, the symbol rows by id and the abstract syntax tree. Nodes start with a tag
+// byte, 0 being null, and lists and strings with their length, -1 being null
+public final class AnalysisCodec {
+
+    private static final int MAGIC = 0x5A5A5A43;
+    // Bump it whenever the format changes
+    public static final int FORMAT_VERSION = 3;
+    // Node kinds are written by ordinal, so an analysis is only good for the grammar it was parsed with
+    public static final String VERSION = FORMAT_VERSION + "/" + ParseTable.GRAMMAR_DIGEST;
+
+    private static final NodeKind[] KINDS = NodeKind.values();
+
+    private static final int NONE = 0;
+    private static final int SCOPE = 1;
+    private static final int ATTRIBUTE = 2;
+
+    private static final int VARIABLE_DECLARATION = 1;
+    private static final int ARRAY_DECLARATION = 2;
+    private static final int FUNCTION_DECLARATION = 3;
+    private static final int ASSIGNMENT = 4;
+    private static final int ARRAY_ASSIGNMENT = 5;
+    private static final int CALL_STATEMENT = 6;
+    private static final int CONDITIONAL = 7;
+    private static final int WHILE_LOOP = 8;
+    private static final int DO_WHILE_LOOP = 9;
+    private static final int FOR_LOOP = 10;
+    private static final int SWITCH = 11;
+    private static final int RETURN = 12;
+
+    private static final int LITERAL = 1;
+    private static final int VARIABLE = 2;
+    private static final int ARRAY_ACCESS = 3;
+    private static final int CALL = 4;
+    private static final int NEGATION = 5;
+    private static final int BINARY = 6;
+    private static final int ARRAY_LITERAL = 7;
+
+    private AnalysisCodec() {
+    }
+
+    public static void write(Analysis analysis, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(analysis.getBlankLines());
+
+        writeSymbols(analysis.getSymbolsTable(), out);
+
+        Program program = analysis.getProgram();
+        writeStatements(program.getGlobals(), out);
+        writeName(program.getMain(), out);
+        writeStatements(program.getMainBody(), out);
+    }
+
+    // Anything that is not an analysis this version wrote is an IOException
+    public static Analysis read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) throw new IOException("Not a cached analysis");
+        int blankLines = in.readInt();
+
+        SymbolsTable symbolsTable = readSymbols(in);
+
+        List<Statement> globals = readStatements(in);
+        Name main = readName(in);
+        List<Statement> mainBody = readStatements(in);
+        return new Analysis(new Program(globals, main, mainBody), symbolsTable, blankLines);
+    }
+
+    private static void writeSymbols(SymbolsTable symbolsTable, DataOutputStream out) throws IOException {
+
+        // Rows go in id order, the order the parser inserted them in, so a scope is always written before its rows and
+        // inserting them again gives the same lookups
+        out.writeInt(symbolsTable.size());
+        for (int id = 0; id < symbolsTable.size(); id++) {
+            if (!symbolsTable.contains(id)) {
+                out.writeByte(NONE);
+                continue;
+            }
+            if (!symbolsTable.isAttribute(id)) {
+                out.writeByte(SCOPE);
+                out.writeInt(symbolsTable.getParentScope(id));
+                continue;
+            }
+            out.writeByte(ATTRIBUTE);
+            out.writeInt(symbolsTable.getParentScope(id));
+            writeString(symbolsTable.getName(id), out);
+            writeString(symbolsTable.getDataType(id), out);
+            writeIntegers(symbolsTable.getDimensions(id), out);
+            out.writeBoolean(symbolsTable.isFunction(id));
+            out.writeBoolean(symbolsTable.isDeclared(id));
+            out.writeBoolean(symbolsTable.isInitialized(id));
+            out.writeBoolean(symbolsTable.getMightNotBeInitialized(id));
+            out.writeBoolean(symbolsTable.isReadOnly(id));
+            // Registers belong to the code generation, which starts again from none on a hit
+        }
+    }
+
+    private static SymbolsTable readSymbols(DataInputStream in) throws IOException {
+
+        SymbolsTable symbolsTable = new SymbolsTable();
+        int size = in.readInt();
+        for (int id = 0; id < size; id++) {
+            int kind = in.readByte();
+            if (kind == NONE) continue;
+
+            int parentScope = in.readInt();
+            if (parentScope != SymbolsTable.NO_SCOPE && !symbolsTable.contains(parentScope))
+                throw new IOException("Scope " + parentScope + " not written before");
+
+            if (kind == SCOPE) {
+                symbolsTable.insertBlock(id, parentScope);
+                continue;
+            }
+            String name = readString(in);
+            String dataType = readString(in);
+            ArrayList<Integer> dimensions = readIntegers(in);
+            boolean isFunction = in.readBoolean();
+
+            symbolsTable.insert(name, id, dataType, dimensions, parentScope, isFunction);
+            symbolsTable.setDeclared(id, in.readBoolean());
+            symbolsTable.setInitialized(id, in.readBoolean());
+            symbolsTable.setMightNotBeInitialized(id, in.readBoolean());
+            symbolsTable.setReadOnly(id, in.readBoolean());
+        }
+        return symbolsTable;
+    }
+
+    private static void writeStatements(List<Statement> statements, DataOutputStream out) throws IOException {
+        if (statements == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(statements.size());
+        for (Statement statement : statements) {
+            writeStatement(statement, out);
+        }
+    }
+
+    private static List<Statement> readStatements(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == -1) return null;
+
+        ArrayList<Statement> statements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            statements.add(readStatement(in));
+        }
+        return statements;
+    }
+
+    private static void writeStatement(Statement statement, DataOutputStream out) throws IOException {
+
+        if (statement instanceof VariableDeclaration declaration) {
+            out.writeByte(VARIABLE_DECLARATION);
+            writeVariableDeclaration(declaration, out);
+        }
+        else if (statement instanceof ArrayDeclaration declaration) {
+            out.writeByte(ARRAY_DECLARATION);
+            out.writeInt(declaration.getDimensions().size());
+            for (String dimension : declaration.getDimensions()) {
+                writeString(dimension, out);
+            }
+            writeString(declaration.getDatatype(), out);
+            writeName(declaration.getName(), out);
+            writeExpression(declaration.getValue(), out);
+            out.writeBoolean(declaration.isConstant());
+        }
+        else if (statement instanceof FunctionDeclaration declaration) {
+            out.writeByte(FUNCTION_DECLARATION);
+            writeString(declaration.getReturnType(), out);
+            writeName(declaration.getName(), out);
+            out.writeInt(declaration.getParameters().size());
+            for (ParameterDeclaration parameter : declaration.getParameters()) {
+                writeString(parameter.getDatatype(), out);
+                writeName(parameter.getName(), out);
+            }
+            writeStatements(declaration.getBody(), out);
+            out.writeBoolean(declaration.isConstant());
+            out.writeLong(declaration.getPosition());
+        }
+        else if (statement instanceof Assignment assignment) {
+            out.writeByte(ASSIGNMENT);
+            writeName(assignment.getTarget(), out);
+            writeKind(assignment.getOperator(), out);
+            writeExpression(assignment.getValue(), out);
+        }
+        else if (statement instanceof ArrayAssignment assignment) {
+            out.writeByte(ARRAY_ASSIGNMENT);
+            writeName(assignment.getTarget(), out);
+            writeExpression(assignment.getIndex(), out);
+            writeExpression(assignment.getValue(), out);
+        }
+        else if (statement instanceof CallStatement callStatement) {
+            out.writeByte(CALL_STATEMENT);
+            writeExpression(callStatement.getCall(), out);
+        }
+        else if (statement instanceof Conditional conditional) {
+            out.writeByte(CONDITIONAL);
+            out.writeInt(conditional.getBranches().size());
+            for (ConditionalBranch branch : conditional.getBranches()) {
+                writeKind(branch.getKind(), out);
+                writeExpression(branch.getCondition(), out);
+                writeBlock(branch.getBody(), out);
+            }
+            out.writeLong(conditional.getPosition());
+        }
+        else if (statement instanceof WhileLoop loop) {
+            out.writeByte(WHILE_LOOP);
+            writeExpression(loop.getCondition(), out);
+            writeBlock(loop.getBody(), out);
+            out.writeLong(loop.getPosition());
+        }
+        else if (statement instanceof DoWhileLoop loop) {
+            out.writeByte(DO_WHILE_LOOP);
+            writeBlock(loop.getBody(), out);
+            writeExpression(loop.getCondition(), out);
+            out.writeLong(loop.getPosition());
+        }
+        else if (statement instanceof ForLoop loop) {
+            out.writeByte(FOR_LOOP);
+            writeVariableDeclaration(loop.getInit(), out);
+            writeExpression(loop.getCondition(), out);
+            writeName(loop.getIterator(), out);
+            writeKind(loop.getChange(), out);
+            writeExpression(loop.getStep(), out);
+            writeBlock(loop.getBody(), out);
+        }
+        else if (statement instanceof Switch switchStatement) {
+            out.writeByte(SWITCH);
+            writeName(switchStatement.getSubject(), out);
+            out.writeInt(switchStatement.getCases().size());
+            for (SwitchCase switchCase : switchStatement.getCases()) {
+                writeExpression(switchCase.getValue(), out);
+                writeBlock(switchCase.getBody(), out);
+                out.writeLong(switchCase.getPosition());
+            }
+            writeBlock(switchStatement.getDefaultBody(), out);
+            out.writeLong(switchStatement.getPosition());
+        }
+        else if (statement instanceof Return returnStatement) {
+            out.writeByte(RETURN);
+            writeExpression(returnStatement.getValue(), out);
+            out.writeLong(returnStatement.getPosition());
+        }
+        else {
+            throw new IOException("Unknown statement " + statement.getClass().getSimpleName());
+        }
+    }
+
+    private static Statement readStatement(DataInputStream in) throws IOException {
+        int tag = in.readByte();
+
+        switch (tag) {
+            case VARIABLE_DECLARATION -> {
+                return readVariableDeclaration(in);
+            }
+            case ARRAY_DECLARATION -> {
+                int size = in.readInt();
+                ArrayList<String> dimensions = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    dimensions.add(readString(in));
+                }
+                String datatype = readString(in);
+                Name name = readName(in);
+                Expression value = readExpression(in);
+                return new ArrayDeclaration(dimensions, datatype, name, value, in.readBoolean());
+            }
+            case FUNCTION_DECLARATION -> {
+                String returnType = readString(in);
+                Name name = readName(in);
+                int size = in.readInt();
+                ArrayList<ParameterDeclaration> parameters = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String datatype = readString(in);
+                    parameters.add(new ParameterDeclaration(datatype, readName(in)));
+                }
+                List<Statement> body = readStatements(in);
+                boolean constant = in.readBoolean();
+                return new FunctionDeclaration(returnType, name, parameters, body, constant, in.readLong());
+            }
+            case ASSIGNMENT -> {
+                Name target = readName(in);
+                NodeKind operator = readKind(in);
+                return new Assignment(target, operator, readExpression(in));
+            }
+            case ARRAY_ASSIGNMENT -> {
+                Name target = readName(in);
+                Expression index = readExpression(in);
+                return new ArrayAssignment(target, index, readExpression(in));
+            }
+            case CALL_STATEMENT -> {
+                return new CallStatement((Call) readExpression(in));
+            }
+            case CONDITIONAL -> {
+                int size = in.readInt();
+                ArrayList<ConditionalBranch> branches = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    NodeKind kind = readKind(in);
+                    Expression condition = readExpression(in);
+                    branches.add(new ConditionalBranch(kind, condition, readBlock(in)));
+                }
+                return new Conditional(branches, in.readLong());
+            }
+            case WHILE_LOOP -> {
+                Expression condition = readExpression(in);
+                Block body = readBlock(in);
+                return new WhileLoop(condition, body, in.readLong());
+            }
+            case DO_WHILE_LOOP -> {
+                Block body = readBlock(in);
+                Expression condition = readExpression(in);
+                return new DoWhileLoop(body, condition, in.readLong());
+            }
+            case FOR_LOOP -> {
+                VariableDeclaration init = readVariableDeclaration(in);
+                Expression condition = readExpression(in);
+                Name iterator = readName(in);
+                NodeKind change = readKind(in);
+                Expression step = readExpression(in);
+                return new ForLoop(init, condition, iterator, change, step, readBlock(in));
+            }
+            case SWITCH -> {
+                Name subject = readName(in);
+                int size = in.readInt();
+                ArrayList<SwitchCase> cases = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Literal value = (Literal) readExpression(in);
+                    Block body = readBlock(in);
+                    cases.add(new SwitchCase(value, body, in.readLong()));
+                }
+                Block defaultBody = readBlock(in);
+                return new Switch(subject, cases, defaultBody, in.readLong());
+            }
+            case RETURN -> {
+                Expression value = readExpression(in);
+                return new Return(value, in.readLong());
+            }
+            default -> throw new IOException("Unknown statement tag " + tag);
+        }
+    }
+
+    private static void writeVariableDeclaration(VariableDeclaration declaration, DataOutputStream out)
+            throws IOException {
+        writeString(declaration.getDatatype(), out);
+        writeName(declaration.getName(), out);
+        writeKind(declaration.getOperator(), out);
+        writeExpression(declaration.getValue(), out);
+        out.writeBoolean(declaration.isConstant());
+    }
+
+    private static VariableDeclaration readVariableDeclaration(DataInputStream in) throws IOException {
+        String datatype = readString(in);
+        Name name = readName(in);
+        NodeKind operator = readKind(in);
+        Expression value = readExpression(in);
+        return new VariableDeclaration(datatype, name, operator, value, in.readBoolean());
+    }
+
+    private static void writeBlock(Block block, DataOutputStream out) throws IOException {
+        if (block == null) {
+            out.writeByte(0);
+            return;
+        }
+
+        out.writeByte(1);
+        out.writeInt(block.getId());
+        out.writeLong(block.getPosition());
+        writeStatements(block.getStatements(), out);
+    }
+
+    private static Block readBlock(DataInputStream in) throws IOException {
+        if (in.readByte() == 0) return null;
+
+        int id = in.readInt();
+        long position = in.readLong();
+        return new Block(id, position, readStatements(in));
+    }
+
+    private static void writeExpression(Expression expression, DataOutputStream out) throws IOException {
+
+        if (expression == null) {
+            out.writeByte(0);
+        }
+        else if (expression instanceof Literal literal) {
+            out.writeByte(LITERAL);
+            writeKind(literal.getKind(), out);
+            writeString(literal.getValue(), out);
+            out.writeLong(literal.getPosition());
+        }
+        else if (expression instanceof Variable variable) {
+            out.writeByte(VARIABLE);
+            writeName(variable.getName(), out);
+        }
+        else if (expression instanceof ArrayAccess access) {
+            out.writeByte(ARRAY_ACCESS);
+            writeName(access.getName(), out);
+            writeExpression(access.getIndex(), out);
+        }
+        else if (expression instanceof Call call) {
+            out.writeByte(CALL);
+            writeName(call.getName(), out);
+            writeExpressions(call.getArguments(), out);
+        }
+        else if (expression instanceof Negation negation) {
+            out.writeByte(NEGATION);
+            writeExpression(negation.getOperand(), out);
+            out.writeLong(negation.getPosition());
+        }
+        else if (expression instanceof Binary binary) {
+            out.writeByte(BINARY);
+            writeKind(binary.getOperator(), out);
+            writeExpression(binary.getLeft(), out);
+            writeExpression(binary.getRight(), out);
+        }
+        else if (expression instanceof ArrayLiteral arrayLiteral) {
+            out.writeByte(ARRAY_LITERAL);
+            writeExpressions(arrayLiteral.getElements(), out);
+            out.writeLong(arrayLiteral.getPosition());
+        }
+        else {
+            throw new IOException("Unknown expression " + expression.getClass().getSimpleName());
+        }
+    }
+
+    private static Expression readExpression(DataInputStream in) throws IOException {
+        int tag = in.readByte();
+
+        switch (tag) {
+            case 0 -> {
+                return null;
+            }
+            case LITERAL -> {
+                NodeKind kind = readKind(in);
+                String value = readString(in);
+                return new Literal(kind, value, in.readLong());
+            }
+            case VARIABLE -> {
+                return new Variable(readName(in));
+            }
+            case ARRAY_ACCESS -> {
+                Name name = readName(in);
+                return new ArrayAccess(name, readExpression(in));
+            }
+            case CALL -> {
+                Name name = readName(in);
+                return new Call(name, readExpressions(in));
+            }
+            case NEGATION -> {
+                Expression operand = readExpression(in);
+                return new Negation(operand, in.readLong());
+            }
+            case BINARY -> {
+                NodeKind operator = readKind(in);
+                Expression left = readExpression(in);
+                return new Binary(operator, left, readExpression(in));
+            }
+            case ARRAY_LITERAL -> {
+                List<Expression> elements = readExpressions(in);
+                return new ArrayLiteral(elements, in.readLong());
+            }
+            default -> throw new IOException("Unknown expression tag " + tag);
+        }
+    }
+
+    private static void writeExpressions(List<Expression> expressions, DataOutputStream out) throws IOException {
+        out.writeInt(expressions.size());
+        for (Expression expression : expressions) {
+            writeExpression(expression, out);
+        }
+    }
+
+    private static List<Expression> readExpressions(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        ArrayList<Expression> expressions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            expressions.add(readExpression(in));
+        }
+        return expressions;
+    }
+
+    // Names keep the id the semantic analysis resolved them to, the code generator looks their symbol up with it
+    private static void writeName(Name name, DataOutputStream out) throws IOException {
+        writeString(name.getValue(), out);
+        out.writeInt(name.getId());
+        out.writeLong(name.getPosition());
+    }
+
+    private static Name readName(DataInputStream in) throws IOException {
+        String value = readString(in);
+        int id = in.readInt();
+        return new Name(value, id, in.readLong());
+    }
+
+    private static void writeKind(NodeKind kind, DataOutputStream out) throws IOException {
+        out.writeInt(kind == null ? -1 : kind.ordinal());
+    }
+
+    private static NodeKind readKind(DataInputStream in) throws IOException {
+        int ordinal = in.readInt();
+        if (ordinal == -1) return null;
+        if (ordinal < 0 || ordinal >= KINDS.length) throw new IOException("Unknown node kind " + ordinal);
+        return KINDS[ordinal];
+    }
+
+    // writeUTF is limited to 64K bytes, string literals are not
+    private static void writeString(String string, DataOutputStream out) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) return null;
+        if (length < 0) throw new IOException("Negative string length");
+
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeIntegers(List<Integer> integers, DataOutputStream out) throws IOException {
+        if (integers == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(integers.size());
+        for (int integer : integers) {
+            out.writeInt(integer);
+        }
+    }
+
+    private static ArrayList<Integer> readIntegers(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == -1) return null;
+
+        ArrayList<Integer> integers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            integers.add(in.readInt());
+        }
+        return integers;
+    }
+}
@@ -0,0 +1,576 @@
+package helpers;
+
+import entities.TokenKind;
+import exceptions.GrammarException;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Reads the grammar, computes its FIRST and FOLLOW sets, checks that it is LL(1) and writes the non-terminals, the
+// parse tree node kinds and the parse table the parser uses. Run it from the project folder after changing the grammar:
+//
+//   java helpers.ParserGenerator [src/stages/frontend/zzz.grammar] [src]
+public class ParserGenerator {
+
+    private static final String DEFAULT_GRAMMAR = "src/stages/frontend/zzz.grammar";
+    private static final String DEFAULT_SOURCE_ROOT = "src";
+    private static final String PRODUCTION = "->";
+    private static final String FALLBACK = "=>";
+    private static final int WORDS = (TokenKind.COUNT + Long.SIZE - 1) / Long.SIZE;
+    private static final int NESTED = 1 << 16;
+
+    private static class Production {
+
+        private final int lhs;
+        private final String[] rhs;
+        private final boolean fallback;
+        private final int line;
+
+        private Production(int lhs, String[] rhs, boolean fallback, int line) {
+            this.lhs = lhs;
+            this.rhs = rhs;
+            this.fallback = fallback;
+            this.line = line;
+        }
+    }
+
+    private final ArrayList<String> nonTerminals;
+    private final HashMap<String, Integer> ids;
+    private final ArrayList<Production> productions;
+    private final String digest;
+    private boolean[][] first;
+    private boolean[] nullable;
+    private boolean[][] follow;
+
+    public ParserGenerator(List<String> grammar) throws GrammarException {
+        nonTerminals = new ArrayList<>();
+        ids = new HashMap<>();
+        productions = new ArrayList<>();
+        digest = digest(grammar);
+
+        read(grammar);
+        computeFirst();
+        computeFollow();
+        checkLL1();
+    }
+
+    public static void main(String[] args) {
+        Path grammarFile = Path.of(args.length > 0 ? args[0] : DEFAULT_GRAMMAR);
+        Path sourceRoot = Path.of(args.length > 1 ? args[1] : DEFAULT_SOURCE_ROOT);
+
+        try {
+            ParserGenerator generator = new ParserGenerator(Files.readAllLines(grammarFile, StandardCharsets.UTF_8));
+
+            Files.writeString(sourceRoot.resolve("entities/NonTerminal.java"), generator.nonTerminalSource(),
+                    StandardCharsets.UTF_8);
+            Files.writeString(sourceRoot.resolve("entities/NodeKind.java"), generator.nodeKindSource(),
+                    StandardCharsets.UTF_8);
+            Files.writeString(sourceRoot.resolve("stages/frontend/ParseTable.java"), generator.parseTableSource(),
+                    StandardCharsets.UTF_8);
+        }
+        catch (IOException | GrammarException | ReflectiveOperationException e) {
+            System.err.println(grammarFile + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Anything that changes the tables or the node kinds changes it
+    private static String digest(List<String> grammar) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : grammar) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+                digest.update(TokenKind.nameOf(kind).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void read(List<String> grammar) throws GrammarException {
+
+        ArrayList<String[]> lines = new ArrayList<>();
+        for (String line : grammar) {
+            line = line.strip();
+            lines.add(line.isEmpty() || line.startsWith("//") ? null : line.split("\\s+"));
+        }
+
+        // Non-terminals are numbered in the order they are first defined
+        for (int i = 0; i < lines.size(); i++) {
+            String[] symbols = lines.get(i);
+            if (symbols == null) continue;
+
+            if (symbols.length < 3 || !symbols[1].equals(PRODUCTION) && !symbols[1].equals(FALLBACK)) {
+                throw new GrammarException("line " + (i + 1) + ": expected 'symbol -> symbols' or 'symbol => symbols'");
+            }
+            if (TokenKind.of(symbols[0]) != TokenKind.NONE) {
+                throw new GrammarException("line " + (i + 1) + ": terminal '" + symbols[0] + "' can't be defined");
+            }
+            if (!ids.containsKey(symbols[0])) {
+                ids.put(symbols[0], nonTerminals.size());
+                nonTerminals.add(symbols[0]);
+            }
+        }
+        if (nonTerminals.isEmpty()) throw new GrammarException("no productions");
+
+        for (int i = 0; i < lines.size(); i++) {
+            String[] symbols = lines.get(i);
+            if (symbols == null) continue;
+
+            String[] rhs = Arrays.copyOfRange(symbols, 2, symbols.length);
+            for (String symbol : rhs) {
+                if (!ids.containsKey(symbol) && TokenKind.of(symbol) == TokenKind.NONE) {
+                    throw new GrammarException("line " + (i + 1) + ": '" + symbol + "' is not a token nor a non-terminal");
+                }
+                if (symbol.equals("epsilon") && rhs.length > 1) {
+                    throw new GrammarException("line " + (i + 1) + ": epsilon has to be alone");
+                }
+            }
+            if (rhs[0].equals("epsilon")) rhs = new String[0];
+
+            productions.add(new Production(ids.get(symbols[0]), rhs, symbols[1].equals(FALLBACK), i + 1));
+        }
+
+        for (int nonTerminal = 0; nonTerminal < nonTerminals.size(); nonTerminal++) {
+            int fallbacks = 0;
+            boolean hasProduction = false;
+            for (Production production : productions) {
+                if (production.lhs != nonTerminal) continue;
+                if (production.fallback) fallbacks++;
+                else hasProduction = true;
+            }
+            if (!hasProduction || fallbacks > 1) {
+                throw new GrammarException("'" + nonTerminals.get(nonTerminal)
+                        + "' needs at least one production and at most one fallback");
+            }
+        }
+    }
+
+    private void computeFirst() {
+        first = new boolean[nonTerminals.size()][TokenKind.COUNT];
+        nullable = new boolean[nonTerminals.size()];
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Production production : productions) {
+                if (production.fallback) continue;
+
+                boolean[] set = new boolean[TokenKind.COUNT];
+                boolean empty = addFirst(production.rhs, 0, set);
+
+                changed |= union(first[production.lhs], set);
+                if (empty && !nullable[production.lhs]) {
+                    nullable[production.lhs] = true;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private void computeFollow() {
+        follow = new boolean[nonTerminals.size()][TokenKind.COUNT];
+        follow[0][TokenKind.EOF] = true;
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Production production : productions) {
+                if (production.fallback) continue;
+
+                for (int i = 0; i < production.rhs.length; i++) {
+                    Integer nonTerminal = ids.get(production.rhs[i]);
+                    if (nonTerminal == null) continue;
+
+                    boolean[] set = new boolean[TokenKind.COUNT];
+                    if (addFirst(production.rhs, i + 1, set)) union(set, follow[production.lhs]);
+                    changed |= union(follow[nonTerminal], set);
+                }
+            }
+        }
+    }
+
+    // Two productions of the same non-terminal can't be predicted by the same token
+    private void checkLL1() throws GrammarException {
+        StringBuilder conflicts = new StringBuilder();
+
+        for (int nonTerminal = 0; nonTerminal < nonTerminals.size(); nonTerminal++) {
+            int[] predictedBy = new int[TokenKind.COUNT];
+            Arrays.fill(predictedBy, -1);
+
+            for (int p = 0; p < productions.size(); p++) {
+                Production production = productions.get(p);
+                if (production.lhs != nonTerminal || production.fallback) continue;
+
+                boolean[] set = predictSet(production);
+                for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+                    if (!set[kind]) continue;
+
+                    if (predictedBy[kind] >= 0) {
+                        conflicts.append(String.format("%n  '%s' predicts the productions at lines %d and %d of '%s'",
+                                TokenKind.nameOf(kind), productions.get(predictedBy[kind]).line, production.line,
+                                nonTerminals.get(nonTerminal)));
+                    }
+                    else {
+                        predictedBy[kind] = p;
+                    }
+                }
+            }
+        }
+
+        if (!conflicts.isEmpty()) throw new GrammarException("the grammar is not LL(1):" + conflicts);
+    }
+
+    private boolean[] predictSet(Production production) {
+        boolean[] set = new boolean[TokenKind.COUNT];
+        if (addFirst(production.rhs, 0, set)) union(set, follow[production.lhs]);
+        return set;
+    }
+
+    // Adds FIRST of symbols[from..] to the set, returns whether all of them can be empty
+    private boolean addFirst(String[] symbols, int from, boolean[] set) {
+        for (int i = from; i < symbols.length; i++) {
+            Integer nonTerminal = ids.get(symbols[i]);
+
+            if (nonTerminal == null) {
+                addTerminal(TokenKind.of(symbols[i]), set);
+                return false;
+            }
+            union(set, first[nonTerminal]);
+            if (!nullable[nonTerminal]) return false;
+        }
+        return true;
+    }
+
+    // The lexer reads 4 as a keyword, but the parser also takes it wherever a num_lit goes
+    private void addTerminal(int kind, boolean[] set) {
+        set[kind] = true;
+        if (kind == TokenKind.NUM_LIT) set[TokenKind.FOUR] = true;
+    }
+
+    private boolean union(boolean[] target, boolean[] source) {
+        boolean changed = false;
+        for (int i = 0; i < target.length; i++) {
+            if (source[i] && !target[i]) {
+                target[i] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Tokens that start the non-terminal, plus the ones that follow it when it can be empty
+    private boolean[] predicts(int nonTerminal) {
+        boolean[] set = first[nonTerminal].clone();
+        if (nullable[nonTerminal]) union(set, follow[nonTerminal]);
+        return set;
+    }
+
+    // The productions of the non-terminal in the order the parser tries them, its fallback last
+    private List<Production> alternatives(int nonTerminal) {
+        ArrayList<Production> alternatives = new ArrayList<>();
+        Production fallback = null;
+        for (Production production : productions) {
+            if (production.lhs != nonTerminal) continue;
+
+            if (production.fallback) fallback = production;
+            else alternatives.add(production);
+        }
+        if (fallback != null) alternatives.add(fallback);
+        return alternatives;
+    }
+
+    // Whether the non-terminal can derive a string that starts with target before any token is read
+    private boolean canStartWith(int nonTerminal, int target, boolean[] visited) {
+        if (visited[nonTerminal]) return false;
+        visited[nonTerminal] = true;
+
+        for (Production production : alternatives(nonTerminal)) {
+            for (String symbol : production.rhs) {
+                Integer next = ids.get(symbol);
+                if (next == null) break;
+
+                if (next == target || canStartWith(next, target, visited)) return true;
+                if (!nullable[next]) break;
+            }
+        }
+        return false;
+    }
+
+    // Terminals are their token kind and non-terminals ~nonTerminal. In a production that opens with a terminal, the
+    // non-terminal right after it is marked as nested when it can't be empty and can start with the one being parsed
+    private int encode(Production production, int i) {
+        Integer nonTerminal = ids.get(production.rhs[i]);
+        if (nonTerminal == null) return TokenKind.of(production.rhs[i]);
+
+        boolean nested = i == 1 && !ids.containsKey(production.rhs[0]) && !nullable[nonTerminal]
+                && (nonTerminal == production.lhs
+                        || canStartWith(nonTerminal, production.lhs, new boolean[nonTerminals.size()]));
+        return ~(nested ? nonTerminal | NESTED : nonTerminal);
+    }
+
+    private static String constantName(String nonTerminal) {
+        String name = nonTerminal.toUpperCase();
+        return name.endsWith("_") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    private String nonTerminalSource() {
+        StringBuilder out = new StringBuilder();
+        out.append("package entities;\n\n");
+        out.append("import java.util.HashMap;\n\n");
+        out.append("// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead\n");
+        out.append("// Grammar non-terminals, interned like TokenKind so that the parser can index tables with them\n");
+        out.append("public final class NonTerminal {\n\n");
+
+        for (int i = 0; i < nonTerminals.size(); i++) {
+            out.append(String.format("    public static final int %s = %d;%n", constantName(nonTerminals.get(i)), i));
+        }
+        out.append(String.format("%n    public static final int COUNT = %d;%n%n", nonTerminals.size()));
+        out.append("    private static final String[] NAMES = new String[COUNT];\n");
+        out.append("    private static final HashMap<String, Integer> NON_TERMINALS = new HashMap<>();\n\n");
+
+        out.append("    static {\n");
+        for (String nonTerminal : nonTerminals) {
+            out.append(String.format("        register(%s, \"%s\");%n", constantName(nonTerminal), nonTerminal));
+        }
+        out.append("    }\n\n");
+
+        out.append("""
+                    private NonTerminal() {
+                    }
+
+                    private static void register(int nonTerminal, String name) {
+                        NAMES[nonTerminal] = name;
+                        NON_TERMINALS.put(name, nonTerminal);
+                    }
+
+                    // Returns TokenKind.NONE for names that are not non-terminals
+                    public static int of(String name) {
+                        Integer nonTerminal = NON_TERMINALS.get(name);
+                        return nonTerminal == null ? TokenKind.NONE : nonTerminal;
+                    }
+
+                    public static String nameOf(int nonTerminal) {
+                        return NAMES[nonTerminal];
+                    }
+                }
+                """);
+        return out.toString();
+    }
+
+    // Non-terminals keep their id as ordinal and token kinds come right after them, so both map to a kind by indexing
+    private String nodeKindSource() throws ReflectiveOperationException {
+        String[] tokenKinds = new String[TokenKind.COUNT];
+        for (Field field : TokenKind.class.getFields()) {
+            if (field.getType() != int.class || !Modifier.isStatic(field.getModifiers())) continue;
+
+            int kind = field.getInt(null);
+            if (kind >= 0 && kind < TokenKind.COUNT) tokenKinds[kind] = field.getName();
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("package entities;\n\n");
+        out.append("// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead\n");
+        out.append("// Kind of a parse tree node, every non-terminal in grammar order followed by every token kind\n");
+        out.append("public enum NodeKind {\n\n");
+
+        out.append("    // Non-terminals\n");
+        for (String nonTerminal : nonTerminals) {
+            out.append(String.format("    %s(\"%s\"),%n", constantName(nonTerminal), nonTerminal));
+        }
+        out.append("\n    // Terminals\n");
+        for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+            out.append(String.format("    %s(\"%s\")%s%n", tokenKinds[kind], TokenKind.nameOf(kind),
+                    kind == TokenKind.COUNT - 1 ? ";" : ","));
+        }
+
+        out.append("""
+
+                    private static final NodeKind[] KINDS = values();
+
+                    private final String symbol;
+
+                    NodeKind(String symbol) {
+                        this.symbol = symbol;
+                    }
+
+                    public static NodeKind ofNonTerminal(int nonTerminal) {
+                        return KINDS[nonTerminal];
+                    }
+
+                    public static NodeKind ofTerminal(int kind) {
+                        return KINDS[NonTerminal.COUNT + kind];
+                    }
+
+                    // The grammar symbol, as written in the grammar
+                    public String getSymbol() {
+                        return symbol;
+                    }
+
+                    public boolean isTerminal() {
+                        return ordinal() >= NonTerminal.COUNT;
+                    }
+
+                    // NONE for terminals
+                    public int getNonTerminal() {
+                        return isTerminal() ? TokenKind.NONE : ordinal();
+                    }
+                }
+                """);
+        return out.toString();
+    }
+
+    private String parseTableSource() {
+        StringBuilder out = new StringBuilder();
+        out.append("package stages.frontend;\n\n");
+        out.append("// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead\n");
+        out.append("// The productions of each non-terminal, the one each token predicts, the tokens that predict the non-terminal and\n");
+        out.append("// the ones that can follow it\n");
+        out.append("public final class ParseTable {\n\n");
+        out.append(String.format("    private static final int WORDS = %d;%n", WORDS));
+        out.append(String.format("    private static final int NESTED = 0x%X;%n", NESTED));
+        out.append(String.format("    private static final int TOKEN_KINDS = %d;%n%n", TokenKind.COUNT));
+        out.append("    // SHA-256 of the grammar and the token kinds the tables were generated from\n");
+        out.append(String.format("    public static final String GRAMMAR_DIGEST = \"%s\";%n%n", digest));
+        appendTable(out, "PREDICTS", this::predicts);
+        appendTable(out, "FOLLOWS", nonTerminal -> follow[nonTerminal]);
+        appendProductions(out);
+        appendPredictions(out);
+
+        out.append("""
+                    // The productions themselves by token kind, so the parser picks one with a single lookup
+                    private static final int[][][] PREDICTED = new int[PRODUCTIONS.length][TOKEN_KINDS][];
+
+                    static {
+                        for (int nonTerminal = 0; nonTerminal < PRODUCTIONS.length; nonTerminal++) {
+                            for (int kind = 0; kind < TOKEN_KINDS; kind++) {
+                                PREDICTED[nonTerminal][kind] = PRODUCTIONS[nonTerminal][PREDICTIONS[nonTerminal][kind]];
+                            }
+                        }
+                    }
+
+                    private ParseTable() {
+                    }
+
+                    // Whether a token of the given kind starts nonTerminal, or comes right after it when nonTerminal can be empty
+                    public static boolean predicts(int nonTerminal, int kind) {
+                        return (PREDICTS[nonTerminal * WORDS + (kind >>> 6)] >>> kind & 1) != 0;
+                    }
+
+                    // Whether a token of the given kind can come right after nonTerminal, the parser resumes on those after an error
+                    public static boolean follows(int nonTerminal, int kind) {
+                        return (FOLLOWS[nonTerminal * WORDS + (kind >>> 6)] >>> kind & 1) != 0;
+                    }
+
+                    // The symbols of the production a token of the given kind predicts, shared with the table so they must not be
+                    // changed. Tokens that predict no production get the last one, the fallback if there is one
+                    public static int[] production(int nonTerminal, int kind) {
+                        return PREDICTED[nonTerminal][kind];
+                    }
+
+                    public static boolean isTerminal(int symbol) {
+                        return symbol >= 0;
+                    }
+
+                    public static int nonTerminalOf(int symbol) {
+                        return ~symbol & ~NESTED;
+                    }
+
+                    // The non-terminal can start with the one that holds it, so it is left empty if the terminal before it was
+                    // inserted by the error recovery, or the parser would keep inserting it
+                    public static boolean isNested(int symbol) {
+                        return (~symbol & NESTED) != 0;
+                    }
+                }
+                """);
+        return out.toString();
+    }
+
+    private void appendProductions(StringBuilder out) {
+        out.append("    // Terminals are their token kind and non-terminals are ~nonTerminal, an empty production is epsilon\n");
+        out.append("    private static final int[][][] PRODUCTIONS = {\n");
+        for (int nonTerminal = 0; nonTerminal < nonTerminals.size(); nonTerminal++) {
+            out.append("            {");
+            List<Production> alternatives = alternatives(nonTerminal);
+            for (int a = 0; a < alternatives.size(); a++) {
+                Production production = alternatives.get(a);
+                out.append(a == 0 ? " {" : ", {");
+                for (int i = 0; i < production.rhs.length; i++) {
+                    out.append(i == 0 ? " " : ", ").append(encode(production, i));
+                }
+                out.append(production.rhs.length == 0 ? "}" : " }");
+            }
+            out.append(" }, // ").append(nonTerminals.get(nonTerminal)).append('\n');
+        }
+        out.append("    };\n\n");
+    }
+
+    // The alternative each token kind predicts, by its index in PRODUCTIONS
+    private void appendPredictions(StringBuilder out) {
+        out.append("    // The production each token kind predicts, by its index in PRODUCTIONS\n");
+        out.append("    private static final byte[][] PREDICTIONS = {\n");
+        for (int nonTerminal = 0; nonTerminal < nonTerminals.size(); nonTerminal++) {
+            int[] predicted = predictions(nonTerminal);
+            out.append("            {");
+            for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+                out.append(kind == 0 ? " " : ", ").append(predicted[kind]);
+            }
+            out.append(" }, // ").append(nonTerminals.get(nonTerminal)).append('\n');
+        }
+        out.append("    };\n\n");
+    }
+
+    // The grammar is LL(1), so a token is in the predict set of at most one production. The ones in none of them, which
+    // are errors unless there is a fallback, take the last alternative so the error recovery has a production to follow
+    private int[] predictions(int nonTerminal) {
+        List<Production> alternatives = alternatives(nonTerminal);
+        int[] predicted = new int[TokenKind.COUNT];
+        Arrays.fill(predicted, alternatives.size() - 1);
+
+        for (int a = 0; a < alternatives.size(); a++) {
+            Production production = alternatives.get(a);
+            if (production.fallback) continue;
+
+            boolean[] set = predictSet(production);
+            for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+                if (set[kind]) predicted[kind] = a;
+            }
+        }
+        return predicted;
+    }
+
+    private void appendTable(StringBuilder out, String name, IntFunction<boolean[]> sets) {
+        out.append("    private static final long[] ").append(name).append(" = {\n");
+        for (int nonTerminal = 0; nonTerminal < nonTerminals.size(); nonTerminal++) {
+            long[] words = new long[WORDS];
+            boolean[] set = sets.apply(nonTerminal);
+            for (int kind = 0; kind < TokenKind.COUNT; kind++) {
+                if (set[kind]) words[kind / Long.SIZE] |= 1L << kind;
+            }
+
+            out.append("           ");
+            for (long word : words) out.append(String.format(" 0x%016XL,", word));
+            out.append(" // ").append(nonTerminals.get(nonTerminal)).append('\n');
+        }
+        out.append("    };\n\n");
+    }
+}
@@ -0,0 +1,172 @@
+package helpers;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class SourceFile {
+
+    // Chars decoded at a time when the file is not valid UTF-8
+    private static final int CHUNK = 8192;
+
+    private SourceFile() {
+    }
+
+    // Maps the file outside the heap and keeps one byte per char, the way a compact String keeps Latin-1. The language
+    // itself is Latin-1, ¡ and ¿ included, only strings and comments can have anything else
+    public static CharSequence read(String fileName) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + fileName);
+            }
+
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            // UTF-8 never needs more chars than bytes, so the source is sized once and never grown
+            CompactSource source = new CompactSource((int) size);
+            bytes.get(0, source.chars);
+            if (source.decodeInPlace()) return source;
+
+            // Malformed input gets the replacement chars of the decoder
+            source = new CompactSource((int) size);
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer chars = CharBuffer.allocate(CHUNK);
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, true);
+                if (result.isError()) result.throwException();
+                source.append(chars.flip());
+                chars.clear();
+            } while (result.isOverflow());
+            do {
+                result = decoder.flush(chars);
+                source.append(chars.flip());
+                chars.clear();
+            } while (result.isOverflow());
+            return source;
+        }
+    }
+
+    // Each char in a byte, a 0 standing for a char above Latin-1 or a real 0, which are kept apart by their index
+    private static final class CompactSource implements CharSequence {
+
+        private final byte[] chars;
+        private int length;
+        private int[] wideIndexes;
+        private char[] wideChars;
+        private int wideCount;
+
+        private CompactSource(int capacity) {
+            chars = new byte[capacity];
+            wideIndexes = new int[0];
+            wideChars = new char[0];
+        }
+
+        // Decodes the UTF-8 the array holds over itself, no char takes more room than its encoding. False at the first
+        // malformed sequence
+        private boolean decodeInPlace() {
+            int size = chars.length;
+            int in = 0;
+            while (in < size) {
+                int lead = chars[in];
+                if (lead > 0) {
+                    chars[length++] = (byte) lead;
+                    in++;
+                    continue;
+                }
+
+                lead &= 0xFF;
+                int count = lead == 0 ? 0 : lead < 0xC2 ? -1 : lead < 0xE0 ? 1 : lead < 0xF0 ? 2 : lead < 0xF5 ? 3 : -1;
+                if (count < 0 || in + count >= size) return false;
+
+                int codePoint = lead & 0x3F >> count;
+                for (int i = 1; i <= count; i++) {
+                    int next = chars[in + i] & 0xFF;
+                    if ((next & 0xC0) != 0x80) return false;
+                    codePoint = codePoint << 6 | next & 0x3F;
+                }
+                // Overlong forms, surrogates and code points past Unicode are malformed
+                if (count == 2 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))) return false;
+                if (count == 3 && (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT)) return false;
+                in += count + 1;
+
+                if (count == 3) {
+                    add(Character.highSurrogate(codePoint));
+                    add(Character.lowSurrogate(codePoint));
+                }
+                else add((char) codePoint);
+            }
+            return true;
+        }
+
+        private void append(CharBuffer decoded) {
+            char[] chunk = decoded.array();
+            for (int i = 0; i < decoded.limit(); i++) {
+                add(chunk[i]);
+            }
+        }
+
+        private void add(char c) {
+            if (c != 0 && c <= 0xFF) {
+                chars[length++] = (byte) c;
+                return;
+            }
+
+            if (wideCount == wideIndexes.length) {
+                wideIndexes = Arrays.copyOf(wideIndexes, Math.max(16, wideCount * 2));
+                wideChars = Arrays.copyOf(wideChars, wideIndexes.length);
+            }
+            wideIndexes[wideCount] = length;
+            wideChars[wideCount++] = c;
+            chars[length++] = 0;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+
+            byte c = chars[index];
+            if (c != 0) return (char) (c & 0xFF);
+            return wideChars[Arrays.binarySearch(wideIndexes, 0, wideCount, index)];
+        }
+
+        // Tokens only keep what they copy out of the source, so the copy is made here
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || start > end || end > length)
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length);
+
+            int wide = Arrays.binarySearch(wideIndexes, 0, wideCount, start);
+            if (wide < 0) wide = -wide - 1;
+            if (wide == wideCount || wideIndexes[wide] >= end)
+                return new String(chars, start, end - start, StandardCharsets.ISO_8859_1);
+
+            StringBuilder copy = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                copy.append(charAt(i));
+            }
+            return copy.toString();
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+    }
+}
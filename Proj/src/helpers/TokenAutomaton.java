@@ -0,0 +1,111 @@
+package helpers;
+
+import entities.TokenKind;
+
+import java.util.Arrays;
+
+public final class TokenAutomaton {
+
+    // Character classes
+    private static final int OTHER = 0;
+    private static final int DIGIT = 1;
+    private static final int LETTER = 2;
+    private static final int UNDERSCORE = 3;
+    private static final int MINUS = 4;
+    private static final int PLUS = 5;
+    private static final int ACUTE = 6;
+    private static final int DOUBLE_QUOTE = 7;
+    private static final int SINGLE_QUOTE = 8;
+    private static final int CLASS_COUNT = 9;
+
+    // States
+    private static final int START = 0;
+    private static final int SIGN_MINUS = 1;
+    private static final int SIGN_PLUS = 2;
+    private static final int INTEGER = 3;          // -?[0-9]+
+    private static final int SIGNED_INTEGER = 4;   // +[0-9]+
+    private static final int DECIMAL_POINT = 5;    // [+-]?[0-9]*´
+    private static final int DECIMAL = 6;          // [+-]?[0-9]*´[0-9]+
+    private static final int NAME = 7;
+    private static final int STRING_BODY = 8;
+    private static final int STRING_END = 9;
+    private static final int CHAR_OPEN = 10;
+    private static final int CHAR_BODY = 11;
+    private static final int CHAR_QUOTE = 12;      // '' so far, may still be '''
+    private static final int CHAR_END = 13;
+    private static final int DEAD = 14;
+    private static final int STATE_COUNT = 15;
+
+    private static final byte[] CHAR_CLASSES = new byte[256];
+    private static final int[][] TRANSITIONS = new int[STATE_COUNT][CLASS_COUNT];
+    private static final int[] ACCEPTING = new int[STATE_COUNT];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) CHAR_CLASSES[c] = DIGIT;
+        for (char c = 'a'; c <= 'z'; c++) CHAR_CLASSES[c] = LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) CHAR_CLASSES[c] = LETTER;
+        CHAR_CLASSES['_'] = UNDERSCORE;
+        CHAR_CLASSES['-'] = MINUS;
+        CHAR_CLASSES['+'] = PLUS;
+        CHAR_CLASSES['´'] = ACUTE;
+        CHAR_CLASSES['"'] = DOUBLE_QUOTE;
+        CHAR_CLASSES['\''] = SINGLE_QUOTE;
+
+        for (int[] row : TRANSITIONS) Arrays.fill(row, DEAD);
+        Arrays.fill(ACCEPTING, TokenKind.NONE);
+
+        TRANSITIONS[START][DIGIT] = INTEGER;
+        TRANSITIONS[START][LETTER] = NAME;
+        TRANSITIONS[START][MINUS] = SIGN_MINUS;
+        TRANSITIONS[START][PLUS] = SIGN_PLUS;
+        TRANSITIONS[START][ACUTE] = DECIMAL_POINT;
+        TRANSITIONS[START][DOUBLE_QUOTE] = STRING_BODY;
+        TRANSITIONS[START][SINGLE_QUOTE] = CHAR_OPEN;
+
+        TRANSITIONS[SIGN_MINUS][DIGIT] = INTEGER;
+        TRANSITIONS[SIGN_MINUS][ACUTE] = DECIMAL_POINT;
+        TRANSITIONS[SIGN_PLUS][DIGIT] = SIGNED_INTEGER;
+        TRANSITIONS[SIGN_PLUS][ACUTE] = DECIMAL_POINT;
+
+        TRANSITIONS[INTEGER][DIGIT] = INTEGER;
+        TRANSITIONS[INTEGER][ACUTE] = DECIMAL_POINT;
+        TRANSITIONS[SIGNED_INTEGER][DIGIT] = SIGNED_INTEGER;
+        TRANSITIONS[SIGNED_INTEGER][ACUTE] = DECIMAL_POINT;
+        TRANSITIONS[DECIMAL_POINT][DIGIT] = DECIMAL;
+        TRANSITIONS[DECIMAL][DIGIT] = DECIMAL;
+
+        TRANSITIONS[NAME][LETTER] = NAME;
+        TRANSITIONS[NAME][DIGIT] = NAME;
+        TRANSITIONS[NAME][UNDERSCORE] = NAME;
+
+        for (int charClass = 0; charClass < CLASS_COUNT; charClass++) {
+            TRANSITIONS[STRING_BODY][charClass] = charClass == DOUBLE_QUOTE ? STRING_END : STRING_BODY;
+            TRANSITIONS[STRING_END][charClass] = charClass == DOUBLE_QUOTE ? STRING_END : STRING_BODY;
+            TRANSITIONS[CHAR_OPEN][charClass] = charClass == SINGLE_QUOTE ? CHAR_QUOTE : CHAR_BODY;
+        }
+        TRANSITIONS[CHAR_BODY][SINGLE_QUOTE] = CHAR_END;
+        TRANSITIONS[CHAR_QUOTE][SINGLE_QUOTE] = CHAR_END;
+
+        ACCEPTING[INTEGER] = TokenKind.NUM_LIT;
+        ACCEPTING[SIGNED_INTEGER] = TokenKind.DEC_LIT;
+        ACCEPTING[DECIMAL] = TokenKind.DEC_LIT;
+        ACCEPTING[NAME] = TokenKind.NAME;
+        ACCEPTING[STRING_END] = TokenKind.STR_LIT;
+        ACCEPTING[CHAR_QUOTE] = TokenKind.CHAR_LIT;
+        ACCEPTING[CHAR_END] = TokenKind.CHAR_LIT;
+    }
+
+    private TokenAutomaton() {
+    }
+
+    // Returns the literal or name kind of the characters in [start, end), or TokenKind.NONE if none matches
+    public static int classify(CharSequence text, int start, int end) {
+        int state = START;
+
+        for (int i = start; i < end && state != DEAD; i++) {
+            char c = text.charAt(i);
+            state = TRANSITIONS[state][c < 256 ? CHAR_CLASSES[c] : OTHER];
+        }
+        return ACCEPTING[state];
+    }
+}
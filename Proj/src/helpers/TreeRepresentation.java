@@ -53,7 +53,7 @@ public class TreeRepresentation {
     private void removePotLines(Node node, int lvl) {
 
         if (node.getParent() == null ||
-                node == node.getParent().getChilds().get(node.getParent().getChilds().size() - 1)) {
+                node.equals(node.getParent().getLastChild())) {
             int stringLength = "  ".length() + maxNameLengthPerLevel.get(lvl) + 5;
             stringsPerLvl.set(lvl, String.join("", Collections.nCopies(stringLength, " ")));
         }
@@ -66,7 +66,7 @@ public class TreeRepresentation {
 
         int stringLength = maxNameLengthPerLevel.get(lvl)-node.getStatement().length();
         String str = "|-" + node.getStatement() + String.join("", Collections.nCopies(stringLength, " "));
-        if (node.getChilds().size() != 0) {
+        if (node.getChildCount() != 0) {
             str = str + " ----";
         }
         else {
@@ -74,7 +74,7 @@ public class TreeRepresentation {
         }
         stringsPerLvl.set(lvl, str);
 
-        if (node.getChilds().size() == 0) {
+        if (node.getChildCount() == 0) {
             printLine();
             removePotLines(node, lvl);
             printLine();
@@ -82,8 +82,8 @@ public class TreeRepresentation {
             return;
         }
 
-        for (int i = 0; i < node.getChilds().size(); i++) {
-            generateTree(node.getChilds().get(i), lvl+1);
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            generateTree(child, lvl+1);
         }
     }
 
@@ -97,8 +97,8 @@ public class TreeRepresentation {
             maxNameLengthPerLevel.set(lvl, node.getStatement().length());
         }
 
-        for (int i = 0; i < node.getChilds().size(); i++) {
-            readAST(node.getChilds().get(i), lvl+1);
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            readAST(child, lvl+1);
         }
     }
 }
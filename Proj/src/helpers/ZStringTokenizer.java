@@ -1,114 +1,197 @@
 package helpers;
 
 import java.util.NoSuchElementException;
-import java.util.StringTokenizer;
 
-public class ZStringTokenizer extends StringTokenizer {
-
-    private final String specialDelimiters;
-    private String pendingToken;
-    private String literalBuffer;
-    private int lineDiff;
-    private int prevTokenDiff;
-    private int columnDiff;
+public class ZStringTokenizer {
+
+    private static final int TABLE_SIZE = 256;
+
+    private final CharSequence str;
+    private final int length;
+    private final String delimiters;
+    private final boolean[] delimiterTable;
+    private final boolean[] specialTable;
+    private int position;
+    private int rawStart;
+    private int rawEnd;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean compound;
+    private boolean hasPending;
+    private int pendingStart;
+    private int pendingEnd;
+    private int unclosedCommentFrom;
+
+    public ZStringTokenizer(CharSequence str, String delim, String specialDelim) {
+        this(str, delim, specialDelim, 0);
+    }
 
-    public ZStringTokenizer(String str, String delim, String specialDelim) {
-        super(str, delim + specialDelim, true);
-        specialDelimiters = specialDelim;
-        pendingToken = null;
-        literalBuffer = "";
-        lineDiff = 0;
-        prevTokenDiff = 0;
-        columnDiff = 0;
+    // Resumes right after a token that ended at offset
+    public ZStringTokenizer(CharSequence str, String delim, String specialDelim, int offset) {
+        this.str = str;
+        this.length = str.length();
+        this.delimiters = delim + specialDelim;
+        this.delimiterTable = buildTable(delimiters);
+        this.specialTable = buildTable(specialDelim);
+        position = offset;
+        hasPending = false;
+        unclosedCommentFrom = Integer.MAX_VALUE;
     }
 
-    public String nextToken() throws NoSuchElementException {
+    // Moves to the next token, which spans [getTokenStart(), getTokenEnd()) of the source
+    public void nextToken() throws NoSuchElementException {
 
-        if (pendingToken != null) {
-            String token = pendingToken;
-            pendingToken = null;
-            return token;
-        }
+        compound = false;
 
-        String token = getNextToken();
+        if (hasPending) {
+            hasPending = false;
+            tokenStart = pendingStart;
+            tokenEnd = pendingEnd;
+            return;
+        }
 
-        if (specialDelimiters.contains(token)) {
+        getNextToken();
+        tokenStart = rawStart;
+        tokenEnd = rawEnd;
 
-            String adjToken = getNextToken();
+        if (tokenEnd - tokenStart == 1 && isSpecial(str.charAt(tokenStart))) {
 
-            if (adjToken.equals("=")) {
-                return token + "=";
-            }
+            getNextToken();
 
-            if (token.equals("+") && adjToken.equals("+")) {
-                return "++";
-            }
+            if (rawEnd - rawStart == 1) {
+                char token = str.charAt(tokenStart);
+                char adjToken = str.charAt(rawStart);
 
-            if (token.equals("-") && adjToken.equals("-")) {
-                return "--";
+                if (adjToken == '=' || (token == '+' && adjToken == '+') || (token == '-' && adjToken == '-')) {
+                    compound = true;
+                    tokenEnd = rawEnd;
+                    return;
+                }
             }
 
-            pendingToken = adjToken;
+            hasPending = true;
+            pendingStart = rawStart;
+            pendingEnd = rawEnd;
         }
+    }
 
-        return token;
+    public int getTokenStart() {
+        return tokenStart;
     }
 
-    public int getColumnDiff() {
-        return columnDiff;
+    public int getTokenEnd() {
+        return tokenEnd;
     }
 
-    public int getLineDiff() {
-        int diff = lineDiff;
-        lineDiff = 0;
-        return diff;
+    // Compound tokens (+=, ++, ==, ...) are made of the first and last character of the span
+    public boolean isCompound() {
+        return compound;
     }
 
-    private String getTokenOrLiteral() {
+    private boolean[] buildTable(String chars) {
+        boolean[] table = new boolean[TABLE_SIZE];
+        for (int i = 0; i < chars.length(); i++) {
+            if (chars.charAt(i) < TABLE_SIZE) table[chars.charAt(i)] = true;
+        }
+        return table;
+    }
 
-        String token;
-        boolean literal = false, literalEnd = false;
+    private boolean isDelimiter(char c) {
+        return c < TABLE_SIZE ? delimiterTable[c] : delimiters.indexOf(c) >= 0;
+    }
 
-        do {
+    private boolean isSpecial(char c) {
+        return c < TABLE_SIZE && specialTable[c];
+    }
 
-            token = super.nextToken();
+    private boolean isQuote(int start, int end) {
+        if (end - start != 1) return false;
+        char c = str.charAt(start);
+        return c == '"' || c == '\'';
+    }
 
-            if (token.contains("\"") || token.contains("'")) {
-                literal = true;
-                literalEnd = !literalBuffer.isEmpty();
-            }
+    private void getRawToken() throws NoSuchElementException {
 
-            if (literal) {
-                literalBuffer += token;
-            }
+        if (position >= length) {
+            throw new NoSuchElementException();
+        }
 
-            if (literalEnd) {
-                token = literalBuffer;
-                literalBuffer = "";
+        rawStart = position;
+        if (isDelimiter(str.charAt(position))) {
+            position++;
+        }
+        else {
+            while (position < length && !isDelimiter(str.charAt(position))) {
+                position++;
             }
+        }
+        rawEnd = position;
+    }
+
+    private void getTokenOrLiteral() throws NoSuchElementException {
 
-        } while (literal && !literalEnd);
+        getRawToken();
 
-        return token;
+        if (isQuote(rawStart, rawEnd)) {
+            scanLiteral();
+        }
     }
 
-    private String getNextToken() throws NoSuchElementException {
+    // A literal runs from its opening quote to the next quote of either kind, whatever lies in between
+    private void scanLiteral() throws NoSuchElementException {
+
+        while (position < length) {
+            char c = str.charAt(position++);
 
-        String token = getTokenOrLiteral();
+            if (c == '"' || c == '\'') {
+                rawEnd = position;
+                return;
+            }
+        }
+        throw new NoSuchElementException();
+    }
 
-        columnDiff = prevTokenDiff;
+    // Tabs, carriage returns and << >> comments are skipped like the spaces and newlines between tokens
+    private void skipIgnored() {
 
-        while (token.equals(" ") || token.equals("\n")) {
-            if (token.equals("\n")) {
-                lineDiff++;
-                columnDiff = 0;
+        while (position < length) {
+            char c = str.charAt(position);
+
+            if (c == '\t' || c == '\r') {
+                position++;
+            }
+            else if (c != '<' || position + 1 >= length || str.charAt(position + 1) != '<' || !skipComment()) {
+                return;
             }
-            if (token.equals(" ")) columnDiff++;
+        }
+    }
 
-            token = getTokenOrLiteral();
+    private boolean skipComment() {
+
+        int commentStart = position + 2;
+        if (commentStart >= unclosedCommentFrom) return false;
+
+        for (int i = commentStart; i + 1 < length; i++) {
+            if (str.charAt(i) == '>' && str.charAt(i + 1) == '>') {
+                position = i + 2;
+                return true;
+            }
         }
 
-        prevTokenDiff = token.length();
-        return token;
+        unclosedCommentFrom = commentStart;
+        return false;
+    }
+
+    private void getNextToken() throws NoSuchElementException {
+
+        while (true) {
+            skipIgnored();
+            getTokenOrLiteral();
+
+            if (rawEnd - rawStart != 1) break;
+
+            char c = str.charAt(rawStart);
+            if (c != '\n' && c != ' ') break;
+        }
     }
 }
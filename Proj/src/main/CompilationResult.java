@@ -0,0 +1,37 @@
+package main;
+
+import java.util.List;
+
+// What compileZZZ hands back instead of exiting, so a bad file doesn't take the caller down with it
+public class CompilationResult {
+
+    private final boolean successful;
+    private final String errorWall;
+    private final String outputFile;
+    private final List<StageMetrics> stages;
+
+    public CompilationResult(boolean successful, String errorWall, String outputFile, List<StageMetrics> stages) {
+        this.successful = successful;
+        this.errorWall = errorWall;
+        this.outputFile = outputFile;
+        this.stages = stages;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public String getErrorWall() {
+        return errorWall;
+    }
+
+    // Null when nothing was generated
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    // The stages that ran, in the order they ran
+    public List<StageMetrics> getStages() {
+        return stages;
+    }
+}
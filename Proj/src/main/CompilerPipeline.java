@@ -0,0 +1,304 @@
+package main;
+
+import entities.Analysis;
+import entities.ParsedProgram;
+import entities.TacEntry;
+import entities.ast.Program;
+import errors.ErrorHandler;
+import errors.types.NestingTooDeepError;
+import helpers.AnalysisCache;
+import helpers.SourceFile;
+import stages.backend.IntermediateCodeGenerator;
+import stages.backend.TargetCodeGenerator;
+import stages.frontend.AstBuilder;
+import stages.frontend.FunctionPipeline;
+import stages.frontend.LexicalAnalyser;
+import stages.frontend.SemanticAnalyser;
+import stages.frontend.SyntaxAnalyser;
+import stages.frontend.TokenList;
+import stages.frontend.TokenSource;
+import symbols.SymbolsTable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// The stages of a compilation, each one handing a typed artifact to the next. They record their wall time, the bytes
+// the compiling thread allocated and how many items they produced, and the compilation can stop after any of them.
+// Unless lexing is a stage of its own the parser pulls the tokens straight from the lexer, and the globals of a large
+// file are analysed and generated while it is parsed, that work is measured as part of the parse. The parser keeps its
+// own stack, but lowering, the analysis and the code generation recurse as deep as the program nests, so the stages run
+// on a thread of their own with a stack for tens of thousands of levels. A program nested deeper is reported instead
+public class CompilerPipeline {
+
+    private static final String READ_ERROR =
+            "----------------------- Bombastic side eye to your file ¬_¬ -----------------------";
+    private static final long STACK_BYTES = 64L * 1024 * 1024;
+
+    private final AnalysisCache cache;
+    private final boolean lexSeparately;
+    private final ArrayList<StageMetrics> metrics;
+    private ErrorHandler errorHandler;
+    // Set by a parse that handed the globals to a pipeline, until the analysis finds it had to start again without it
+    private FunctionPipeline functionPipeline;
+    private long stageStart;
+    private long stageAllocated;
+
+    // cache can be null
+    public CompilerPipeline(AnalysisCache cache) {
+        this(cache, false);
+    }
+
+    // With lexSeparately the source is lexed as a stage of its own, so it has metrics of its own
+    public CompilerPipeline(AnalysisCache cache, boolean lexSeparately) {
+        this.cache = cache;
+        this.lexSeparately = lexSeparately;
+        metrics = new ArrayList<>();
+    }
+
+    // Every stage up to the last one, or the ones up to stopAfter
+    public CompilationResult run(String inputFile, String outputFile, Stage stopAfter) {
+
+        CompilationResult[] result = new CompilationResult[1];
+        Throwable[] thrown = new Throwable[1];
+        Thread compiler = new Thread(null, () -> {
+            try {
+                result[0] = compile(inputFile, outputFile, stopAfter);
+            }
+            catch (RuntimeException | java.lang.Error e) {
+                thrown[0] = e;
+            }
+        }, "zzz-compiler", STACK_BYTES);
+        compiler.start();
+
+        // The stages can't be stopped halfway, whoever interrupted gets to see it once they are done
+        boolean interrupted = false;
+        while (true) {
+            try {
+                compiler.join();
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        if (thrown[0] instanceof RuntimeException e) throw e;
+        if (thrown[0] instanceof java.lang.Error e) throw e;
+        return result[0];
+    }
+
+    private CompilationResult compile(String inputFile, String outputFile, Stage stopAfter) {
+
+        CharSequence srcCode;
+        try {
+            srcCode = read(inputFile);
+        } catch (IOException e) {
+            System.out.println(READ_ERROR);
+            return new CompilationResult(false, READ_ERROR, null, getMetrics());
+        }
+        if (stopAfter == Stage.READ) return result(null);
+
+        try {
+            return compile(srcCode, outputFile, stopAfter);
+        }
+        catch (StackOverflowError e) {
+            // Whatever the stage had done is dropped, there is nothing to generate for a program with errors. The stack
+            // doesn't tell where the program nests the deepest, so it is reported at the start
+            if (functionPipeline != null) functionPipeline.cancel();
+            errorHandler.report(new NestingTooDeepError(0));
+            return result(null);
+        }
+        catch (RuntimeException | java.lang.Error e) {
+            // Nobody would wait for the workers of the pipeline otherwise
+            if (functionPipeline != null) functionPipeline.cancel();
+            throw e;
+        }
+    }
+
+    private CompilationResult compile(CharSequence srcCode, String outputFile, Stage stopAfter) {
+
+        // A cached analysis is only worth it for the stages after it
+        Analysis analysis = cache == null || stopAfter.compareTo(Stage.SEMANTIC) <= 0 ? null : cache.load(srcCode);
+        if (analysis != null) {
+            printBlankLines(analysis.getBlankLines());
+        }
+        else {
+            // Lexed on its own only when its tokens or its time are wanted, otherwise the parser pulls them as it goes
+            TokenSource tokens;
+            if (stopAfter == Stage.LEX || lexSeparately) {
+                TokenList tokenList = lex(srcCode);
+                if (stopAfter == Stage.LEX) return result(null);
+                tokens = tokenList.reader();
+            }
+            else {
+                tokens = new LexicalAnalyser(srcCode);
+            }
+
+            ParsedProgram parsed = parse(srcCode, tokens);
+            if (parsed == null) return result(null);
+            if (stopAfter == Stage.PARSE) {
+                if (functionPipeline != null) functionPipeline.cancel();
+                return result(null);
+            }
+
+            analysis = analyse(parsed);
+            if (analysis == null) return result(null);
+            if (cache != null) cache.store(srcCode, analysis);
+            if (stopAfter == Stage.SEMANTIC) return result(null);
+        }
+
+        List<TacEntry> tac = generateTac(analysis);
+        if (stopAfter == Stage.TAC) return result(null);
+
+        String assembly = generateTarget(tac);
+        if (stopAfter == Stage.TARGET) return result(null);
+
+        write(assembly, outputFile);
+        return result(outputFile);
+    }
+
+    public CharSequence read(String inputFile) throws IOException {
+        startStage();
+        CharSequence srcCode = SourceFile.read(inputFile);
+        errorHandler = new ErrorHandler(srcCode);
+        endStage(Stage.READ, srcCode.length());
+        return srcCode;
+    }
+
+    public TokenList lex(CharSequence srcCode) {
+        startStage();
+        TokenList tokens = new TokenList(new LexicalAnalyser(srcCode));
+        endStage(Stage.LEX, tokens.size());
+        return tokens;
+    }
+
+    // Null when the parser had to insert tokens to go on, the program is not worth analysing then
+    public ParsedProgram parse(CharSequence srcCode, TokenSource tokens) {
+        startStage();
+        SyntaxAnalyser syntaxAnalyser = new SyntaxAnalyser(srcCode, tokens, errorHandler);
+        functionPipeline = syntaxAnalyser.getPipeline();
+
+        ParsedProgram parsed = null;
+        if (!syntaxAnalyser.isRecovered()) {
+            Program program = functionPipeline == null
+                    ? AstBuilder.build(syntaxAnalyser.getParseTree())
+                    : AstBuilder.build(functionPipeline.getGlobals(), syntaxAnalyser.getParseTree());
+            parsed = new ParsedProgram(program, syntaxAnalyser.getSymbolsTable(), syntaxAnalyser.getNodeCount(),
+                    syntaxAnalyser.getBlankLines());
+        }
+        endStage(Stage.PARSE, syntaxAnalyser.getNodeCount());
+        return parsed;
+    }
+
+    // Null when there are errors so far, from this stage or the ones before
+    public Analysis analyse(ParsedProgram parsed) {
+        startStage();
+        SymbolsTable symbolsTable = parsed.getSymbolsTable();
+        if (functionPipeline != null && functionPipeline.await()) {
+            functionPipeline.analyseMain(parsed.getProgram(), errorHandler);
+        }
+        else {
+            // A pipeline that saw a global named after a later one is dropped with all it set on the symbols. The
+            // analysis only sets the ids of the names it finds, and finds all the pipeline did, so the tree is reused
+            if (functionPipeline != null) symbolsTable.clearAnalysis();
+            functionPipeline = null;
+            new SemanticAnalyser(parsed.getProgram(), symbolsTable, errorHandler);
+        }
+
+        endStage(Stage.SEMANTIC, symbolsTable.size());
+
+        if (errorHandler.hasErrors()) return null;
+        return new Analysis(parsed.getProgram(), symbolsTable, parsed.getBlankLines());
+    }
+
+    public List<TacEntry> generateTac(Analysis analysis) {
+        startStage();
+        List<TacEntry> tac;
+        long entries;
+        if (functionPipeline != null) {
+            tac = functionPipeline.generateMain(analysis.getProgram());
+            entries = functionPipeline.getTacEntries() + tac.size();
+        }
+        else {
+            tac = new IntermediateCodeGenerator(analysis.getSymbolsTable()).generate(analysis.getProgram());
+            entries = tac.size();
+        }
+        endStage(Stage.TAC, entries);
+        return tac;
+    }
+
+    // With a pipeline tac only has CEO, the target code of the globals is already there
+    public String generateTarget(List<TacEntry> tac) {
+        startStage();
+        String assembly;
+        if (functionPipeline != null) {
+            assembly = functionPipeline.generateTarget(tac);
+        }
+        else {
+            TargetCodeGenerator targetCodeGenerator = new TargetCodeGenerator();
+            targetCodeGenerator.process(tac);
+            assembly = targetCodeGenerator.finish();
+        }
+        endStage(Stage.TARGET, countInstructions(assembly));
+        return assembly;
+    }
+
+    public void write(String assembly, String outputFile) {
+        startStage();
+        TargetCodeGenerator.writeFile(assembly, outputFile);
+        endStage(Stage.WRITE, assembly.length());
+    }
+
+    public List<StageMetrics> getMetrics() {
+        return Collections.unmodifiableList(metrics);
+    }
+
+    private CompilationResult result(String outputFile) {
+        System.out.println(errorHandler.getErrorWall());
+        if (errorHandler.hasErrors()) return new CompilationResult(false, errorHandler.getErrorWall(), null, getMetrics());
+        return new CompilationResult(true, errorHandler.getErrorWall(), outputFile, getMetrics());
+    }
+
+    // Only files without errors are cached, the blank lines the parser printed are all there is left to repeat
+    private void printBlankLines(int blankLines) {
+        for (int i = 0; i < blankLines; i++) {
+            System.out.println();
+        }
+    }
+
+    private void startStage() {
+        stageAllocated = allocatedBytes();
+        stageStart = System.nanoTime();
+    }
+
+    private void endStage(Stage stage, long items) {
+        long wallNanos = System.nanoTime() - stageStart;
+        long allocated = allocatedBytes();
+        metrics.add(new StageMetrics(stage, wallNanos, allocated == -1 ? -1 : allocated - stageAllocated, items));
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // Labels and directives are not instructions, every other line of the assembly is one
+    private static long countInstructions(String assembly) {
+        long instructions = 0;
+        int line = 0;
+        while (line < assembly.length()) {
+            int end = assembly.indexOf('\n', line);
+            if (end == -1) end = assembly.length();
+            if (assembly.charAt(line) == '\t' && line + 1 < end && assembly.charAt(line + 1) != '.') instructions++;
+            line = end + 1;
+        }
+        return instructions;
+    }
+}
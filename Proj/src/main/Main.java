@@ -1,58 +1,77 @@
 package main;
 
-import errors.ErrorHandler;
-import stages.PreCompiler;
-import stages.frontend.SyntaxAnalyser;
+import helpers.AnalysisCache;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 
 public class Main {
 
+    // -Dzzz.cache=directory keeps the analysis of every file that compiles there, to skip it while the file and the
+    // compiler are unchanged, and -Dzzz.cache.bytes bounds the size of the directory
+    private static final String CACHE_DIRECTORY = System.getProperty("zzz.cache");
+    private static final AnalysisCache CACHE = CACHE_DIRECTORY == null ? null : new AnalysisCache(Path.of(CACHE_DIRECTORY),
+            AnalysisCache.versionOf(Main.class), Long.getLong("zzz.cache.bytes", AnalysisCache.DEFAULT_MAX_BYTES));
+
+    private static final String SOURCE_DIRECTORY = "src/test/src/";
+
+    // Options can go anywhere: --stop-after=stage runs the stages up to that one and --timings prints what each stage
+    // took to the standard error
     public static void main(String[] args) {
 
-        if (args.length < 2 || args.length > 3) {
+        ArrayList<String> files = new ArrayList<>();
+        Stage stopAfter = null;
+        boolean timings = false;
+        for (String arg : args) {
+            if (arg != null && arg.startsWith("--stop-after=")) {
+                stopAfter = Stage.byName(arg.substring("--stop-after=".length()));
+                if (stopAfter == null) {
+                    System.out.println("Unknown stage: " + arg.substring("--stop-after=".length()));
+                    return;
+                }
+            }
+            else if ("--timings".equals(arg)) {
+                timings = true;
+            }
+            else {
+                files.add(arg);
+            }
+        }
+
+        if (files.size() < 2 || files.size() > 3) {
             System.out.println("Usage: zzz file.z");
             return;
         }
 
-        if (args[1] == null) {
+        if (files.get(1) == null) {
             System.out.println("Error during pre-compilation");
             return;
         }
 
         String outputFile;
-        if (args.length == 3) outputFile = args[2];
+        if (files.size() == 3) outputFile = files.get(2);
         else outputFile = "a.out";
 
-        compileZZZ(args[1], outputFile);
-    }
-
-    public static void compileZZZ(String inputFileName, String outputFileName) {
+        CompilationResult result = new CompilerPipeline(CACHE, timings)
+                .run(SOURCE_DIRECTORY + files.get(1), outputFile, stopAfter == null ? Stage.WRITE : stopAfter);
 
-        String inputFile = "src/test/src/"+inputFileName;
-
-        StringBuilder srcCode = new StringBuilder();
-        try {
-            BufferedReader reader = new BufferedReader(new FileReader(inputFile));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                srcCode.append(line).append('\n');
+        if (timings) {
+            for (StageMetrics stage : result.getStages()) {
+                System.err.println(stage);
             }
-
-            reader.close();
-
-        } catch (IOException e) {
-            System.out.println("----------------------- Bombastic side eye to your file ¬_¬ -----------------------");
-            System.exit(1);
         }
-        PreCompiler preCompiler = new PreCompiler();
-        String cleanCode = preCompiler.commentRemover(srcCode.toString());
-        ErrorHandler errorHandler = new ErrorHandler();
-        SyntaxAnalyser syntaxAnalyser = new SyntaxAnalyser(cleanCode, errorHandler, outputFileName);
+        if (CACHE != null) {
+            System.err.println("Analysis cache: " + CACHE.getHits() + " hits, " + CACHE.getMisses() + " misses");
+        }
+        if (!result.isSuccessful()) System.exit(1);
+    }
+
+    public static CompilationResult compileZZZ(String inputFileName, String outputFileName) {
+        return compileZZZ(inputFileName, outputFileName, Stage.WRITE);
+    }
 
-        System.out.println(errorHandler.getErrorWall());
+    // Runs the stages up to stopAfter, the result has what each one took
+    public static CompilationResult compileZZZ(String inputFileName, String outputFileName, Stage stopAfter) {
+        return new CompilerPipeline(CACHE).run(SOURCE_DIRECTORY + inputFileName, outputFileName, stopAfter);
     }
-}
\ No newline at end of file
+}
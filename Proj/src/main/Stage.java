@@ -0,0 +1,37 @@
+package main;
+
+// The stages of a compilation in the order they run, each one named after what --stop-after takes and counting the
+// items it produces
+public enum Stage {
+    READ("read", "chars"),
+    LEX("lex", "tokens"),
+    PARSE("parse", "nodes"),
+    SEMANTIC("semantic", "symbols"),
+    TAC("tac", "entries"),
+    TARGET("target", "instructions"),
+    WRITE("write", "chars");
+
+    private final String name;
+    private final String items;
+
+    Stage(String name, String items) {
+        this.name = name;
+        this.items = items;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getItems() {
+        return items;
+    }
+
+    // Null when no stage has that name
+    public static Stage byName(String name) {
+        for (Stage stage : values()) {
+            if (stage.name.equals(name)) return stage;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package main;
+
+// What one stage of a compilation took. The allocated bytes are only the ones of the compiling thread, not the ones of
+// the workers parsing slices or analysing declarations for it, -1 when the JVM can't tell
+public class StageMetrics {
+
+    private final Stage stage;
+    private final long wallNanos;
+    private final long allocatedBytes;
+    private final long items;
+
+    public StageMetrics(Stage stage, long wallNanos, long allocatedBytes, long items) {
+        this.stage = stage;
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.items = items;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-8s %9.3f ms %12d bytes (compiler thread) %10d %s", stage.getName(), wallNanos / 1e6,
+                allocatedBytes, items, stage.getItems());
+    }
+}
@@ -1,31 +1,47 @@
 package stages.backend;
 
-import entities.Node;
+import entities.NodeKind;
 import entities.TacEntry;
-import symbols.SymbolAttribute;
+import entities.ast.*;
 import symbols.SymbolsTable;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 public class IntermediateCodeGenerator {
-    private final Node parseTree;
     private final SymbolsTable symbolsTable;
     private List<TacEntry> tacList = new ArrayList<>();
     private int countRegisters = 0;
     private String prevReg;
-    private TargetCodeGenerator tcg;
 
-    public IntermediateCodeGenerator(Node parseTree, SymbolsTable symbolsTable, String outputFile) {
-        this.parseTree = parseTree;
+    // The code is generated for the whole program or a declaration at a time, in source order and CEO last
+    public IntermediateCodeGenerator(SymbolsTable symbolsTable) {
         this.symbolsTable = symbolsTable;
-        LinkedList<Node> init = parseTree.getChilds();
-        Node root = init.get(0);
-        generateTacList(parseTree);
+    }
+
+    public List<TacEntry> generate(Program program) {
+        for (Statement declaration : program.getGlobals()) {
+            globalsDeclaration(declaration);
+        }
+        return generateMain(program.getMainBody());
+    }
+
+    public List<TacEntry> generateGlobal(Statement declaration) {
+        globalsDeclaration(declaration);
+        return takeEntries();
+    }
+
+    public List<TacEntry> generateMain(List<Statement> mainBody) {
+        //CEO ¡<func_body>!
+        addFuncDec(null, "CEO");
+        generateBody(mainBody);
+        return takeEntries();
+    }
 
-        tcg = new TargetCodeGenerator();
-        tcg.generate(tacList, outputFile);
+    private List<TacEntry> takeEntries() {
+        List<TacEntry> entries = tacList;
+        tacList = new ArrayList<>();
+        return entries;
     }
 
     private String generateRegister() {
@@ -33,436 +49,281 @@ public class IntermediateCodeGenerator {
         return "r" + countRegisters;
     }
 
-    private void generateTacList(Node currNode) {
-        String state = currNode.getStatement();
-
-        switch (state) {
-            case "declaration":
-                globalsDeclaration(currNode);
-                break;
-            case "expression":
-                switch (currNode.getChilds().get(0).getStatement()) {
-                    case "name" -> funcCallOrVarAssign(currNode);
-                    case "datatype" -> varDeclaration(currNode);
-                    case "arr_decl" -> arrDeclaration(currNode.getChilds().get(0));
-                    case "conditional" -> conditional(currNode.getChilds().get(0));
-                    case "while_loop" -> whileLoop(currNode.getChilds().get(0));
-                    case "for_loop" -> forHandle(currNode.getChilds().get(0));
-                    case "switch_" -> switchHandle(currNode.getChilds().get(0));
-                }
-                break;
-            case "var_decl_assign":
-            case "arr_assign":
-            case "assignation":
-                assignation(currNode);
-                break;
-            case "main_":
-                mainDec(currNode);
-                break;
-            case "return_":
-                returnFunc(currNode);
-                break;
-            default:
-                for (Node child : currNode.getChilds()) {
-                    generateTacList(child);
-                }
-        }
-    }
-
-    private void mainDec(Node currNode) {
-        //<main_> ::= CEO ¡<func_body>!
-        addFuncDec(null, "CEO");
-        generateTacList(currNode.getChilds().get(2));
+    private void generateBody(List<Statement> statements) {
+        for (Statement statement : statements) {
+            generateStatement(statement);
+        }
     }
 
-    private void arrDeclaration(Node currNode) {
-        //fam <arr_dim> <datatype> name <arr_assign> .
-        List<Node> arrChildren = currNode.getChilds();
+    private void generateStatement(Statement statement) {
+        if (statement instanceof VariableDeclaration varDecl) {
+            varDeclaration(varDecl);
+        }
+        else if (statement instanceof ArrayDeclaration arrDecl) {
+            arrDeclaration(arrDecl);
+        }
+        else if (statement instanceof CallStatement callStatement) {
+            Call call = callStatement.getCall();
+            evaluateParams(call.getName().getValue(), call.getArguments());
+            addFuncCall(call.getName().getValue());
+        }
+        else if (statement instanceof Assignment assignment) {
+            prevReg = getRegister(assignment.getTarget());
+            assignation(assignment.getOperator(), assignment.getValue());
+        }
+        else if (statement instanceof ArrayAssignment arrAssign) {
+            String offset = varValue(arrAssign.getIndex());
+            String arr = getRegister(arrAssign.getTarget());
+            prevReg = "(" + offset + ")" + arr;
+            if (arrAssign.getValue() != null) arrAssignation(arrAssign.getValue());
+        }
+        else if (statement instanceof Conditional conditional) {
+            conditional(conditional);
+        }
+        else if (statement instanceof WhileLoop whileLoop) {
+            addStarter(evaluateBooleanCond(whileLoop.getCondition()), "while");
+            generateBody(whileLoop.getBody().getStatements());
+            addEnder(null, null, "while");
+        }
+        else if (statement instanceof DoWhileLoop doWhile) {
+            addStarter(null, "do_while");
+            generateBody(doWhile.getBody().getStatements());
+            addEnder(evaluateBooleanCond(doWhile.getCondition()), null, "do_while");
+        }
+        else if (statement instanceof ForLoop forLoop) {
+            forHandle(forLoop);
+        }
+        else if (statement instanceof Switch switch_) {
+            switchHandle(switch_);
+        }
+        else if (statement instanceof Return throwback) {
+            returnFunc(throwback);
+        }
+    }
+
+    private String getRegister(Name name) {
+        return symbolsTable.getRegister(name.getId());
+    }
 
-        String size2 = getArrDimension(arrChildren.get(1));
-        String datatype = getDatatypeSize(arrChildren.get(2));
+    private void arrDeclaration(ArrayDeclaration arrDecl) {
+        //fam <arr_dim> <datatype> name <arr_assign> .
+        String size2 = arrDecl.getDimensions().get(0);
+        String datatype = getDatatypeSize(arrDecl.getDatatype());
 
         //Declare array
-        String reg = addDeclaration(arrChildren.get(3).getValue(), datatype, size2);
-        symbolsTable.lookUp(arrChildren.get(3).getValue(), arrChildren.get(3).getId()).setRegister(reg);
+        String reg = addDeclaration(arrDecl.getName().getValue(), datatype, size2);
+        symbolsTable.setRegister(arrDecl.getName().getId(), reg);
 
         //Assign values
         prevReg = reg;
-        generateTacList(arrChildren.get(4));
+        if (arrDecl.getValue() != null) arrAssignation(arrDecl.getValue());
     }
 
-    private void varDeclaration(Node currNode) {
+    private void varDeclaration(VariableDeclaration varDecl) {
         //<datatype> name <var_decl_assign>
-        List<Node> varChildren = currNode.getChilds();
-
-        String datatype = getDatatypeSize(varChildren.get(0));
-        String name = varChildren.get(1).getValue();
+        String datatype = getDatatypeSize(varDecl.getDatatype());
+        String name = varDecl.getName().getValue();
 
         //Declare variable and store it in symbols table
         String varReg = addDeclaration(name, datatype, null);
-        symbolsTable.lookUp(varChildren.get(1).getValue(), varChildren.get(1).getId()).setRegister(varReg);
+        symbolsTable.setRegister(varDecl.getName().getId(), varReg);
         prevReg = varReg;
 
         //Explore assignation
-        generateTacList(varChildren.get(2));
+        if (varDecl.getValue() != null) assignation(varDecl.getOperator(), varDecl.getValue());
     }
-    private void funcCallOrVarAssign(Node currNode) {
-        //name <func_or_var>
-        List<Node> children = currNode.getChilds();
-
-        //<func_call> | <var_assign> | <arr_pos> <arr_assign>
-        List<Node> funcOrVar = children.get(1).getChilds();
 
-        switch (funcOrVar.get(0).getStatement()) {
-            case "func_call" -> {
-                //¿<value_list>?.
-                List<Node> funcCall = funcOrVar.get(0).getChilds();
-                evaluateParams(children.get(0).getValue(), funcCall.get(1));
-                addFuncCall(children.get(0).getValue());
-            }
-            case "var_assign" -> {
-                prevReg = symbolsTable.lookUp(children.get(0).getValue(), children.get(0).getId()).getRegister();
-                generateTacList(funcOrVar.get(0));
-            }
-            case "arr_pos" -> {
-                String offset = getArrPos(funcOrVar.get(0));
-                String arr = symbolsTable.lookUp(children.get(0).getValue(), children.get(0).getId()).getRegister();
-                prevReg = "(" + offset + ")" + arr;
-                generateTacList(funcOrVar.get(1));
-            }
-        }
-    }
-
-    private void forHandle(Node currNode) {
-        TacEntry.Operation operationFor = null;
-        TacEntry.Operation operationFor2 = null;
+    private void forHandle(ForLoop forLoop) {
+        TacEntry.Operation operationFor;
         String varValueFor = null;
 
         // <for_loop> ::= 4 ¿<for_decl>. <boolean_cond>. <for_iterator>? ¡<func_body>!
-        List<Node> children = currNode.getChilds();
-
         //<for_decl>::= <for_var_type> name <var_decl_assign>
-        Node for_decl = children.get(2);
-        List<Node> childrenVarType = for_decl.getChilds().get(0).getChilds();
+        VariableDeclaration forDecl = forLoop.getInit();
 
         // <for_var_type> ::= <datatype> | E
-        if(!(childrenVarType.get(0).getStatement().equals("epsilon"))) {
-            String datatype = getDatatypeSize(childrenVarType.get(0));
+        if (forDecl.getDatatype() != null) {
             // Declare 4 variable
-            String varReg = addDeclaration(for_decl.getChilds().get(1).getValue(), datatype, null);
-            symbolsTable.lookUp(for_decl.getChilds().get(1).getValue(), for_decl.getChilds().get(1).getId()).setRegister(varReg);
-            prevReg = varReg;
+            varDeclaration(forDecl);
         } else {
             //4 variable already declared
-            prevReg = symbolsTable.lookUp(for_decl.getChilds().get(1).getValue(), for_decl.getChilds().get(1).getId()).getRegister();
+            prevReg = getRegister(forDecl.getName());
+            if (forDecl.getValue() != null) assignation(forDecl.getOperator(), forDecl.getValue());
         }
-        // <var_decl_assign>
-        generateTacList(for_decl.getChilds().get(2));
 
         // <boolean_cond>
-        addStarter(evaluateBooleanCond(children.get(3)), "for");
+        addStarter(evaluateBooleanCond(forLoop.getCondition()), "for");
 
         //<for_iterator> ::= name <it_change>
-        Node for_iterator = children.get(5);
-        String valueFor2 = symbolsTable.lookUp(for_iterator.getChilds().get(0).getValue(), for_iterator.getChilds().get(0).getId()).getRegister();
+        String valueFor2 = getRegister(forLoop.getIterator());
 
         //<it_change> ::= ++ | -- | <equal_assign_op> <var_value>
-        Node it_change = for_iterator.getChilds().get(1);
-        if (it_change.getChilds().get(0).getStatement().equals("++") || it_change.getChilds().get(0).getStatement().equals("--")) {
-            operationFor = evaluateForOp(it_change.getChilds().get(0).getStatement());
+        if (forLoop.getStep() == null) {
+            operationFor = evaluateForOp(forLoop.getChange().getSymbol());
         } else {
-            operationFor2 = evaluateEqualOp(it_change.getChilds().get(0).getStatement());
-            varValueFor = varValue(it_change.getChilds().get(1));
-
+            operationFor = evaluateEqualOp(forLoop.getChange().getSymbol());
+            varValueFor = varValue(forLoop.getStep());
         }
         //<func_body>
-        generateTacList(children.get(8));
-        if (it_change.getChilds().get(0).getStatement().equals("++") || it_change.getChilds().get(0).getStatement().equals("--")) {
+        generateBody(forLoop.getBody().getStatements());
+        if (forLoop.getStep() == null) {
             // es ++ o --
             String litRx = addLoadLiteral("1");
             addEqualAssign(valueFor2, operationFor, litRx);
         } else {
-            addEqualAssign(valueFor2, operationFor2, varValueFor);
+            addEqualAssign(valueFor2, operationFor, varValueFor);
         }
         addEnder(null, null, "for");
     }
 
-    private void whileLoop(Node currNode) {
-        // vibe <while_opt>
-        List<Node> children = currNode.getChilds();
-
-        if (children.get(1).getChilds().get(0).getStatement().equals("while_")) {
-            while_(children.get(1).getChilds().get(0));
-        }
-        else {
-            doWhile(children.get(1).getChilds().get(0));
-        }
-    }
-
-    private void while_(Node currNode) {
-        // check ¿<boolean_cond>? ¡<func_body>!
-        List<Node> children = currNode.getChilds();
-
-        addStarter(evaluateBooleanCond(children.get(2)), "while");
-        generateTacList(children.get(5));
-        addEnder(null, null, "while");
-    }
-
-    private void doWhile(Node currNode) {
-        // ¡<func_body>! then check ¿<boolean_cond>?
-        List<Node> children = currNode.getChilds();
-
-        addStarter(null, "do_while");
-        generateTacList(children.get(1));
-        addEnder(evaluateBooleanCond(children.get(6)), null, "do_while");
-    }
-
-    private void conditional(Node currNode) {
-        // <if_> <cond_else>
-        Node condElseNode = currNode.getChilds().get(1);
-
-        ifCases(currNode.getChilds().get(0));
-
-        while (condElseNode != null && !condElseNode.getChilds().get(0).getStatement().equals("epsilon")) {
-
-            condElseNode = ifCases(condElseNode.getChilds().get(1).getChilds().get(0));
-        }
-    }
-
-    private Node ifCases(Node currNode) {
+    private void conditional(Conditional conditional) {
         // <if_> ::= like ¿<boolean_cond>? ¡<func_body>!
         // <elif> ::= like ¿<boolean_cond>? ¡<func_body>! <cond_else>
         // <else_> ::= ¡<func_body>!
-        List<Node> children = currNode.getChilds();
-        Node funcBodyNode;
+        List<ConditionalBranch> branches = conditional.getBranches();
 
-        if (children.get(0).getStatement().equals("like")) {
-            addStarter(evaluateBooleanCond(children.get(2)), currNode.getStatement().replace("_",""));
-            funcBodyNode = children.get(5);
-        }
-        else {
-            addStarter(null, currNode.getStatement().replace("_",""));
-            funcBodyNode = children.get(1);
-        }
-        String nextTag = null;
+        for (int i = 0; i < branches.size(); i++) {
+            ConditionalBranch branch = branches.get(i);
+            String tag = getBranchTag(branch);
 
-        if (currNode.getStatement().equals("if_")) {
-            if (!currNode.getParent().getChilds().get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-                nextTag = "elif";
+            if (branch.getCondition() != null) {
+                addStarter(evaluateBooleanCond(branch.getCondition()), tag);
             }
-        }
-        else if (currNode.getStatement().equals("elif")) {
-            if (!children.get(7).getChilds().get(0).getStatement().equals("epsilon")) {
-                nextTag = children.get(7).getChilds().get(1).getChilds().get(0).getStatement().replace("_","");
+            else {
+                addStarter(null, tag);
             }
-        }
+            String nextTag = i + 1 < branches.size() ? getBranchTag(branches.get(i + 1)) : null;
 
-        generateTacList(funcBodyNode);
-        addEnder(null, nextTag, currNode.getStatement().replace("_",""));
-
-        if (children.size() == 8) {
-            // elif
-            return children.get(7);
+            generateBody(branch.getBody().getStatements());
+            addEnder(null, nextTag, tag);
         }
-        return null;
     }
 
-    private void returnFunc(Node currNode) {
+    private String getBranchTag(ConditionalBranch branch) {
+        return branch.getKind().getSymbol().replace("_","");
+    }
+
+    private void returnFunc(Return throwback) {
         //throwback <return_value> .
         //<neg> <var_value>
-        List<Node> returnNode = currNode.getChilds().get(1).getChilds();
+        Expression returnValue = throwback.getValue();
+        Expression value = returnValue instanceof Negation negation ? negation.getOperand() : returnValue;
 
-        if (!returnNode.get(1).getChilds().get(0).getStatement().equals("literal")) {
-            String returnValue = varValue(returnNode.get(1));
-            returnValue = evaluateNeg(returnValue, returnNode.get(0));
-            addStoreValue(returnValue, "rr");
-        }
-        else if (!returnNode.get(1).getChilds().get(0).getChilds().get(0).getChilds().get(0).getStatement().equals("null_lit")) {
-            String returnValue = varValue(returnNode.get(1));
-            returnValue = evaluateNeg(returnValue, returnNode.get(0));
-            addStoreValue(returnValue, "rr");
+        if (!(value instanceof Literal literal) || literal.getKind() != NodeKind.NULL_LIT) {
+            addStoreValue(evaluateVarOp(returnValue), "rr");
         }
         addReturn();
     }
 
-    private void switchHandle(Node currNode) {
+    private void switchHandle(Switch switch_) {
         //<switch_> ::= swipe ¿name? ¡<case_> <default_>!
-        List<Node> children = currNode.getChilds();
-        String value = symbolsTable.lookUp(children.get(2).getValue(), children.get(2).getId()).getRegister();
-        SymbolAttribute symbolAttribute = (SymbolAttribute) (symbolsTable.lookUp(children.get(2).getValue(), children.get(2).getId()));
-        boolean hasDefaultCase = !children.get(6).getChilds().get(0).getStatement().equals("epsilon");
-        evaluateCase(children.get(5), value, "if", hasDefaultCase);
+        String value = getRegister(switch_.getSubject());
+        boolean hasDefaultCase = switch_.getDefaultBody() != null;
+        List<SwitchCase> cases = switch_.getCases();
 
-        //<default_> ::= left: <case_body> | E
-        List<Node> default_ = children.get(6).getChilds();
-        if(!(default_.get(0).getStatement().equals("epsilon"))) {
-            addStarter("else");
-            evaluateCaseBody(default_.get(2));
-            addEnder(null, null, "else");
-        }
-    }
-
-    private void evaluateCase(Node currNode, String valueRx, String ifType, boolean hasDefaultCase) {
-        //<case_> ::=  right <literal> : <case_body> <nested_case>
-        addStarter("conditions");
-        List<Node> case_ = currNode.getChilds();
-        String literal = getLiteral(case_.get(1));
-        String litRX = addLoadLiteral(literal);
-        String resRX = addComparison(litRX, valueRx, "==");
-        addStarter(resRX, ifType);
-        evaluateCaseBody(case_.get(3));
+        for (int i = 0; i < cases.size(); i++) {
+            //<case_> ::=  right <literal> : <case_body> <nested_case>
+            String ifType = i == 0 ? "if" : "elif";
+            SwitchCase case_ = cases.get(i);
 
-        if(!case_.get(4).getChilds().get(0).getStatement().equals("epsilon")) {
-            addEnder(null, "elif", ifType);
-            evaluateCase(case_.get(4).getChilds().get(0), valueRx, "elif", hasDefaultCase);
+            addStarter("conditions");
+            String literal = getLiteral(case_.getValue());
+            String litRX = addLoadLiteral(literal);
+            String resRX = addComparison(litRX, value, "==");
+            addStarter(resRX, ifType);
+            if (case_.getBody() != null) {
+                generateBody(case_.getBody().getStatements());
+            }
 
-        } else {
-            if (hasDefaultCase) {
+            if (i + 1 < cases.size()) {
+                addEnder(null, "elif", ifType);
+            }
+            else if (hasDefaultCase) {
                 addEnder(null, "else", ifType);
             }
             else {
                 addEnder(null, null, ifType);
             }
         }
-    }
 
-    private void evaluateCaseBody(Node currNode) {
-        //<case_body> ::= <func_body>  <break_> | E
-        List<Node> case_body = currNode.getChilds();
-        if(!(case_body.get(0).getChilds().get(0).getStatement().equals("epsilon"))) {
-            generateTacList(case_body.get(0));
+        //<default_> ::= left: <case_body> | E
+        if (hasDefaultCase) {
+            addStarter("else");
+            generateBody(switch_.getDefaultBody().getStatements());
+            addEnder(null, null, "else");
         }
     }
 
-    private void globalsDeclaration(Node currNode) {
+    private void globalsDeclaration(Statement declaration) {
         //<arr_decl> | zombie name <func_decl> | <datatype> name <func_or_var_decl>
-        List<Node> children = currNode.getChilds();
-        String name = children.get(1).getValue();
-        List<Node> funcDecChildren;
-        List<Node> funcImpl;
-
-        switch (children.get(0).getStatement()) {
-            case "arr_decl" -> arrDeclaration(children.get(0));
-            case "zombie" -> {
-                //Declare void function
-                addFuncDec(null, name);
-                //¿ <func_param> ?  <func_impl>
-                funcDecChildren = children.get(2).getChilds();
-
-                //Add parameters if exist
-                if (!funcDecChildren.get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-                    evaluateParamDec(funcDecChildren.get(1).getChilds().get(0));
-                }
-
-                //¡<func_body>! | .
-                funcImpl = funcDecChildren.get(3).getChilds();
-                if (!funcImpl.get(0).getStatement().equals(".")) {
-                    generateTacList(funcImpl.get(1));
-                }
+        if (declaration instanceof FunctionDeclaration funcDecl) {
+            //Declare function, zombie functions have no datatype
+            String datatype = funcDecl.getReturnType() == null ? null : getDatatypeSize(funcDecl.getReturnType());
+            addFuncDec(datatype, funcDecl.getName().getValue());
+
+            //Add parameters if exist
+            for (ParameterDeclaration parameter : funcDecl.getParameters()) {
+                evaluateParamDec(parameter);
             }
-            case "datatype" -> {
-                //<var_decl_assign> | <func_decl>
-                List<Node> funcOrVarChildren = children.get(2).getChilds();
-
-                if (funcOrVarChildren.get(0).getStatement().equals("var_decl_assign")) {
-                    varDeclaration(currNode);
-                } else {
-                    String datatype = getDatatypeSize(children.get(0));
-                    //Declare function
-                    addFuncDec(datatype, name);
-                    //¿ <func_param> ?  <func_impl>
-                    funcDecChildren = funcOrVarChildren.get(0).getChilds();
-
-                    //Add parameters if exist
-                    if (!funcDecChildren.get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-                        evaluateParamDec(funcDecChildren.get(1).getChilds().get(0));
-                    }
-
-                    //¡<func_body>! | .
-                    funcImpl = funcDecChildren.get(3).getChilds();
-                    //Explore body if exists
-                    if (!funcImpl.get(0).getStatement().equals(".")) {
-                        generateTacList(funcImpl.get(1));
-                    }
-                }
+
+            //¡<func_body>! | .
+            if (funcDecl.getBody() != null) {
+                generateBody(funcDecl.getBody());
             }
         }
+        else {
+            generateStatement(declaration);
+        }
     }
 
-    private void evaluateParamDec(Node paramDec) {
+    private void evaluateParamDec(ParameterDeclaration paramDec) {
         //<datatype> name <param_list>
-        List<Node> params = paramDec.getChilds();
-
-        String size = getDatatypeSize(params.get(0));
-        String paramReg = addParamDec(params.get(1).getValue(), size);
-        symbolsTable.lookUp(params.get(1).getValue(), params.get(1).getId()).setRegister(paramReg);
-
-        if (!params.get(2).getChilds().get(0).getStatement().equals("epsilon")) {
-            //, <param_decl> | E
-            evaluateParamDec(params.get(2).getChilds().get(1));
-        }
-    }
-
-    private void assignation(Node currNode) {
-        //= <var_op> . | <equal_assign_op>  <var_op> . | = <arr_assign_val> . | E | .
-        List<Node> children = currNode.getChilds();
-
-        if (!children.get(0).getStatement().equals("epsilon") && !children.get(0).getStatement().equals(".")) {
-            if (children.get(0).getStatement().equals("=")) {
-                //Variable operation case
-                if (children.get(1).getStatement().equals("var_op")) {
-                    //<neg> <var_op_val>
-                    List<Node> varOpChildren = children.get(1).getChilds();
-
-                    String source = evaluateVarOpValue(varOpChildren.get(1));
-                    source = evaluateNeg(source, varOpChildren.get(0));
-                    addStoreValue(source, prevReg);
-                }
-                //Array assignation value
-                else {
-                    //[ <arr_list> ] | <var_value>
-                    List<Node> arrAssignChildren = children.get(1).getChilds();
-                    if (arrAssignChildren.get(0).getStatement().equals("var_value")) {
-                        String source = varValue(arrAssignChildren.get(0));
-                        addStoreValue(source, prevReg);
-                    }
-                    else {
-                        assignArrValues(arrAssignChildren.get(1), 0);
-                    }
-                }
-            }
-            //Equal assign operation case
-            else {
-                //Get operation
-                TacEntry.Operation op = evaluateEqualOp(children.get(0).getChilds().get(0).getValue());
-                //<neg> <var_op_val>
-                List<Node> varOpChildren = children.get(1).getChilds();
-
-                String reg = evaluateVarOpValue(varOpChildren.get(1));
-                reg = evaluateNeg(reg, varOpChildren.get(0));
-                addEqualAssign(prevReg, op, reg);
-            }
-        }
+        String size = getDatatypeSize(paramDec.getDatatype());
+        String paramReg = addParamDec(paramDec.getName().getValue(), size);
+        symbolsTable.setRegister(paramDec.getName().getId(), paramReg);
     }
 
-    private void assignArrValues(Node arrList, int offset) {
-        //<arr_value> <arr_value_list>
-        List<Node> arrListChildren = arrList.getChilds();
+    private void assignation(NodeKind operator, Expression value) {
+        //= <var_op> | <equal_assign_op> <var_op>
+        if (operator == NodeKind.ASSIGN) {
+            String source = evaluateVarOp(value);
+            addStoreValue(source, prevReg);
+        }
+        //Equal assign operation case
+        else {
+            TacEntry.Operation op = evaluateEqualOp(operator.getSymbol());
 
-        //Get array value
-        //<neg> <var_value>
-        String source = varValue(arrListChildren.get(0).getChilds().get(1));
-        source = evaluateNeg(source, arrListChildren.get(0).getChilds().get(0));
+            String reg = evaluateVarOp(value);
+            addEqualAssign(prevReg, op, reg);
+        }
+    }
 
-        //Store value in position of arr
-        String arrPos = "(" + offset + ")" + prevReg;
-        addStoreValue(source, arrPos);
+    private void arrAssignation(Expression value) {
+        //[ <arr_list> ] | <var_value>
+        if (value instanceof ArrayLiteral arrList) {
+            assignArrValues(arrList, 0);
+        }
+        else {
+            String source = varValue(value);
+            addStoreValue(source, prevReg);
+        }
+    }
+
+    // Nested fams are stored one row after the other, returns the offset that follows the last value
+    private int assignArrValues(ArrayLiteral arrList, int offset) {
+        for (Expression value : arrList.getElements()) {
+            if (value instanceof ArrayLiteral nested) {
+                offset = assignArrValues(nested, offset);
+                continue;
+            }
 
-        //Continue if more assigns
-        //, <arr_list> | E
-        if (arrListChildren.get(1).getChilds().get(0).getStatement().equals(",")) {
-            assignArrValues(arrListChildren.get(1).getChilds().get(1), offset + 1);
+            //Store value in position of arr
+            String source = evaluateVarOp(value);
+            String arrPos = "(" + offset + ")" + prevReg;
+            addStoreValue(source, arrPos);
+            offset++;
         }
+        return offset;
     }
 
     private TacEntry.Operation evaluateEqualOp(String operation) {
@@ -481,200 +342,107 @@ public class IntermediateCodeGenerator {
         };
     }
 
-    private String evaluateVarOpValue(Node currNode) {
-        //<var_value> <nested_op> | ( <var_op> )
-        List<Node> children = currNode.getChilds();
-        String dest = null;
-
-        if (!children.get(0).getStatement().equals("(")) {
-            dest = varValue(children.get(0));
-            dest = nestedOp(dest, children.get(1));
-        }
-        return dest;
-    }
-
-    private String nestedOp(String arg1, Node currNode) {
-        //<operator> <var_op_val> | E
-        List<Node> children = currNode.getChilds();
-
-        if (children.get(0).getStatement().equals("epsilon")) {
-            return arg1;
+    // Operands first, left to right, then the operation
+    private String evaluateVarOp(Expression expression) {
+        if (expression instanceof Negation negation) {
+            return addNegation(evaluateVarOp(negation.getOperand()));
         }
-
-        TacEntry.Operation operation = getOperation(children.get(0));
-        if (operation.equals(TacEntry.Operation.ADD) || operation.equals(TacEntry.Operation.SUB)) {
-            String arg2 = evaluateVarOpValue(children.get(1));
-            return addOperation(arg1, arg2, operation);
-        }
-        else {
-            String reg = varValue(children.get(1).getChilds().get(0));
-            String dest = addOperation(arg1, reg, operation);
-
-            if (!children.get(1).getChilds().get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-                dest = nestedOp(dest, children.get(1).getChilds().get(1));
-                return dest;
-            }
-            return dest;
+        if (expression instanceof Binary binary) {
+            String arg1 = evaluateVarOp(binary.getLeft());
+            String arg2 = evaluateVarOp(binary.getRight());
+            return addOperation(arg1, arg2, getOperation(binary.getOperator()));
         }
+        return varValue(expression);
     }
 
-    private String varValue(Node currNode) {
+    private String varValue(Expression value) {
         //name <arr_or_func> | <literal>
-        List<Node> children = currNode.getChilds();
         String dest;
 
-        if (children.get(0).getStatement().equals("name")) {
-            //Get arr_or_func child: <arr_pos> | ¿<value_list>? | E
-            Node arrOrFunc = children.get(1).getChilds().get(0);
-            String name = children.get(0).getValue();
-
-            if (arrOrFunc.getStatement().equals("arr_pos")){
-                String offset = getArrPos(arrOrFunc);
-                String arr = symbolsTable.lookUp(name, children.get(0).getId()).getRegister();
-                dest = "(" + offset + ")" + arr;
-            }
-            else if (arrOrFunc.getStatement().equals("¿")) {
-                //Value list of parameters
-                Node params = children.get(1).getChilds().get(1);
-                evaluateParams(name, params);
-                addFuncCall(name);
-                dest = "rr";
-            }
-            else {
-                dest = symbolsTable.lookUp(children.get(0).getValue(), children.get(0).getId()).getRegister();
-            }
+        if (value instanceof Variable variable) {
+            dest = getRegister(variable.getName());
+        }
+        else if (value instanceof ArrayAccess arrAccess) {
+            String offset = varValue(arrAccess.getIndex());
+            String arr = getRegister(arrAccess.getName());
+            dest = "(" + offset + ")" + arr;
+        }
+        else if (value instanceof Call call) {
+            //Value list of parameters
+            evaluateParams(call.getName().getValue(), call.getArguments());
+            addFuncCall(call.getName().getValue());
+            dest = "rr";
         }
         else {
-            String literal = getLiteral(children.get(0));
+            String literal = getLiteral((Literal) value);
             dest = addLoadLiteral(literal);
         }
         return dest;
     }
 
-    private String getLiteral(Node literal) {
+    private String getLiteral(Literal literal) {
         //<literal> ::= <comparable_literal> | <non_comparable_literal>
-        List<Node> litChildren = literal.getChilds();
-
         //<non_comparable_literal> ::= str_lit | null_lit
         //<comparable_literal> ::=  numeric_literal | decimal_literal | boolean_literal | char_literal
-        if (litChildren.get(0).getChilds().get(0).getStatement().equals("char_lit")) {
-            String character = litChildren.get(0).getChilds().get(0).getValue();
+        if (literal.getKind() == NodeKind.CHAR_LIT) {
+            String character = literal.getValue();
             return String.valueOf((int) character.charAt(1));
         }
-        return litChildren.get(0).getChilds().get(0).getValue();
+        return literal.getValue();
     }
 
-    private String getArrPos(Node currNode) {
-        //[ <var_value> ]
-        List<Node> children = currNode.getChilds();
-        return varValue(children.get(1));
-    }
-
-    private String evaluateVarOp(Node currNode) {
-        // <neg> <var_op_val>
-        String nFinalResult = evaluateVarOpValue(currNode.getChilds().get(1));
-        return evaluateNeg(nFinalResult, currNode.getChilds().get(0));
+    private String evaluateBooleanCond(Expression condition) {
+        addStarter("conditions");
+        return evaluateCondition(condition);
     }
 
-    private String evaluateBooleanCond(Node currNode) {
-        //<neg> <condition> <nest_cond>
-        List<Node> children = currNode.getChilds();
-        String nFinalResult;
-
-        if (!currNode.getParent().getParent().getStatement().equals("boolean_cond")) {
-            addStarter("conditions");
+    private String evaluateCondition(Expression condition) {
+        //<neg> <condition> <nest_cond>, the # negates the conditions nested after it too
+        if (condition instanceof Negation negation) {
+            return addNegation(evaluateCondition(negation.getOperand()));
         }
-
-        if (children.get(2).getChilds().get(0).getStatement().equals("&")) {
-            nFinalResult = addAnd(evaluateCondition(children.get(1)), evaluateBooleanCond(children.get(2).getChilds().get(1)));
-        }
-        else if (children.get(2).getChilds().get(0).getStatement().equals("|")) {
-            nFinalResult = addOr(evaluateCondition(children.get(1)), evaluateBooleanCond(children.get(2).getChilds().get(1)));
+        if (condition instanceof Binary binary && binary.isLogical()) {
+            String left = evaluateCondition(binary.getLeft());
+            String right = evaluateCondition(binary.getRight());
+            return binary.getOperator() == NodeKind.AMPERSAND ? addAnd(left, right) : addOr(left, right);
         }
-        else { //equals epsilon
-            nFinalResult = evaluateCondition(children.get(1));
-        }
-
-        return evaluateNeg(nFinalResult, children.get(0));
-    }
-
-    private String evaluateCondition(Node currNode) {
-        //name <comparison> | <comparable_literal> <comparison>| (<condition>)
-        List<Node> children = currNode.getChilds();
-        String firstOperand;
 
-        if (children.get(0).getStatement().equals("name")) {
-            firstOperand = symbolsTable.lookUp(children.get(0).getValue(), children.get(0).getId()).getRegister();
-        }
-        else if (children.get(0).getStatement().equals("comparable_literal")) {
-            firstOperand = addLoadLiteral(children.get(0).getChilds().get(0).getValue());
-        }
-        else {
-            return evaluateCondition(children.get(1));
+        //name <comparison> | <comparable_literal> <comparison>
+        if (condition instanceof Binary comparison) {
+            String firstOperand = evaluateConditionOperand(comparison.getLeft());
+            return addComparison(firstOperand, evaluateVarOp(comparison.getRight()), comparison.getOperator().getSymbol());
         }
+        return evaluateConditionOperand(condition);
+    }
 
-        if (children.get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-            return firstOperand;
+    private String evaluateConditionOperand(Expression operand) {
+        if (operand instanceof Variable variable) {
+            return getRegister(variable.getName());
         }
-
-        String comparative = children.get(1).getChilds().get(0).getChilds().get(0).getStatement();
-        return addComparison(firstOperand, evaluateVarOp(children.get(1).getChilds().get(1)), comparative);
+        return addLoadLiteral(((Literal) operand).getValue());
     }
 
-    private void evaluateParams(String funcName, Node currNode) {
+    private void evaluateParams(String funcName, List<Expression> arguments) {
         //<var_op> <var_list_more> | E
-        List<Node> children = currNode.getChilds();
-
-        if (!children.get(0).getStatement().equals("epsilon")) {
-            String source = evaluateVarOpValue(children.get(0).getChilds().get(1));
-            source = evaluateNeg(source, children.get(0).getChilds().get(0));
+        for (Expression argument : arguments) {
+            String source = evaluateVarOp(argument);
             addParam(funcName, source);
-
-            //Nested parameters
-            if (!children.get(1).getChilds().get(0).getStatement().equals("epsilon")) {
-                //, <value_list> | E
-                evaluateParams(funcName, children.get(1).getChilds().get(1));
-            }
         }
     }
 
-    private String evaluateNeg(String source, Node neg) {
-        //# | E
-        List<Node> children = neg.getChilds();
-        if (children.get(0).getStatement().equals("#"))
-            source = addNegation(source);
-        return source;
-    }
-
-    private TacEntry.Operation getOperation(Node currNode) {
-        //+ | - | <high_priority_operator>
-        List<Node> children = currNode.getChilds();
-
-        String operation = children.get(0).getStatement();
-        if (operation.equals("+"))
-            return TacEntry.Operation.ADD;
-        else if (operation.equals("-"))
-            return TacEntry.Operation.SUB;
-        else {
-            //* | / | %
-            operation = children.get(0).getChilds().get(0).getStatement();
-            if (operation.equals("*"))
-                return TacEntry.Operation.MUL;
-            if (operation.equals("/"))
-                return TacEntry.Operation.DIV;
-            else
-                return TacEntry.Operation.MOD;
-        }
-    }
-
-    private String getArrDimension(Node currNode) {
-        //numeric_literal <arr_arr>
-        List<Node> children = currNode.getChilds();
-        return children.get(0).getValue();
+    private TacEntry.Operation getOperation(NodeKind operator) {
+        //+ | - | * | / | %
+        return switch (operator) {
+            case PLUS -> TacEntry.Operation.ADD;
+            case MINUS -> TacEntry.Operation.SUB;
+            case STAR -> TacEntry.Operation.MUL;
+            case SLASH -> TacEntry.Operation.DIV;
+            default -> TacEntry.Operation.MOD;
+        };
     }
 
-    private String getDatatypeSize(Node currNode) {
-        return switch (currNode.getChilds().get(0).getValue()) {
+    private String getDatatypeSize(String datatype) {
+        return switch (datatype) {
             case "bro" -> "int";
             case "sis" -> "float";
             default -> "char";
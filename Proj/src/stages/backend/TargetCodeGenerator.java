@@ -112,7 +112,8 @@ public class TargetCodeGenerator {
         code.append(INIT_POINTERS);
     }
 
-    public void generate(List<TacEntry> tacList, String outputFile) {
+    // Can be called once per declaration, what a declaration leaves behind is still there for the next one
+    public void process(List<TacEntry> tacList) {
 
         for (TacEntry entry : tacList) {
 
@@ -123,13 +124,19 @@ public class TargetCodeGenerator {
 
             processEntry(entry);
         }
+    }
 
+    // Ends the program, nothing can be processed after it
+    public String finish() {
         code.append(EXIT);
+        return code.toString();
+    }
 
+    public static void writeFile(String code, String outputFile) {
         File file = new File(outputFile);
         try {
             FileWriter fileWriter = new FileWriter(file);
-            fileWriter.write(code.toString());
+            fileWriter.write(code);
             fileWriter.close();
         } catch (IOException e) {
             e.printStackTrace();
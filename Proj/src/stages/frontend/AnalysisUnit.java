@@ -0,0 +1,132 @@
+package stages.frontend;
+
+import entities.ast.Statement;
+import errors.Error;
+import symbols.FlagMap;
+import symbols.SymbolsTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+// A global declaration, or the body of a function, analysed on its own by a parallel analysis. It starts from a
+// snapshot of the flags the units before it in source order set, the bodies only once they are all known, and ends
+// with the flags it set on top of it. The units share nothing else, so none of them waits for another
+public class AnalysisUnit {
+
+    private final int index;
+    private final Statement declaration;
+    private final boolean body;
+    // Only the functions stored before the unit can be called from it
+    private final int visibleFunctions;
+    private final SymbolsTable symbolsTable;
+    private final FlagMap snapshot;
+    private final boolean retry;
+
+    private final ArrayList<Error> errors;
+    // The flags the unit set on each row, whatever they were before
+    private final HashMap<Integer, Integer> touched;
+    // Rows of the program scope whose flags were read from the snapshot
+    private final HashSet<Integer> reads;
+    private FlagMap flags;
+
+    public AnalysisUnit(int index, Statement declaration, boolean body, int visibleFunctions, SymbolsTable symbolsTable,
+                        FlagMap snapshot) {
+        this(index, declaration, body, visibleFunctions, symbolsTable, snapshot, false);
+    }
+
+    private AnalysisUnit(int index, Statement declaration, boolean body, int visibleFunctions,
+                         SymbolsTable symbolsTable, FlagMap snapshot, boolean retry) {
+        this.index = index;
+        this.declaration = declaration;
+        this.body = body;
+        this.visibleFunctions = visibleFunctions;
+        this.symbolsTable = symbolsTable;
+        this.snapshot = snapshot;
+        this.retry = retry;
+
+        errors = new ArrayList<>();
+        touched = new HashMap<>();
+        reads = new HashSet<>();
+    }
+
+    // The same unit, to be analysed again from the flags every unit before it set
+    public AnalysisUnit retry(FlagMap before) {
+        return new AnalysisUnit(index, declaration, body, visibleFunctions, symbolsTable, before, true);
+    }
+
+    public boolean isRetry() {
+        return retry;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Statement getDeclaration() {
+        return declaration;
+    }
+
+    public boolean isBody() {
+        return body;
+    }
+
+    public int getVisibleFunctions() {
+        return visibleFunctions;
+    }
+
+    public List<Error> getErrors() {
+        return errors;
+    }
+
+    public FlagMap getSnapshot() {
+        return snapshot;
+    }
+
+    // The rows of other scopes are only seen by the function that declares them, its signature comes before its body
+    public void read(int id, byte flag) {
+        if (symbolsTable.getParentScope(id) != 0 || (touched.getOrDefault(id, 0) & flag) != 0) return;
+        reads.add(id);
+    }
+
+    public void set(int id, byte flag) {
+        touched.merge(id, (int) flag, (set, added) -> set | added);
+    }
+
+    // The flags of the analysis of the unit once it is done
+    public void finish(FlagMap flags) {
+        this.flags = flags;
+    }
+
+    // Sets on top of the given flags the ones the unit set
+    public FlagMap applyTo(FlagMap before) {
+        FlagMap after = before;
+        for (Map.Entry<Integer, Integer> row : touched.entrySet()) {
+            int id = row.getKey();
+            int mask = row.getValue();
+            after = after.set(id, (byte) (before.get(id) & ~mask | flags.get(id) & mask));
+        }
+        return after;
+    }
+
+    // A body before the unit changed a row it read, what it saw is not what a sequential analysis would have
+    public boolean readsChanged(FlagMap before) {
+        for (int id : reads) {
+            if (before.get(id) != snapshot.get(id)) return true;
+        }
+        return false;
+    }
+
+    // What a unit sets doesn't depend on what it read, analysed again it must set the same
+    public boolean sameChanges(AnalysisUnit other) {
+        if (!touched.equals(other.touched)) return false;
+
+        for (Map.Entry<Integer, Integer> row : touched.entrySet()) {
+            int id = row.getKey();
+            if (((flags.get(id) ^ other.flags.get(id)) & row.getValue()) != 0) return false;
+        }
+        return true;
+    }
+}
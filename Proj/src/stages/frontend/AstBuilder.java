@@ -0,0 +1,368 @@
+package stages.frontend;
+
+import entities.Node;
+import entities.NodeKind;
+import entities.ast.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Lowers the parse tree to the abstract syntax tree the semantic analysis and the code generation walk. Only names,
+// literals, operators and the blocks that open a scope are kept
+public final class AstBuilder {
+
+    private AstBuilder() {
+    }
+
+    public static Program build(Node parseTree) {
+        // <start> ::= <globals> <main_>
+        ArrayList<Statement> globals = new ArrayList<>();
+        for (Node node = parseTree.getChild(0); !node.isEpsilon(); node = node.getChild(1)) {
+            globals.add(global(node.getChild(0)));
+        }
+        return build(globals, parseTree);
+    }
+
+    // For globals that were already lowered one by one as they were parsed
+    public static Program build(List<Statement> globals, Node parseTree) {
+        // <main_> ::= CEO ¡ <func_body> !
+        Node main = parseTree.getChild(1);
+        return new Program(globals, name(main.getChild(0)), body(main.getChild(2)));
+    }
+
+    public static Statement global(Node globalsDecl) {
+        // <globals_decl> ::= <constant> <declaration>
+        return declaration(globalsDecl.getChild(1), !globalsDecl.getChild(0).isEpsilon());
+    }
+
+    private static Statement declaration(Node declaration, boolean constant) {
+        // <arr_decl> | zombie name <func_decl> | <datatype> name <func_or_var_decl>
+        Node first = declaration.getChild(0);
+        if (first.getKind() == NodeKind.ARR_DECL) return arrayDeclaration(first, constant);
+
+        Name name = name(declaration.getChild(1));
+        if (first.getKind() == NodeKind.ZOMBIE) return functionDeclaration(null, name, declaration.getChild(2), constant);
+
+        Node funcOrVar = declaration.getChild(2).getChild(0);
+        if (funcOrVar.getKind() == NodeKind.FUNC_DECL)
+            return functionDeclaration(datatype(first), name, funcOrVar, constant);
+        return variableDeclaration(datatype(first), name, funcOrVar, constant);
+    }
+
+    private static FunctionDeclaration functionDeclaration(String returnType, Name name, Node funcDecl, boolean constant) {
+        // ¿ <func_param> ? <func_impl>
+        ArrayList<ParameterDeclaration> parameters = new ArrayList<>();
+        Node paramDecl = funcDecl.getChild(1).getFirstChild();
+        while (paramDecl != null) {
+            // <datatype> name <param_list>, <param_list> ::= , <param_decl> | E
+            parameters.add(new ParameterDeclaration(datatype(paramDecl.getChild(0)), name(paramDecl.getChild(1))));
+            Node paramList = paramDecl.getChild(2);
+            paramDecl = paramList.isEpsilon() ? null : paramList.getChild(1);
+        }
+
+        // ¡ <func_body> ! | .
+        Node funcImpl = funcDecl.getChild(3);
+        List<Statement> body = funcImpl.getChildCount() == 3 ? body(funcImpl.getChild(1)) : null;
+        return new FunctionDeclaration(returnType, name, parameters, body, constant, funcDecl.getPosition());
+    }
+
+    private static VariableDeclaration variableDeclaration(String datatype, Name name, Node varDeclAssign, boolean constant) {
+        // = <var_op> . | <equal_assign_op> <var_op> . | .
+        if (varDeclAssign.getChildCount() == 3) {
+            return new VariableDeclaration(datatype, name, operator(varDeclAssign.getChild(0)),
+                    varOp(varDeclAssign.getChild(1)), constant);
+        }
+        return new VariableDeclaration(datatype, name, null, null, constant);
+    }
+
+    private static ArrayDeclaration arrayDeclaration(Node arrDecl, boolean constant) {
+        // fam <arr_dim> <datatype> name <arr_assign> .
+        ArrayList<String> dimensions = new ArrayList<>();
+        for (Node arrDim = arrDecl.getChild(1); arrDim != null; arrDim = arrDim.getChild(1).getFirstChild()) {
+            dimensions.add(arrDim.getChild(0).getValue());
+        }
+
+        return new ArrayDeclaration(dimensions, datatype(arrDecl.getChild(2)), name(arrDecl.getChild(3)),
+                arrayValue(arrDecl.getChild(4)), constant);
+    }
+
+    private static Expression arrayValue(Node arrAssign) {
+        // = <arr_assign_val> | E, <arr_assign_val> ::= [ <arr_list> ] | <var_value>
+        if (arrAssign.isEpsilon()) return null;
+
+        Node arrAssignVal = arrAssign.getChild(1);
+        if (arrAssignVal.getChild(0).getKind() == NodeKind.LEFT_BRACKET) return arrayLiteral(arrAssignVal.getChild(1));
+        return varValue(arrAssignVal.getChild(0));
+    }
+
+    private static List<Statement> body(Node funcBody) {
+        // <expression> <func_body> | <end>, either of them can be missing after a syntax error
+        ArrayList<Statement> statements = new ArrayList<>();
+        for (Node node = funcBody; !node.isEpsilon(); node = node.getChild(1)) {
+            Node first = node.getChild(0);
+            if (first.getKind() == NodeKind.END) {
+                if (!first.isEpsilon()) statements.add(returnStatement(first.getChild(0)));
+                break;
+            }
+            if (!first.isEpsilon()) statements.add(statement(first));
+        }
+        return statements;
+    }
+
+    private static Statement statement(Node expression) {
+        Node first = expression.getChild(0);
+        return switch (first.getKind()) {
+            case CONDITIONAL -> conditional(first);
+            case WHILE_LOOP -> whileLoop(first.getChild(1).getChild(0));
+            case FOR_LOOP -> forLoop(first);
+            case SWITCH -> switchStatement(first);
+            case NAME -> nameStatement(name(first), expression.getChild(1));
+            case DATATYPE -> variableDeclaration(datatype(first), name(expression.getChild(1)), expression.getChild(2), false);
+            default -> arrayDeclaration(first, false);
+        };
+    }
+
+    private static Statement nameStatement(Name name, Node funcOrVar) {
+        // <func_call> | <arr_pos> <arr_assign> | <var_assign>
+        Node first = funcOrVar.getChild(0);
+        return switch (first.getKind()) {
+            case FUNC_CALL -> new CallStatement(new Call(name, arguments(first.getChild(1))));
+            case ARR_POS -> new ArrayAssignment(name, varValue(first.getChild(1)), arrayValue(funcOrVar.getChild(1)));
+            default -> {
+                // <assignation> ., <assignation> ::= = <var_op> | <equal_assign_op> <var_op>
+                Node assignation = first.getChild(0);
+                yield new Assignment(name, operator(assignation.getChild(0)), varOp(assignation.getChild(1)));
+            }
+        };
+    }
+
+    private static Conditional conditional(Node conditional) {
+        // <if_> <cond_else>, every <elif> ends with the <cond_else> that follows it
+        ArrayList<ConditionalBranch> branches = new ArrayList<>();
+        branches.add(branch(conditional.getChild(0)));
+
+        Node condElse = conditional.getChild(1);
+        while (!condElse.isEpsilon()) {
+            Node branch = condElse.getChild(1).getChild(0);
+            branches.add(branch(branch));
+            if (branch.getKind() == NodeKind.ELSE) break;
+            condElse = branch.getChild(7);
+        }
+        return new Conditional(branches, conditional.getPosition());
+    }
+
+    private static ConditionalBranch branch(Node branch) {
+        // like ¿ <boolean_cond> ? ¡ <func_body> ! | ¡ <func_body> !
+        if (branch.getKind() == NodeKind.ELSE)
+            return new ConditionalBranch(NodeKind.ELSE, null, block(branch, branch.getChild(1)));
+        return new ConditionalBranch(branch.getKind(), booleanCond(branch.getChild(2)), block(branch, branch.getChild(5)));
+    }
+
+    private static Statement whileLoop(Node loop) {
+        // check ¿ <boolean_cond> ? ¡ <func_body> ! | ¡ <func_body> ! then check ¿ <boolean_cond> ?
+        if (loop.getKind() == NodeKind.WHILE)
+            return new WhileLoop(booleanCond(loop.getChild(2)), block(loop, loop.getChild(5)), loop.getPosition());
+        return new DoWhileLoop(block(loop, loop.getChild(1)), booleanCond(loop.getChild(6)), loop.getPosition());
+    }
+
+    private static ForLoop forLoop(Node forLoop) {
+        // 4 ¿ <for_decl> <boolean_cond> . <for_iterator> ? ¡ <func_body> !
+        Node forDecl = forLoop.getChild(2);
+        Node forVarType = forDecl.getChild(0);
+        String datatype = forVarType.isEpsilon() ? null : datatype(forVarType.getChild(0));
+        VariableDeclaration init = variableDeclaration(datatype, name(forDecl.getChild(1)), forDecl.getChild(2), false);
+
+        // name <it_change>, <it_change> ::= ++ | -- | <equal_assign_op> <var_value>
+        Node forIterator = forLoop.getChild(5);
+        Node itChange = forIterator.getChild(1);
+        Expression step = itChange.getChildCount() == 2 ? varValue(itChange.getChild(1)) : null;
+
+        return new ForLoop(init, booleanCond(forLoop.getChild(3)), name(forIterator.getChild(0)),
+                operator(itChange.getChild(0)), step, block(forLoop, forLoop.getChild(8)));
+    }
+
+    private static Switch switchStatement(Node switch_) {
+        // swipe ¿ name ? ¡ <case_> <default_> !
+        ArrayList<SwitchCase> cases = new ArrayList<>();
+        for (Node case_ = switch_.getChild(5); case_ != null; case_ = case_.getChild(4).getFirstChild()) {
+            // right <literal> : <case_body> <nested_case>
+            Node caseBody = case_.getChild(3);
+            Block body = isEmptyCase(caseBody) ? null : block(case_, caseBody.getChild(0));
+            cases.add(new SwitchCase(literal(case_.getChild(1)), body, case_.getPosition()));
+        }
+
+        // left : <case_body> | E
+        Node default_ = switch_.getChild(6);
+        Block defaultBody = null;
+        if (!default_.isEpsilon()) {
+            Node caseBody = default_.getChild(2);
+            List<Statement> statements = caseBody.isEpsilon() ? new ArrayList<>() : body(caseBody.getChild(0));
+            defaultBody = new Block(default_.getId(), default_.getPosition(), statements);
+        }
+
+        return new Switch(name(switch_.getChild(2)), cases, defaultBody, switch_.getPosition());
+    }
+
+    // A case body without statements is either epsilon or a func_body that only holds an empty end
+    private static boolean isEmptyCase(Node caseBody) {
+        if (caseBody.isEpsilon()) return true;
+
+        Node first = caseBody.getChild(0).getFirstChild();
+        return first != null && first.getKind() == NodeKind.END && first.isEpsilon();
+    }
+
+    private static Return returnStatement(Node return_) {
+        // throwback <return_value> ., <return_value> ::= <neg> <var_value>
+        Node returnValue = return_.getChild(1);
+        return new Return(negated(returnValue.getChild(0), varValue(returnValue.getChild(1))), return_.getPosition());
+    }
+
+    private static Block block(Node owner, Node funcBody) {
+        return new Block(owner.getId(), owner.getPosition(), body(funcBody));
+    }
+
+    private static Expression varOp(Node varOp) {
+        // <neg> <var_op_val>
+        return negated(varOp.getChild(0), varOpVal(varOp.getChild(1)));
+    }
+
+    private static Expression varOpVal(Node varOpVal) {
+        // <var_value> <nested_op> | ( <var_op> ), nothing can follow the parenthesis
+        ArrayList<Expression> operands = new ArrayList<>();
+        ArrayList<NodeKind> operators = new ArrayList<>();
+        while (true) {
+            if (varOpVal.getChild(0).getKind() == NodeKind.LEFT_PAREN) {
+                operands.add(varOp(varOpVal.getChild(1)));
+                break;
+            }
+            operands.add(varValue(varOpVal.getChild(0)));
+
+            // <operator> <var_op_val> | E
+            Node nestedOp = varOpVal.getChild(1);
+            if (nestedOp.isEpsilon()) break;
+
+            Node operator = nestedOp.getChild(0).getChild(0);
+            if (operator.getKind() == NodeKind.HIGH_PRIORITY_OPERATOR) operator = operator.getChild(0);
+            operators.add(operator.getKind());
+            varOpVal = nestedOp.getChild(1);
+        }
+
+        // *, / and % bind first and group to the left. + and - group to the right, a - b - c is a - (b - c), which is
+        // how the code generator has always evaluated them
+        ArrayList<Expression> terms = new ArrayList<>();
+        ArrayList<NodeKind> additions = new ArrayList<>();
+        Expression term = operands.get(0);
+        for (int i = 0; i < operators.size(); i++) {
+            NodeKind operator = operators.get(i);
+            if (operator == NodeKind.PLUS || operator == NodeKind.MINUS) {
+                terms.add(term);
+                additions.add(operator);
+                term = operands.get(i + 1);
+            }
+            else term = new Binary(operator, term, operands.get(i + 1));
+        }
+
+        Expression result = term;
+        for (int i = terms.size() - 1; i >= 0; i--) {
+            result = new Binary(additions.get(i), terms.get(i), result);
+        }
+        return result;
+    }
+
+    private static Expression varValue(Node varValue) {
+        // <literal> | name <arr_or_func>
+        if (varValue.getChild(0).getKind() == NodeKind.LITERAL) return literal(varValue.getChild(0));
+
+        // <arr_pos> | ¿ <value_list> ? | E
+        Name name = name(varValue.getChild(0));
+        Node arrOrFunc = varValue.getChild(1);
+        if (arrOrFunc.isEpsilon()) return new Variable(name);
+        if (arrOrFunc.getChild(0).getKind() == NodeKind.ARR_POS)
+            return new ArrayAccess(name, varValue(arrOrFunc.getChild(0).getChild(1)));
+        return new Call(name, arguments(arrOrFunc.getChild(1)));
+    }
+
+    private static List<Expression> arguments(Node valueList) {
+        // <var_op> <var_list_more> | E, <var_list_more> ::= , <value_list> | E
+        ArrayList<Expression> arguments = new ArrayList<>();
+        Node node = valueList;
+        while (!node.isEpsilon()) {
+            arguments.add(varOp(node.getChild(0)));
+            Node varListMore = node.getChild(1);
+            if (varListMore.isEpsilon()) break;
+            node = varListMore.getChild(1);
+        }
+        return arguments;
+    }
+
+    private static ArrayLiteral arrayLiteral(Node arrList) {
+        // <arr_value> <arr_value_list>, <arr_value_list> ::= , <arr_list> | E
+        ArrayList<Expression> elements = new ArrayList<>();
+        long position = arrList.getPosition();
+        while (arrList != null) {
+            // <neg> <var_value> | [ <arr_list> ]
+            Node arrValue = arrList.getChild(0);
+            if (arrValue.getChild(0).getKind() == NodeKind.LEFT_BRACKET)
+                elements.add(arrayLiteral(arrValue.getChild(1)));
+            else
+                elements.add(negated(arrValue.getChild(0), varValue(arrValue.getChild(1))));
+
+            Node arrValueList = arrList.getChild(1);
+            arrList = arrValueList.isEpsilon() ? null : arrValueList.getChild(1);
+        }
+        return new ArrayLiteral(elements, position);
+    }
+
+    private static Expression booleanCond(Node booleanCond) {
+        // <neg> <condition> <nest_cond>, the # negates the condition together with the ones nested after it
+        Expression condition = condition(booleanCond.getChild(1));
+
+        // & <boolean_cond> | | <boolean_cond> | E
+        Node nestCond = booleanCond.getChild(2);
+        if (!nestCond.isEpsilon())
+            condition = new Binary(nestCond.getChild(0).getKind(), condition, booleanCond(nestCond.getChild(1)));
+        return negated(booleanCond.getChild(0), condition);
+    }
+
+    private static Expression condition(Node condition) {
+        // name <comparison> | <comparable_literal> <comparison> | ( <condition> )
+        Node first = condition.getChild(0);
+        if (first.getKind() == NodeKind.LEFT_PAREN) return condition(condition.getChild(1));
+
+        Expression operand = first.getKind() == NodeKind.NAME ? new Variable(name(first)) : terminal(first.getChild(0));
+
+        // <comparison_op> <var_op> | E
+        Node comparison = condition.getChild(1);
+        if (comparison.isEpsilon()) return operand;
+        return new Binary(comparison.getChild(0).getChild(0).getKind(), operand, varOp(comparison.getChild(1)));
+    }
+
+    private static Literal literal(Node literal) {
+        // <comparable_literal> | <non_comparable_literal>
+        return terminal(literal.getChild(0).getChild(0));
+    }
+
+    private static Literal terminal(Node terminal) {
+        return new Literal(terminal.getKind(), terminal.getValue(), terminal.getPosition());
+    }
+
+    private static Expression negated(Node neg, Expression expression) {
+        // # | E
+        return neg.isEpsilon() ? expression : new Negation(expression, neg.getPosition());
+    }
+
+    // = is ASSIGN and the equal assign operators are their own terminal kind
+    private static NodeKind operator(Node operator) {
+        if (operator.getKind() == NodeKind.EQUAL_ASSIGN_OP) return operator.getChild(0).getKind();
+        return operator.getKind();
+    }
+
+    private static String datatype(Node datatype) {
+        // bro | sis | bipolar | mainchar
+        return datatype.getChild(0).getValue();
+    }
+
+    private static Name name(Node name) {
+        return new Name(name.getValue(), name.getId(), name.getPosition());
+    }
+}
@@ -0,0 +1,208 @@
+package stages.frontend;
+
+import entities.TacEntry;
+import entities.ast.Program;
+import entities.ast.Statement;
+import errors.Error;
+import errors.ErrorListener;
+import stages.backend.IntermediateCodeGenerator;
+import stages.backend.TargetCodeGenerator;
+import symbols.SymbolsTable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Analyses each global declaration and generates its code while the parser goes on with the rest of the file. The
+// analysis and the code generation are two workers, each one taking the declarations one at a time in source order:
+// the register and label numbers, the symbol flags and the registers of the target code are carried from one
+// declaration to the next, so the assembly comes out in the same order and with the same names as in a sequential
+// compilation. A declaration is analysed with the globals parsed before it, if a later one is named like anything it
+// looked up the results are dropped and the caller starts again
+public class FunctionPipeline {
+
+    // As big as the one of the thread the compiler runs on, a declaration nests as deep here as it would there
+    private static final long STACK_BYTES = 64L * 1024 * 1024;
+
+    private final ExecutorService analysisWorker;
+    private final ExecutorService codeWorker;
+    private final SemanticAnalyser semanticAnalyser;
+    private final IntermediateCodeGenerator intermediateCodeGenerator;
+    private final TargetCodeGenerator targetCodeGenerator;
+    // Only touched by the analysis worker until it is done
+    private final ArrayList<Error> errors;
+    private final ArrayList<Future<?>> generated;
+    private final ArrayList<Statement> globals;
+    private final ArrayList<List<String>> declaredNames;
+    private final ArrayList<Future<Set<String>>> lookedUpNames;
+    private List<String> mainNames;
+    // Only touched by the code generation worker until it is done
+    private long tacEntries;
+    // Either one makes the workers stop before the next declaration, only a failure is thrown by await
+    private volatile boolean cancelled;
+    private volatile boolean failed;
+
+    public FunctionPipeline(SymbolsTable symbolsTable) {
+        analysisWorker = newWorker("function-pipeline-analysis");
+        codeWorker = newWorker("function-pipeline-code");
+        errors = new ArrayList<>();
+        generated = new ArrayList<>();
+        semanticAnalyser = new SemanticAnalyser(symbolsTable, errors::add);
+        intermediateCodeGenerator = new IntermediateCodeGenerator(symbolsTable);
+        targetCodeGenerator = new TargetCodeGenerator();
+
+        globals = new ArrayList<>();
+        declaredNames = new ArrayList<>();
+        lookedUpNames = new ArrayList<>();
+    }
+
+    private static ExecutorService newWorker(String name) {
+        return Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(null, task, name, STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // globalNames are the names of the rows the declaration added to the program scope
+    public void submit(Statement declaration, List<String> globalNames) {
+        if (cancelled || failed) return;
+
+        globals.add(declaration);
+        declaredNames.add(globalNames);
+        lookedUpNames.add(analysisWorker.submit(() -> analyse(declaration)));
+    }
+
+    private Set<String> analyse(Statement declaration) {
+        if (cancelled || failed) return null;
+
+        try {
+            Set<String> names = semanticAnalyser.analyseGlobal(declaration);
+            // Like in a sequential compilation there is no code for a program with errors
+            if (errors.isEmpty()) generated.add(codeWorker.submit(() -> generate(declaration)));
+            return names;
+        }
+        catch (RuntimeException | java.lang.Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    private void generate(Statement declaration) {
+        if (cancelled || failed) return;
+
+        try {
+            List<TacEntry> tac = intermediateCodeGenerator.generateGlobal(declaration);
+            tacEntries += tac.size();
+            targetCodeGenerator.process(tac);
+        }
+        catch (RuntimeException | java.lang.Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    // Nothing the workers did is used after this, they stop before the next declaration
+    public void cancel() {
+        cancelled = true;
+        analysisWorker.shutdown();
+        codeWorker.shutdown();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // The names CEO declares in the program scope, once every global is submitted
+    public void setMainNames(List<String> mainNames) {
+        this.mainNames = mainNames;
+    }
+
+    // Waits for the workers. False if the pipeline was cancelled or a declaration was analysed without a global it should
+    // have seen, then the registers of the target code are left as the workers set them and nothing was reported. What a
+    // worker threw is thrown here
+    public boolean await() {
+        ArrayList<Set<String>> names = new ArrayList<>();
+        try {
+            // The analysis is the only one handing work to the code generation, so it is the first to be done
+            analysisWorker.shutdown();
+            for (Future<Set<String>> lookedUp : lookedUpNames) {
+                names.add(lookedUp.get());
+            }
+            codeWorker.shutdown();
+            for (Future<?> code : generated) {
+                code.get();
+            }
+        }
+        catch (ExecutionException e) {
+            // Cancelling can make the analysis fail to hand a declaration to the code generation, that is expected
+            boolean wasCancelled = cancelled;
+            cancel();
+            awaitTermination();
+            if (wasCancelled) return false;
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof java.lang.Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return false;
+        }
+        if (cancelled) return false;
+
+        // CEO comes after every global
+        Set<String> declaredLater = new HashSet<>(mainNames);
+        for (int i = globals.size() - 1; i >= 0; i--) {
+            for (String name : names.get(i)) {
+                if (declaredLater.contains(name)) return false;
+            }
+            declaredLater.addAll(declaredNames.get(i));
+        }
+        return true;
+    }
+
+    private void awaitTermination() {
+        try {
+            analysisWorker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            codeWorker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public List<Statement> getGlobals() {
+        return globals;
+    }
+
+    // The errors the worker found are reported in source order before the ones of CEO
+    public void analyseMain(Program program, ErrorListener errorHandler) {
+        semanticAnalyser.analyseMain(program.getMain(), program.getMainBody());
+
+        for (Error error : errors) {
+            errorHandler.report(error);
+        }
+    }
+
+    // The code of CEO, the one of the globals went to the target code as it was generated
+    public List<TacEntry> generateMain(Program program) {
+        return intermediateCodeGenerator.generateMain(program.getMainBody());
+    }
+
+    // How many entries the globals took, after await
+    public long getTacEntries() {
+        return tacEntries;
+    }
+
+    public String generateTarget(List<TacEntry> mainTac) {
+        targetCodeGenerator.process(mainTac);
+        return targetCodeGenerator.finish();
+    }
+}
@@ -0,0 +1,172 @@
+package stages.frontend;
+
+import entities.SourcePosition;
+import entities.Token;
+import entities.TokenKind;
+import exceptions.NoTokenLeftException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class IncrementalLexer {
+
+    // Tokens [start, oldEnd) of the previous array were replaced by tokens [start, newEnd) of the current one
+    public static class Change {
+
+        private final int start;
+        private final int oldEnd;
+        private final int newEnd;
+
+        public Change(int start, int oldEnd, int newEnd) {
+            this.start = start;
+            this.oldEnd = oldEnd;
+            this.newEnd = newEnd;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getOldEnd() {
+            return oldEnd;
+        }
+
+        public int getNewEnd() {
+            return newEnd;
+        }
+    }
+
+    private String srcCode;
+    private Token[] tokens;
+
+    public IncrementalLexer(CharSequence srcCode) {
+        this.srcCode = srcCode.toString();
+        this.tokens = lexAll(new LexicalAnalyser(this.srcCode));
+    }
+
+    public String getSource() {
+        return srcCode;
+    }
+
+    public Token[] getTokens() {
+        return tokens;
+    }
+
+    // Replaces removedLength characters at offset with insertedText, relexing only what the edit can reach
+    public Change edit(int offset, int removedLength, CharSequence insertedText) {
+
+        String newCode = srcCode.substring(0, offset) + insertedText + srcCode.substring(offset + removedLength);
+        int shift = insertedText.length() - removedLength;
+        int restart = findRestart(newCode, offset, insertedText.length());
+
+        LexicalAnalyser lexer = restart == 0
+                ? new LexicalAnalyser(newCode)
+                : new LexicalAnalyser(newCode, tokens[restart - 1]);
+
+        // Relex until a new token ends where an old token past the edit ended, from there on both streams agree
+        ArrayList<Token> relexed = new ArrayList<>();
+        int old = restart;
+        int resync = tokens.length;
+
+        while (resync == tokens.length) {
+            Token token;
+            try {
+                token = lexer.scanToken();
+            }
+            catch (NoTokenLeftException e) {
+                break;
+            }
+            relexed.add(token);
+
+            while (old < tokens.length && tokens[old].getEnd() + shift < token.getEnd()) old++;
+
+            if (old < tokens.length && isSamePoint(tokens[old], token, shift, offset + removedLength)) {
+                resync = old + 1;
+            }
+        }
+
+        Token[] newTokens = Arrays.copyOf(tokens, restart + relexed.size() + tokens.length - resync);
+        for (int i = 0; i < relexed.size(); i++) {
+            newTokens[restart + i] = relexed.get(i);
+        }
+
+        if (resync < tokens.length) {
+            int lineShift = countLines(insertedText) - countLines(srcCode.substring(offset, offset + removedLength));
+
+            for (int i = resync; i < tokens.length; i++) {
+                Token token = tokens[i];
+                newTokens[restart + relexed.size() + i - resync] = new Token(token.getKind(), newCode, token.getLength(),
+                        SourcePosition.pack(token.getLine() + lineShift, token.getStart() + shift));
+            }
+        }
+
+        Change change = new Change(restart, resync, restart + relexed.size());
+        srcCode = newCode;
+        tokens = newTokens;
+        return change;
+    }
+
+    // First token whose lexing may read the edited text, moved back to a point where the lexer holds no state
+    private int findRestart(String newCode, int offset, int insertedLength) {
+
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].getEnd() < offset) low = mid + 1;
+            else high = mid;
+        }
+        int restart = low;
+
+        // A new >> can close a << that so far was lexed as operators
+        int windowStart = Math.max(0, offset - 1);
+        int windowEnd = Math.min(newCode.length(), offset + insertedLength + 1);
+        if (newCode.substring(windowStart, windowEnd).contains(">>")) {
+            for (int i = 0; i < restart; i++) {
+                if (isUnclosedComment(tokens[i])) {
+                    restart = i;
+                    break;
+                }
+            }
+        }
+
+        while (restart > 0 && TokenKind.readsAhead(tokens[restart - 1].getKind())) {
+            restart--;
+        }
+        return restart;
+    }
+
+    private boolean isUnclosedComment(Token token) {
+        return token.getKind() == TokenKind.LESS && token.getEnd() < srcCode.length()
+                && srcCode.charAt(token.getEnd()) == '<';
+    }
+
+    // The lexer is in the same state after both tokens, so everything lexed after the old one is still valid
+    private boolean isSamePoint(Token oldToken, Token newToken, int shift, int editEnd) {
+        return oldToken.getEnd() >= editEnd
+                && oldToken.getEnd() + shift == newToken.getEnd()
+                && oldToken.getKind() == newToken.getKind()
+                && oldToken.getLength() == newToken.getLength()
+                && !TokenKind.readsAhead(newToken.getKind());
+    }
+
+    private static int countLines(CharSequence text) {
+        int lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
+    private static Token[] lexAll(LexicalAnalyser lexer) {
+        ArrayList<Token> tokens = new ArrayList<>();
+        try {
+            while (true) {
+                tokens.add(lexer.scanToken());
+            }
+        }
+        catch (NoTokenLeftException e) {
+            return tokens.toArray(new Token[0]);
+        }
+    }
+}
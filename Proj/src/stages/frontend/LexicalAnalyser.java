@@ -1,76 +1,96 @@
 package stages.frontend;
 
 import entities.Dictionary;
+import entities.SourcePosition;
 import entities.Token;
-import entities.SourceLocation;
+import entities.TokenKind;
 import exceptions.NoTokenLeftException;
 import errors.types.UnknownTokenError;
+import helpers.TokenAutomaton;
 import helpers.ZStringTokenizer;
 
 import java.util.NoSuchElementException;
 
-public class LexicalAnalyser {
+public class LexicalAnalyser implements TokenSource {
 
-    private static final String DELIMITERS = " ¡!¿?()%.,[]:&|\"'\n";
+    private static final String DELIMITERS = " \t\r¡!¿?()%.,[]:&|\"'\n";
     private static final String SPECIAL_DELIMITERS = "+-*/<>#=";
+    private final CharSequence srcCode;
     private final ZStringTokenizer tokenizer;
-    private final Dictionary dictionary;
-    private SourceLocation currLocation;
+    private int line;
+    private int lineCountedTo;
 
-    public LexicalAnalyser(String srcCode) {
-        this.dictionary = new Dictionary();
-        this.tokenizer = new ZStringTokenizer(srcCode, DELIMITERS, SPECIAL_DELIMITERS);
-        currLocation = new SourceLocation();
+    public LexicalAnalyser(CharSequence srcCode) {
+        this(srcCode, 0, 0, 0);
     }
 
-    public Token nextToken() throws NoTokenLeftException, UnknownTokenError {
-        try {
-            String tokenValue = tokenizer.nextToken();
+    // Resumes lexing right after the given token, which must not be one that reads ahead
+    LexicalAnalyser(CharSequence srcCode, Token previous) {
+        this(srcCode, previous.getEnd(), previous.getStart(), previous.getLine());
+    }
 
-            currLocation.updateLine(tokenizer.getLineDiff());
-            currLocation.updateColumn(tokenizer.getColumnDiff());
+    // Tokenizes from offset on, counting lines from lineCountedTo, which lies on the given line
+    LexicalAnalyser(CharSequence srcCode, int offset, int lineCountedTo, int line) {
+        this.srcCode = srcCode;
+        this.tokenizer = new ZStringTokenizer(srcCode, DELIMITERS, SPECIAL_DELIMITERS, offset);
+        this.line = line;
+        this.lineCountedTo = lineCountedTo;
+    }
 
-            String tokenType = analyseToken(tokenValue);
+    public Token nextToken() throws NoTokenLeftException, UnknownTokenError {
+        Token token = scanToken();
 
-            return new Token(tokenValue, tokenType);
+        if (token.getKind() == TokenKind.UNKNOWN) {
+            throw new UnknownTokenError(token.getValue(), token.getPosition());
+        }
+        return token;
+    }
+
+    // Same as nextToken, but text that matches no token comes back as an UNKNOWN token instead of an error
+    @Override
+    public Token scanToken() throws NoTokenLeftException {
+        try {
+            tokenizer.nextToken();
         }
         catch (NoSuchElementException e) {
             throw new NoTokenLeftException();
         }
+
+        int start = tokenizer.getTokenStart();
+        int end = tokenizer.getTokenEnd();
+        int kind;
+
+        if (tokenizer.isCompound()) {
+            kind = Dictionary.findCompound(srcCode.charAt(start), srcCode.charAt(end - 1));
+        }
+        else {
+            kind = analyseToken(start, end);
+        }
+
+        return new Token(kind, srcCode, end - start, SourcePosition.pack(lineOf(start), start));
     }
 
-    public SourceLocation getLocation() {
-        return currLocation;
+    @Override
+    public Token endOfInput() {
+        return new Token(TokenKind.EOF, srcCode, 0, SourcePosition.pack(lineOf(srcCode.length()), srcCode.length()));
     }
 
-    public String getType(String tokenDescriptor) {
-        Token.TokenType tokenType;
-        if ((tokenType = dictionary.find(tokenDescriptor)) != null) {
-            return String.valueOf(tokenType);
+    // Tokens come in source order, so every character is looked at once to find the lines they start on
+    private int lineOf(int offset) {
+        for (; lineCountedTo < offset; lineCountedTo++) {
+            if (srcCode.charAt(lineCountedTo) == '\n') line++;
         }
-        return tokenDescriptor;
+        return line;
     }
 
-    private String analyseToken(String tokenValue) throws UnknownTokenError {
-        Token.TokenType tokenType;
-        if ((tokenType = dictionary.find(tokenValue)) != null) {
-            return String.valueOf(tokenType);
-        }
-        else if (tokenValue.matches("^-?[0-9]+$")) {
-            return String.valueOf(Token.TokenType.NUM_LIT);
-        }
-        else if (tokenValue.matches("^\"[\\s\\S]*\"$")) {
-            return String.valueOf(Token.TokenType.STR_LIT);
-        }
-        else if (tokenValue.matches("^[+-]?([0-9]*[´])?[0-9]+$")) {
-            return String.valueOf(Token.TokenType.DEC_LIT);
-        }
-        else if (tokenValue.matches("^'[\\s\\S]?'$")) {
-            return String.valueOf(Token.TokenType.CHAR_LIT);
+    private int analyseToken(int start, int end) {
+        int kind;
+        if ((kind = Dictionary.find(srcCode, start, end)) != TokenKind.NONE) {
+            return kind;
         }
-        else if (tokenValue.matches("^[a-zA-Z]+[a-zA-Z0-9_]*$")) {
-            return String.valueOf(Token.TokenType.NAME);
+        else if ((kind = TokenAutomaton.classify(srcCode, start, end)) != TokenKind.NONE) {
+            return kind;
         }
-        throw new UnknownTokenError(tokenValue, currLocation);
+        return TokenKind.UNKNOWN;
     }
 }
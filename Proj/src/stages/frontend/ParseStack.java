@@ -0,0 +1,48 @@
+package stages.frontend;
+
+import java.util.Arrays;
+
+// Grammar symbols the parser still has to read, each with the parse tree node it goes under. It lives on the heap, so
+// how deep the source nests is only limited by memory and not by the Java stack
+public class ParseStack {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] symbols;
+    private int[] parents;
+    private int size;
+
+    public ParseStack() {
+        symbols = new int[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    public void push(int symbol, int parent) {
+        if (size == symbols.length) {
+            symbols = Arrays.copyOf(symbols, size * 2);
+            parents = Arrays.copyOf(parents, size * 2);
+        }
+
+        symbols[size] = symbol;
+        parents[size] = parent;
+        size++;
+    }
+
+    // Removes the top entry, its symbol and parent have to be read before
+    public void pop() {
+        size--;
+    }
+
+    public int peekSymbol() {
+        return symbols[size - 1];
+    }
+
+    public int peekParent() {
+        return parents[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
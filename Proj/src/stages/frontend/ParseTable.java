@@ -0,0 +1,360 @@
+package stages.frontend;
+
+// Generated by helpers.ParserGenerator from stages/frontend/zzz.grammar, change the grammar instead
+// The productions of each non-terminal, the one each token predicts, the tokens that predict the non-terminal and
+// the ones that can follow it
+public final class ParseTable {
+
+    private static final int WORDS = 1;
+    private static final int NESTED = 0x10000;
+    private static final int TOKEN_KINDS = 63;
+
+    // SHA-256 of the grammar and the token kinds the tables were generated from
+    public static final String GRAMMAR_DIGEST = "8ce32a12bf2250c80358910419c4dca9796c27950f1b2bd124445da3cb566fb4";
+
+    private static final long[] PREDICTS = {
+            0x0000000000007F80L, // start
+            0x0000000000007F80L, // globals
+            0x0000000000005F80L, // globals_decl
+            0x0000000000005F00L, // declaration
+            0x0203E00004000000L, // func_or_var_decl
+            0x0000000000005F80L, // constant
+            0x0003E00004000000L, // var_decl_assign
+            0x000804000200007FL, // var_op
+            0x000800000200007FL, // var_op_val
+            0x04160300F8000000L, // nested_op
+            0x00000000F8000000L, // operator
+            0x00000000E0000000L, // high_priority_operator
+            0x0000000000000100L, // arr_decl
+            0x0000000002000002L, // arr_dim
+            0x0000000002001E02L, // arr_arr
+            0x0102000007E99F01L, // arr_assign
+            0x002000000200007FL, // arr_assign_val
+            0x002004000200007FL, // arr_list
+            0x002004000200007FL, // arr_value
+            0x0044000000000000L, // arr_value_list
+            0x000000000200007FL, // var_value
+            0x07760300FBE99F01L, // arr_or_func
+            0x0020000000000000L, // arr_pos
+            0x000804000200007FL, // neg
+            0x0000000000001E00L, // datatype
+            0x000000000200007EL, // literal
+            0x0000000000000024L, // non_comparable_literal
+            0x000000000200005AL, // comparable_literal
+            0x0000000000002000L, // main_
+            0x0200000000000000L, // func_decl
+            0x0082000000000000L, // func_impl
+            0x0400000000001E00L, // func_param
+            0x0000000000001E00L, // param_decl
+            0x0404000000000000L, // param_list
+            0x0100000003E99F01L, // func_body
+            0x0000000002291F01L, // expression
+            0x0221E00004000000L, // func_or_var
+            0x0100000001C08000L, // end
+            0x0000000000008000L, // return_
+            0x000004000200007FL, // return_value
+            0x0200000000000000L, // func_call
+            0x040804000200007FL, // value_list
+            0x0404000000000000L, // var_list_more
+            0x0001E00004000000L, // var_assign
+            0x0001E00004000000L, // assignation
+            0x0001E00000000000L, // equal_assign_op
+            0x0000000000010000L, // while_loop
+            0x0080000000020000L, // while_opt
+            0x0000000000020000L, // while_
+            0x0080000000000000L, // do_while
+            0x0000000000080000L, // conditional
+            0x0000000000080000L, // if_
+            0x0100000003F99F01L, // cond_else
+            0x0080000000080000L, // else_opt
+            0x0000000000080000L, // elif
+            0x0080000000000000L, // else_
+            0x000804000200005BL, // boolean_cond
+            0x000800000200005BL, // condition
+            0x0402030000000000L, // nest_cond
+            0x041203FC00000000L, // comparison
+            0x000000FC00000000L, // comparison_op
+            0x0000000000200000L, // switch_
+            0x0000000000400000L, // case_
+            0x0100000000C00000L, // nested_case
+            0x0100000000800000L, // default_
+            0x0100000003E99F01L, // case_body
+            0x0100000001C00000L, // break_
+            0x0000000002000000L, // for_loop
+            0x0000000000001E01L, // for_decl
+            0x0000000000001E01L, // for_var_type
+            0x0000000000000001L, // for_iterator
+            0x0001F80000000000L, // it_change
+    };
+
+    private static final long[] FOLLOWS = {
+            0x4000000000000000L, // start
+            0x0000000000002000L, // globals
+            0x0000000000007F80L, // globals_decl
+            0x0000000000007F80L, // declaration
+            0x0000000000007F80L, // func_or_var_decl
+            0x0000000000005F00L, // constant
+            0x0108040003E9FFDBL, // var_decl_assign
+            0x0416030000000000L, // var_op
+            0x0416030000000000L, // var_op_val
+            0x0416030000000000L, // nested_op
+            0x000800000200007FL, // operator
+            0x000800000200007FL, // high_priority_operator
+            0x0100000003E9FF81L, // arr_decl
+            0x0000000000001E00L, // arr_dim
+            0x0000000000001E00L, // arr_arr
+            0x0102000003E99F01L, // arr_assign
+            0x0102000003E99F01L, // arr_assign_val
+            0x0040000000000000L, // arr_list
+            0x0044000000000000L, // arr_value
+            0x0040000000000000L, // arr_value_list
+            0x05560300FBE99F01L, // var_value
+            0x05560300FBE99F01L, // arr_or_func
+            0x05560300FFE99F01L, // arr_pos
+            0x000800000200007FL, // neg
+            0x0000000000000001L, // datatype
+            0x0D560300FBE99F01L, // literal
+            0x0D560300FBE99F01L, // non_comparable_literal
+            0x0D5603FCFBE99F01L, // comparable_literal
+            0x4000000000000000L, // main_
+            0x0000000000007F80L, // func_decl
+            0x0000000000007F80L, // func_impl
+            0x0400000000000000L, // func_param
+            0x0400000000000000L, // param_decl
+            0x0400000000000000L, // param_list
+            0x0100000001C00000L, // func_body
+            0x0100000003E99F01L, // expression
+            0x0100000003E99F01L, // func_or_var
+            0x0100000001C00000L, // end
+            0x0100000001C00000L, // return_
+            0x0002000000000000L, // return_value
+            0x0100000003E99F01L, // func_call
+            0x0400000000000000L, // value_list
+            0x0400000000000000L, // var_list_more
+            0x0100000003E99F01L, // var_assign
+            0x0002000000000000L, // assignation
+            0x000804000200007FL, // equal_assign_op
+            0x0100000003E99F01L, // while_loop
+            0x0100000003E99F01L, // while_opt
+            0x0100000003E99F01L, // while_
+            0x0100000003E99F01L, // do_while
+            0x0100000003E99F01L, // conditional
+            0x0100000003F99F01L, // if_
+            0x0100000003E99F01L, // cond_else
+            0x0100000003E99F01L, // else_opt
+            0x0100000003E99F01L, // elif
+            0x0100000003E99F01L, // else_
+            0x0402000000000000L, // boolean_cond
+            0x0412030000000000L, // condition
+            0x0402000000000000L, // nest_cond
+            0x0412030000000000L, // comparison
+            0x000804000200007FL, // comparison_op
+            0x0100000003E99F01L, // switch_
+            0x0100000000800000L, // case_
+            0x0100000000800000L, // nested_case
+            0x0100000000000000L, // default_
+            0x0100000000C00000L, // case_body
+            0x0100000000C00000L, // break_
+            0x0100000003E99F01L, // for_loop
+            0x000804000200005BL, // for_decl
+            0x0000000000000001L, // for_var_type
+            0x0400000000000000L, // for_iterator
+            0x0400000000000000L, // it_change
+    };
+
+    // Terminals are their token kind and non-terminals are ~nonTerminal, an empty production is epsilon
+    private static final int[][][] PRODUCTIONS = {
+            { { -2, -29 } }, // start
+            { { -3, -2 }, {} }, // globals
+            { { -6, -4 } }, // globals_decl
+            { { -13 }, { 14, 0, -30 }, { -25, 0, -5 } }, // declaration
+            { { -7 }, { -30 } }, // func_or_var_decl
+            { { 7 }, {} }, // constant
+            { { 26, -8, 49 }, { -46, -8, 49 }, { 49 } }, // var_decl_assign
+            { { -24, -9 } }, // var_op
+            { { -21, -10 }, { 51, -65544, 52 } }, // var_op_val
+            { { -11, -9 }, {} }, // nested_op
+            { { 27 }, { 28 }, { -12 } }, // operator
+            { { 29 }, { 30 }, { 31 } }, // high_priority_operator
+            { { 8, -14, -25, 0, -16, 49 } }, // arr_decl
+            { { 1, -15 } }, // arr_dim
+            { { -14 }, {} }, // arr_arr
+            { { 26, -17 }, {} }, // arr_assign
+            { { 53, -18, 54 }, { -21 } }, // arr_assign_val
+            { { -19, -20 } }, // arr_list
+            { { -24, -21 }, { 53, -65554, 54 } }, // arr_value
+            { { 50, -18 }, {} }, // arr_value_list
+            { { -26 }, { 0, -22 } }, // var_value
+            { { -23 }, { 57, -42, 58 }, {} }, // arr_or_func
+            { { 53, -21, 54 } }, // arr_pos
+            { { 42 }, {} }, // neg
+            { { 9 }, { 10 }, { 11 }, { 12 } }, // datatype
+            { { -28 }, { -27 } }, // literal
+            { { 2 }, { 5 } }, // non_comparable_literal
+            { { 1 }, { 3 }, { 6 }, { 4 } }, // comparable_literal
+            { { 13, 55, -35, 56 } }, // main_
+            { { 57, -32, 58, -31 } }, // func_decl
+            { { 55, -35, 56 }, { 49 } }, // func_impl
+            { { -33 }, {} }, // func_param
+            { { -25, 0, -34 } }, // param_decl
+            { { 50, -33 }, {} }, // param_list
+            { { -36, -35 }, { -38 }, {} }, // func_body
+            { { -51 }, { -47 }, { -68 }, { -62 }, { 0, -37 }, { -25, 0, -7 }, { -13 }, {} }, // expression
+            { { -41 }, { -23, -16 }, { -44 } }, // func_or_var
+            { { -39 }, {} }, // end
+            { { 15, -40, 49 } }, // return_
+            { { -24, -21 } }, // return_value
+            { { 57, -42, 58, 49 } }, // func_call
+            { { -8, -43 }, {} }, // value_list
+            { { 50, -42 }, {} }, // var_list_more
+            { { -45, 49 } }, // var_assign
+            { { 26, -8 }, { -46, -8 } }, // assignation
+            { { 45 }, { 46 }, { 47 }, { 48 } }, // equal_assign_op
+            { { 16, -48 } }, // while_loop
+            { { -49 }, { -50 } }, // while_opt
+            { { 17, 57, -57, 58, 55, -35, 56 } }, // while_
+            { { 55, -35, 56, 18, 17, 57, -57, 58 } }, // do_while
+            { { -52, -53 } }, // conditional
+            { { 19, 57, -57, 58, 55, -35, 56 } }, // if_
+            { { 20, -54 }, {} }, // cond_else
+            { { -55 }, { -56 } }, // else_opt
+            { { 19, 57, -57, 58, 55, -35, 56, -53 } }, // elif
+            { { 55, -35, 56 } }, // else_
+            { { -24, -58, -59 } }, // boolean_cond
+            { { 0, -60 }, { -28, -60 }, { 51, -65594, 52 } }, // condition
+            { { 40, -57 }, { 41, -57 }, {} }, // nest_cond
+            { { -61, -8 }, {} }, // comparison
+            { { 34 }, { 35 }, { 36 }, { 37 }, { 38 }, { 39 } }, // comparison_op
+            { { 21, 57, 0, 58, 55, -63, -65, 56 } }, // switch_
+            { { 22, -26, 59, -66, -64 } }, // case_
+            { { -63 }, {} }, // nested_case
+            { { 23, 59, -66 }, {} }, // default_
+            { { -35, -67 }, {} }, // case_body
+            { { 24, 49 }, {} }, // break_
+            { { 25, 57, -69, -57, 49, -71, 58, 55, -35, 56 } }, // for_loop
+            { { -70, 0, -7 } }, // for_decl
+            { { -25 }, {} }, // for_var_type
+            { { 0, -72 } }, // for_iterator
+            { { 43 }, { 44 }, { -46, -21 } }, // it_change
+    };
+
+    // The production each token kind predicts, by its index in PRODUCTIONS
+    private static final byte[][] PREDICTIONS = {
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // start
+            { 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // globals
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // globals_decl
+            { 2, 2, 2, 2, 2, 2, 2, 2, 0, 2, 2, 2, 2, 2, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // declaration
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // func_or_var_decl
+            { 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // constant
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // var_decl_assign
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // var_op
+            { 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // var_op_val
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // nested_op
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // operator
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // high_priority_operator
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // arr_decl
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // arr_dim
+            { 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // arr_arr
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // arr_assign
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // arr_assign_val
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // arr_list
+            { 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // arr_value
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // arr_value_list
+            { 1, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // var_value
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 2, 2, 2, 1, 2, 2, 2, 2, 2 }, // arr_or_func
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // arr_pos
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // neg
+            { 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 1, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 }, // datatype
+            { 1, 0, 1, 0, 0, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // literal
+            { 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // non_comparable_literal
+            { 3, 0, 3, 1, 3, 3, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 }, // comparable_literal
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // main_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // func_decl
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1 }, // func_impl
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // func_param
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // param_decl
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // param_list
+            { 0, 2, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 2, 2, 1, 0, 2, 2, 0, 2, 0, 1, 1, 1, 0, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 2, 2, 2, 2, 2, 2 }, // func_body
+            { 4, 7, 7, 7, 7, 7, 7, 7, 6, 5, 5, 5, 5, 7, 7, 7, 1, 7, 7, 0, 7, 3, 7, 7, 7, 2, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7 }, // expression
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 2, 2, 2, 0, 2, 2, 2, 2, 2 }, // func_or_var
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // end
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // return_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // return_value
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // func_call
+            { 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // value_list
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // var_list_more
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // var_assign
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // assignation
+            { 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 1, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 }, // equal_assign_op
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // while_loop
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // while_opt
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // while_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // do_while
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // conditional
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // if_
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // cond_else
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // else_opt
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // elif
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // else_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // boolean_cond
+            { 0, 1, 2, 1, 1, 2, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // condition
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // nest_cond
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // comparison
+            { 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 0, 1, 2, 3, 4, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5 }, // comparison_op
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // switch_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // case_
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // nested_case
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // default_
+            { 0, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1 }, // case_body
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // break_
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // for_loop
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // for_decl
+            { 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 }, // for_var_type
+            { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, // for_iterator
+            { 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 0, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2 }, // it_change
+    };
+
+    // The productions themselves by token kind, so the parser picks one with a single lookup
+    private static final int[][][] PREDICTED = new int[PRODUCTIONS.length][TOKEN_KINDS][];
+
+    static {
+        for (int nonTerminal = 0; nonTerminal < PRODUCTIONS.length; nonTerminal++) {
+            for (int kind = 0; kind < TOKEN_KINDS; kind++) {
+                PREDICTED[nonTerminal][kind] = PRODUCTIONS[nonTerminal][PREDICTIONS[nonTerminal][kind]];
+            }
+        }
+    }
+
+    private ParseTable() {
+    }
+
+    // Whether a token of the given kind starts nonTerminal, or comes right after it when nonTerminal can be empty
+    public static boolean predicts(int nonTerminal, int kind) {
+        return (PREDICTS[nonTerminal * WORDS + (kind >>> 6)] >>> kind & 1) != 0;
+    }
+
+    // Whether a token of the given kind can come right after nonTerminal, the parser resumes on those after an error
+    public static boolean follows(int nonTerminal, int kind) {
+        return (FOLLOWS[nonTerminal * WORDS + (kind >>> 6)] >>> kind & 1) != 0;
+    }
+
+    // The symbols of the production a token of the given kind predicts, shared with the table so they must not be
+    // changed. Tokens that predict no production get the last one, the fallback if there is one
+    public static int[] production(int nonTerminal, int kind) {
+        return PREDICTED[nonTerminal][kind];
+    }
+
+    public static boolean isTerminal(int symbol) {
+        return symbol >= 0;
+    }
+
+    public static int nonTerminalOf(int symbol) {
+        return ~symbol & ~NESTED;
+    }
+
+    // The non-terminal can start with the one that holds it, so it is left empty if the terminal before it was
+    // inserted by the error recovery, or the parser would keep inserting it
+    public static boolean isNested(int symbol) {
+        return (~symbol & NESTED) != 0;
+    }
+}
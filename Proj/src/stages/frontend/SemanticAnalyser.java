@@ -1,628 +1,718 @@
 package stages.frontend;
 
 import entities.*;
-import errors.ErrorHandler;
+import entities.ast.*;
+import errors.Error;
+import errors.ErrorListener;
 import errors.types.SemanticError;
 import errors.types.SemanticWarning;
-import symbols.SymbolAttribute;
-import symbols.SymbolRow;
+import symbols.IdList;
+import symbols.FlagMap;
+import symbols.ScopeChain;
 import symbols.SymbolsTable;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class SemanticAnalyser {
-    private final Node parseTree;
+    private static final int PARALLEL_MIN_BODIES = 4;
     private final SymbolsTable symbolsTable;
-    private final ErrorHandler errorHandler;
-    private final Stack<Node> scopes = new Stack<>();
-    private final ArrayList<Function> functions = new ArrayList<>();
-    private boolean hasMain = false;
+    private final ErrorListener errorHandler;
+    // The scopes open and the flags set so far, the table only gets them once the whole program is analysed
+    private ScopeChain scopes;
+    private final ArrayList<Function> functions;
+    // Names looked up while analysing a declaration on its own, null otherwise
+    private Set<String> lookedUp;
+    // Only for the analysers of the units of a parallel analysis, the flags of the rows go through it
+    private final AnalysisUnit unit;
+
+    public SemanticAnalyser(Program program, SymbolsTable symbolsTable, ErrorListener errorHandler) {
+        this(symbolsTable, errorHandler);
+
+        if (!analyseInParallel(program.getGlobals())) {
+            for (Statement declaration : program.getGlobals()) {
+                analyseDeclaration(declaration);
+            }
+        }
+        analyseMain(program.getMain(), program.getMainBody());
+    }
 
-    public SemanticAnalyser(Node parseTree, SymbolsTable symbolsTable, ErrorHandler errorHandler) {
-        this.parseTree = parseTree;
+    // The program is analysed a declaration at a time, in source order and CEO last
+    public SemanticAnalyser(SymbolsTable symbolsTable, ErrorListener errorHandler) {
         this.symbolsTable = symbolsTable;
         this.errorHandler = errorHandler;
-        analyse();
-    }
-
-    private void analyse() {
-        Queue<Node> queue = new LinkedList<>(parseTree.getChilds());
-        boolean hasMain = false;
-        scopes.add(parseTree);
-
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "globals":
-                    queue.addAll(node.getChilds());
-                    break;
-                case "globals_decl":
-                    boolean readOnly = node.getChilds().get(0).getChilds().get(0).getStatement().equals("fact");
-                    analyseDeclaration(node.getChilds().get(1), readOnly);
-                    queue.add(node.getChilds().get(1));
-                    break;
-                case "main_":
-                    if (queue.isEmpty()) {
-                        hasMain = true;
-                        analyseMain(node);
-                        break;
-                    } else queue.add(node);
-            }
-        }
-
-        if (!hasMain)
-            errorHandler.report(new SemanticError("Missing CEO function", new SourceLocation()));
-    }
-
-    private void analyseDeclaration(Node node, boolean readOnly) {
-        if (node.getChilds().get(0).getStatement().equals("arr_decl")) {
-            analyseArrDecl(node.getChilds().get(0).getChilds(), readOnly);
-        } else if (node.getChilds().get(2).getStatement().equals("func_decl")) {
-            if (readOnly) {
-                String error = "Function cannot be declared as constant";
-                errorHandler.report(new SemanticError(error, node.getChilds().get(2).getLocation()));
-                return;
+        functions = new ArrayList<>();
+        unit = null;
+        scopes = new ScopeChain(0, FlagMap.EMPTY);
+    }
+
+    // Analyses one unit with its own scopes and errors, the functions are the ones of the program
+    private SemanticAnalyser(SemanticAnalyser program, AnalysisUnit unit) {
+        symbolsTable = program.symbolsTable;
+        errorHandler = unit.getErrors()::add;
+        functions = program.functions;
+        this.unit = unit;
+        scopes = new ScopeChain(0, unit.getSnapshot());
+    }
+
+    // The declarations and the signatures of the functions are analysed first, in source order, then the bodies of the
+    // functions on a ForkJoin pool. Each unit starts from a snapshot of the flags set by the units before it, and its
+    // errors are kept apart and reported in source order. A unit that read a row of the program scope a body before it
+    // changed is analysed again from the flags every unit before it set, once, as what it sets doesn't depend on what it
+    // reads. False when there are too few bodies or a retry set something else after all, then nothing was reported
+    private boolean analyseInParallel(List<Statement> globals) {
+        int bodies = 0;
+        for (Statement declaration : globals) {
+            if (declaration instanceof FunctionDeclaration funcDecl && funcDecl.getBody() != null) bodies++;
+        }
+        // With a single worker the bodies would run one after the other, with the bookkeeping on top
+        if (bodies < PARALLEL_MIN_BODIES || ForkJoinPool.getCommonPoolParallelism() < 2) return false;
+
+        ArrayList<AnalysisUnit> units = new ArrayList<>();
+        ArrayList<Callable<Boolean>> tasks = new ArrayList<>();
+        FlagMap flags = scopes.getFlags();
+        try {
+            for (Statement declaration : globals) {
+                AnalysisUnit unit = new AnalysisUnit(units.size(), declaration, false, functions.size(), symbolsTable,
+                        flags);
+                units.add(unit);
+                boolean hasBody = analyseUnit(unit);
+                flags = unit.applyTo(flags);
+
+                if (hasBody) {
+                    AnalysisUnit body = new AnalysisUnit(units.size(), declaration, true, functions.size(),
+                            symbolsTable, flags);
+                    units.add(body);
+                    tasks.add(() -> analyseUnit(body));
+                }
             }
-            analyseFuncDecl(node.getChilds().get(1), node.getChilds().get(2).getChilds());
-        } else if (node.getChilds().get(2).getStatement().equals("func_or_var_decl")) {
-            Node name = node.getChilds().get(1);
-            Node declaration = node.getChilds().get(2).getChilds().get(0);
-
-            switch (declaration.getStatement()) {
-                case "var_decl_assign":
-                    if (declaration.getChilds().size() == 3) {
-                        boolean equalOp = declaration.getChilds().get(0).getStatement().equals("equal_assign_op");
-                        analyseVarOp(name, declaration.getChilds().get(1).getChilds(), true, equalOp, readOnly);
-                    } else {
-                        checkVariable(name, true, false, false, readOnly);
-                    }
-                    break;
-                case "func_decl":
-                    if (readOnly) {
-                        String error = "Function cannot be declared as constant";
-                        errorHandler.report(new SemanticError(error, node.getChilds().get(2).getLocation()));
-                        return;
-                    }
-                    analyseFuncDecl(name, declaration.getChilds());
-                    break;
+            runAll(tasks);
+
+            ArrayList<AnalysisUnit> retries = new ArrayList<>();
+            tasks.clear();
+            flags = scopes.getFlags();
+            for (AnalysisUnit unit : units) {
+                if (unit.readsChanged(flags)) {
+                    AnalysisUnit retry = unit.retry(flags);
+                    retries.add(retry);
+                    tasks.add(() -> analyseUnit(retry));
+                }
+                flags = unit.applyTo(flags);
+            }
+            runAll(tasks);
+
+            for (AnalysisUnit retry : retries) {
+                // What the retry sets depended on what it read, the units after it started from the wrong flags
+                if (!retry.sameChanges(units.get(retry.getIndex()))) {
+                    functions.clear();
+                    return false;
+                }
+                units.set(retry.getIndex(), retry);
+            }
+        }
+        catch (InterruptedException e) {
+            // Whoever interrupted gets to see it, the analysis is done again on this thread
+            Thread.currentThread().interrupt();
+            functions.clear();
+            return false;
+        }
+        catch (StackOverflowError e) {
+            // The threads of the pool have a smaller stack than this one, a body that nests too deep for them is
+            // analysed again here
+            functions.clear();
+            return false;
+        }
+
+        scopes = new ScopeChain(0, flags);
+        for (AnalysisUnit unit : units) {
+            for (Error error : unit.getErrors()) {
+                errorHandler.report(error);
+            }
+        }
+        return true;
+    }
+
+    // True if the unit is the signature of a function with a body
+    private boolean analyseUnit(AnalysisUnit unit) {
+        SemanticAnalyser analyser = new SemanticAnalyser(this, unit);
+        boolean hasBody = false;
+        if (unit.isBody()) analyser.analyseBody((FunctionDeclaration) unit.getDeclaration());
+        else hasBody = analyser.analyseSignature(unit.getDeclaration());
+
+        unit.finish(analyser.scopes.getFlags());
+        return hasBody;
+    }
+
+    // A unit that throws would throw in the sequential analysis as well, so it is thrown from here as it is. Only a
+    // stack overflow might not, the caller catches it
+    private static void runAll(List<Callable<Boolean>> tasks) throws InterruptedException {
+        for (Future<Boolean> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            try {
+                result.get();
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof java.lang.Error cause) throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    // Returns the names the declaration looked up. They resolve as they would in the whole program as long as no global
+    // declared after it has one of them
+    public Set<String> analyseGlobal(Statement declaration) {
+        lookedUp = new HashSet<>();
+        analyseDeclaration(declaration);
+
+        Set<String> names = lookedUp;
+        lookedUp = null;
+        return names;
+    }
+
+    private IdList getEntriesInScope(Name name, boolean isFunction) {
+        if (lookedUp != null) lookedUp.add(name.getValue());
+        return symbolsTable.getEntriesInScope(name, scopes, isFunction);
+    }
+
+    // Functions and blocks are scopes by their id, the program is the scope with id 0
+    private void enterScope(int id) {
+        scopes = scopes.enter(id);
+    }
+
+    private void exitScope() {
+        scopes = scopes.exit();
+    }
+
+    private boolean hasFlag(int symbol, byte flag) {
+        if (unit != null) unit.read(symbol, flag);
+        return (scopes.getFlags(symbol) & flag) != 0;
+    }
+
+    private void setFlag(int symbol, byte flag, boolean value) {
+        if (unit != null) unit.set(symbol, flag);
+        byte flags = scopes.getFlags(symbol);
+        scopes = scopes.setFlags(symbol, (byte) (value ? flags | flag : flags & ~flag));
+    }
+
+    private boolean isDeclared(int symbol) {
+        return hasFlag(symbol, SymbolsTable.DECLARED);
+    }
+
+    private void setDeclared(int symbol) {
+        setFlag(symbol, SymbolsTable.DECLARED, true);
+    }
+
+    private boolean isInitialized(int symbol) {
+        return hasFlag(symbol, SymbolsTable.INITIALIZED);
+    }
+
+    private void setInitialized(int symbol) {
+        setFlag(symbol, SymbolsTable.INITIALIZED, true);
+    }
+
+    private boolean mightNotBeInitialized(int symbol) {
+        return hasFlag(symbol, SymbolsTable.MIGHT_NOT_BE_INITIALIZED);
+    }
+
+    private void setInitializedForSure(int symbol) {
+        setFlag(symbol, SymbolsTable.MIGHT_NOT_BE_INITIALIZED, false);
+    }
+
+    private boolean isReadOnly(int symbol) {
+        return hasFlag(symbol, SymbolsTable.READ_ONLY);
+    }
+
+    private void setReadOnly(int symbol) {
+        setFlag(symbol, SymbolsTable.READ_ONLY, true);
+    }
+
+    private void analyseDeclaration(Statement declaration) {
+        if (analyseSignature(declaration)) analyseBody((FunctionDeclaration) declaration);
+    }
+
+    // All of a declaration but the body of a function, true if there is one to analyse
+    private boolean analyseSignature(Statement declaration) {
+        if (declaration instanceof ArrayDeclaration arrDecl) {
+            analyseArrDecl(arrDecl);
+        } else if (declaration instanceof FunctionDeclaration funcDecl) {
+            if (funcDecl.isConstant()) {
+                String error = "Function cannot be declared as constant";
+                errorHandler.report(new SemanticError(error, funcDecl.getPosition()));
+                return false;
             }
+            return analyseFuncDecl(funcDecl);
+        } else if (declaration instanceof VariableDeclaration varDecl) {
+            analyseVarDecl(varDecl);
+        }
+        return false;
+    }
+
+    // Only the variable of a for loop can come without datatype, it was declared before the loop
+    private void analyseVarDecl(VariableDeclaration varDecl) {
+        boolean isDeclaration = varDecl.getDatatype() != null;
+
+        if (varDecl.getValue() != null) {
+            boolean equalOp = varDecl.getOperator() != NodeKind.ASSIGN;
+            analyseVarOp(varDecl.getName(), varDecl.getValue(), isDeclaration, equalOp, varDecl.isConstant());
         } else {
-            String error = "Unknown declaration type: " + node.getStatement();
-            errorHandler.report(new SemanticError(error, node.getLocation()));
+            checkVariable(varDecl.getName(), isDeclaration, false, false, varDecl.isConstant());
         }
     }
 
-    private void analyseArrDecl(LinkedList<Node> nodes, boolean readOnly) {
-        Node name = nodes.get(3), assignation = nodes.get(4);
-        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, false);
+    private void analyseArrDecl(ArrayDeclaration arrDecl) {
+        Name name = arrDecl.getName();
+        boolean readOnly = arrDecl.isConstant();
+        IdList entries = getEntriesInScope(name, false);
         if (checkDuplicates(entries)) {
             String error = "Fam name: " + name.getValue() + " already exists in the same scope";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
             return;
         }
 
         if (entries.isEmpty()) {
             String error = "Fam: " + name.getValue() + ", does not exist";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
             return;
         }
 
-        SymbolRow attributes = symbolsTable.lookUp(name.getValue(), name.getId());
-        attributes.setDeclared(true);
-        if (readOnly) attributes.setReadOnly(readOnly);
+        int symbol = name.getId();
+        setDeclared(symbol);
+        if (readOnly) setReadOnly(symbol);
 
-        if (assignation.getChilds().size() == 2) {
-            attributes.setInitialized(true);
+        if (arrDecl.getValue() != null) {
+            setInitialized(symbol);
 
-            Node arrAssignVal = assignation.getChilds().get(1);
-            Datatype arrAssignType, type = new Datatype(attributes.getDataType(), attributes.getDimensions());
+            Datatype arrAssignType, type = symbolsTable.getType(symbol);
 
-            if (arrAssignVal.getChilds().get(0).getStatement().equals("var_value"))
-                arrAssignType = getVarValueType(arrAssignVal.getChilds().get(0));
+            if (arrDecl.getValue() instanceof ArrayLiteral arrList)
+                arrAssignType = getArrListType(arrList);
             else
-                arrAssignType = getArrListType(name, arrAssignVal.getChilds().get(1));
+                arrAssignType = getVarValueType(arrDecl.getValue());
 
-            if (arrAssignType.getType().equals("ERROR")) return;
+            if (arrAssignType.isError()) return;
 
             if (compareDataType(type , arrAssignType)) {
                 String error = "Fam: " + name.getValue() + ", of type " + type.getMessage() + " is being assigned " + arrAssignType.getMessage();
-                errorHandler.report(new SemanticError(error, name.getLocation()));
+                errorHandler.report(new SemanticError(error, name.getPosition()));
             }
         } else if (readOnly) {
             String error = "Fam: " + name.getValue() + ", is being declared as constant without being initialized";
-            errorHandler.report(new SemanticWarning(error, name.getLocation()));
+            errorHandler.report(new SemanticWarning(error, name.getPosition()));
         }
     }
 
-    private void analyseFuncDecl(Node name, LinkedList<Node> nodes) {
-        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, true);
+    // A declaration without body has nothing else to check
+    private boolean analyseFuncDecl(FunctionDeclaration funcDecl) {
+        Name name = funcDecl.getName();
+        IdList entries = getEntriesInScope(name, true);
         if (checkDuplicates(entries)) {
             String error = "Function name already exists in the same scope: " + name.getValue();
-            errorHandler.report(new SemanticError(error, name.getLocation()));
-            return;
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+            return false;
         }
 
-        scopes.add(name);
-        SymbolRow attributes = symbolsTable.lookUp(name.getValue(), name.getId());
-        attributes.setDeclared(true);
+        setDeclared(name.getId());
 
         Function function = new Function(name.getValue(), name.getId());
-        if (nodes.get(1).getChilds().get(0).getStatement().equals("param_decl"))
-            storeParams(nodes.get(1).getChilds().get(0).getChilds(), function);
+        if (!funcDecl.getParameters().isEmpty())
+            storeParams(funcDecl.getParameters(), function);
+
+        return funcDecl.getBody() != null;
+    }
 
-        analyseFuncBody(name, nodes.getLast().getChilds().get(1).getChilds(), attributes);
-        scopes.pop();
+    private void analyseBody(FunctionDeclaration funcDecl) {
+        Name name = funcDecl.getName();
+        enterScope(name.getId());
+        analyseFuncBody(name.getValue(), name.getPosition(), funcDecl.getBody(), name.getId());
+        exitScope();
     }
 
-    private void storeParams(LinkedList<Node> nodes, Function function) {
-        Queue<Node> queue = new LinkedList<>(nodes);
-        while (!queue.isEmpty()) {
-            Node datatype = queue.poll(), paramName = queue.poll(), paramList = queue.poll();
-            function.addParameter(new Datatype(datatype.getChilds().get(0).getValue(), null), paramName.getValue(), paramName.getId());
+    private void storeParams(List<ParameterDeclaration> parameters, Function function) {
+        for (ParameterDeclaration parameter : parameters) {
+            Name paramName = parameter.getName();
+            function.addParameter(Datatype.of(parameter.getDatatype()), paramName.getValue(), paramName.getId());
 
-            ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(paramName, scopes, true);
+            IdList entries = getEntriesInScope(paramName, true);
             if (checkDuplicates(entries)) {
                 String error = "Parameter name \"" + paramName.getValue() + "\" already exists in the same scope in function: " + function.getName();
-                errorHandler.report(new SemanticError(error, paramName.getLocation()));
+                errorHandler.report(new SemanticError(error, paramName.getPosition()));
             }
 
-            SymbolRow attributes = symbolsTable.lookUp(paramName.getValue(), paramName.getId());
-            attributes.setDeclared(true);
-            attributes.setInitialized(true);
-
-            if (paramList.getChilds().size() == 2) queue.addAll(paramList.getChilds().get(1).getChilds());
+            int symbol = paramName.getId();
+            setDeclared(symbol);
+            setInitialized(symbol);
         }
-        functions.add(function);
+        // A unit analysed again already stored it the first time
+        if (unit == null || !unit.isRetry()) functions.add(function);
     }
 
-    private void analyseFuncBody(Node name, LinkedList<Node> nodes, SymbolRow attributes) {
-        Queue<Node> queue = new LinkedList<>(nodes);
+    // name is null for the blocks inside a function, they don't need a throwback of their own
+    private void analyseFuncBody(String name, long position, List<Statement> statements, int symbol) {
         boolean hasReturn = false;
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "name":
-                    Node fun_var = queue.poll();
-
-                    if (fun_var.getChilds().get(0).getStatement().equals("func_call")) {
-                        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(node, scopes, true);
-                        if (entries.isEmpty()) {
-                            String error = "Function: " + node.getValue() + " is not declared";
-                            errorHandler.report(new SemanticError(error, node.getLocation()));
-                            break;
-                        }
-                        checkFuncCallType(node, fun_var.getChilds().get(0).getChilds().get(1));
-                    }
-                    else if (fun_var.getChilds().get(0).getStatement().equals("var_assign")) {
-                        boolean equalOp = fun_var.getChilds().get(0).getChilds().get(0).getChilds().get(0).getStatement().equals("equal_assign_op");
-                        analyseVarOp(node, fun_var.getChilds().get(0).getChilds(), false, equalOp, false);
-                    }
-                    else {
-                        Datatype varType = checkVarType(node), newType;
-                        int dimensions = getArrPos(node, fun_var.getChilds().get(0));
-                        if (dimensions == -1) break;
-
-                        if (varType.getDimensions().size() == dimensions) newType = new Datatype(varType.getType(), null);
-                        else {
-                            ArrayList<Integer> dims = new ArrayList<>();
-                            for (int i = varType.getDimensions().size() - 1; i >= dimensions; i--) {
-                                dims.add(varType.getDimensions().get(i));
-                            }
-                            newType = new Datatype(varType.getType(), dims);
-                        }
-
-                        if (fun_var.getChilds().get(1).getChilds().size() == 2) {
-                            Node arrAssignVal = fun_var.getChilds().get(1).getChilds().get(1);
-                            Datatype arrAssignType;
-                            if (arrAssignVal.getChilds().get(0).getStatement().equals("var_value"))
-                                arrAssignType = getVarValueType(arrAssignVal);
-                            else
-                                arrAssignType = getArrListType(name, arrAssignVal.getChilds().get(1));
-
-                            if (arrAssignType.getType().equals("ERROR")) break;
-                            if (compareDataType(newType, arrAssignType)) {
-                                String error = "Variable: " + node.getValue() + ", of type " + newType.getMessage() + " is being assigned " + arrAssignType.getMessage();
-                                errorHandler.report(new SemanticError(error, node.getLocation()));
-                            }
-                        }
-                    }
-                    break;
-                case "expression", "func_body":
-                    queue.addAll(node.getChilds());
-                    break;
-                case "end":
-                    if (node.getChilds().get(0).getStatement().equals("return_")) {
-                        hasReturn = true;
-                        if (attributes.getName().equals("CEO"))
-                            continue;
-
-                        Node throwback = node.getChilds().get(0).getChilds().get(0);
-                        Node throwbackVal = node.getChilds().get(0).getChilds().get(1);
-
-                        boolean negated = throwbackVal.getChilds().get(0).getChilds().get(0).getStatement().equals("#");
-
-                        Datatype varType = getVarValueType(throwbackVal.getChilds().getLast());
-
-                        if (negated && !varType.getType().equals("bipolar") && !varType.getType().equals("bool_lit")) {
-                            String error = "Throwback value of type " + varType.getType() + " cannot be negated";
-                            errorHandler.report(new SemanticError(error, throwbackVal.getLocation()));
-                        }
-                        if (compareDataType(new Datatype(attributes.getDataType(), attributes.getDimensions()), varType)) {
-                            String error = "Function: " + attributes.getName() + " expects to throwback " +
-                                    attributes.getDataType() + " and throwback " + varType.getType();
-                            errorHandler.report(new SemanticError(error, throwback.getLocation()));
-                        }
-                    }
-                    break;
-                case "conditional":
-                    analyseConditional(node.getChilds());
-                    break;
-                case "while_loop":
-                    analyseWhileLoop(node.getChilds().getLast().getChilds().get(0));
-                    break;
-                case "for_loop":
-                    analyseForLoop(node);
-                    break;
-                case "switch_":
-                    analyseSwitch(node.getChilds());
-                    break;
-                case "datatype":
-                    Node varName = queue.poll();
-                    Node varDeclAssign = queue.poll();
-
-                    if (varDeclAssign.getChilds().size() == 3) {
-                        boolean equalOp = varDeclAssign.getChilds().get(0).getStatement().equals("equal_assign_op");
-                            analyseVarOp(varName, varDeclAssign.getChilds().get(1).getChilds(), true, equalOp, false);
-                    } else {
-                        checkVariable(varName, true, false, false, false);
-                    }
-
-                    break;
-                case "arr_decl":
-                    analyseArrDecl(node.getChilds(), false);
-                    break;
-            }
-        }
-
-        if (!hasReturn && !attributes.getName().equals("CEO") && name.getValue() != null) {
-            String error = "Missing throwback statement in function: " + attributes.getName();
-            errorHandler.report(new SemanticError(error, name.getLocation()));
-        } else if (hasReturn && attributes.getName().equals("CEO")) {
+        for (Statement statement : statements) {
+            if (statement instanceof CallStatement callStatement) {
+                Call call = callStatement.getCall();
+                IdList entries = getEntriesInScope(call.getName(), true);
+                if (entries.isEmpty()) {
+                    String error = "Function: " + call.getName().getValue() + " is not declared";
+                    errorHandler.report(new SemanticError(error, call.getPosition()));
+                    continue;
+                }
+                checkFuncCallType(call.getName(), call.getArguments());
+            }
+            else if (statement instanceof Assignment assignment) {
+                boolean equalOp = assignment.getOperator() != NodeKind.ASSIGN;
+                analyseVarOp(assignment.getTarget(), assignment.getValue(), false, equalOp, false);
+            }
+            else if (statement instanceof ArrayAssignment arrAssign) {
+                analyseArrAssign(arrAssign);
+            }
+            else if (statement instanceof Return throwback) {
+                hasReturn = true;
+                if (symbolsTable.getName(symbol).equals("CEO"))
+                    continue;
+
+                Expression throwbackVal = throwback.getValue();
+                boolean negated = throwbackVal instanceof Negation;
+
+                Datatype varType = getVarValueType(negated ? ((Negation) throwbackVal).getOperand() : throwbackVal);
+
+                if (negated && !varType.getType().equals("bipolar") && !varType.getType().equals("bool_lit")) {
+                    String error = "Throwback value of type " + varType.getType() + " cannot be negated";
+                    errorHandler.report(new SemanticError(error, throwbackVal.getPosition()));
+                }
+                if (compareDataType(symbolsTable.getType(symbol), varType)) {
+                    String error = "Function: " + symbolsTable.getName(symbol) + " expects to throwback " +
+                            symbolsTable.getDataType(symbol) + " and throwback " + varType.getType();
+                    errorHandler.report(new SemanticError(error, throwback.getPosition()));
+                }
+            }
+            else if (statement instanceof Conditional conditional) {
+                analyseConditional(conditional);
+            }
+            else if (statement instanceof WhileLoop whileLoop) {
+                enterScope(whileLoop.getBody().getId());
+                analyseCondition(whileLoop.getCondition());
+                analyseBlock(whileLoop.getBody());
+                exitScope();
+            }
+            else if (statement instanceof DoWhileLoop doWhile) {
+                enterScope(doWhile.getBody().getId());
+                analyseBlock(doWhile.getBody());
+                analyseCondition(doWhile.getCondition());
+                exitScope();
+            }
+            else if (statement instanceof ForLoop forLoop) {
+                analyseForLoop(forLoop);
+            }
+            else if (statement instanceof Switch switch_) {
+                analyseSwitch(switch_);
+            }
+            else if (statement instanceof VariableDeclaration varDecl) {
+                analyseVarDecl(varDecl);
+            }
+            else if (statement instanceof ArrayDeclaration arrDecl) {
+                analyseArrDecl(arrDecl);
+            }
+        }
+
+        if (!hasReturn && !symbolsTable.getName(symbol).equals("CEO") && name != null) {
+            String error = "Missing throwback statement in function: " + symbolsTable.getName(symbol);
+            errorHandler.report(new SemanticError(error, position));
+        } else if (hasReturn && symbolsTable.getName(symbol).equals("CEO")) {
             String error = "CEO function cannot have a throwback statement";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, position));
+        }
+    }
+
+    private void analyseBlock(Block block) {
+        analyseFuncBody(null, block.getPosition(), block.getStatements(), getClosestFunction(block.getId()));
+    }
+
+    private void analyseArrAssign(ArrayAssignment arrAssign) {
+        Name name = arrAssign.getTarget();
+        Datatype varType = checkVarType(name), newType;
+        int dimensions = getArrPos(name, arrAssign.getIndex());
+        if (dimensions == -1) return;
+
+        newType = symbolsTable.elementType(varType, dimensions);
+
+        if (arrAssign.getValue() != null) {
+            Datatype arrAssignType;
+            if (arrAssign.getValue() instanceof ArrayLiteral arrList)
+                arrAssignType = getArrListType(arrList);
+            else
+                arrAssignType = getVarValueType(arrAssign.getValue());
+
+            if (arrAssignType.isError()) return;
+            if (compareDataType(newType, arrAssignType)) {
+                String error = "Variable: " + name.getValue() + ", of type " + newType.getMessage() + " is being assigned " + arrAssignType.getMessage();
+                errorHandler.report(new SemanticError(error, name.getPosition()));
+            }
         }
     }
 
 
-    private SymbolRow checkVariable(Node name, boolean isDeclaration, boolean equalOp, boolean isInitialization, boolean readOnly) {
-        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, false);
+    // -1 when the variable can't be resolved
+    private int checkVariable(Name name, boolean isDeclaration, boolean equalOp, boolean isInitialization, boolean readOnly) {
+        IdList entries = getEntriesInScope(name, false);
         if (checkDuplicates(entries)) {
             String error = "Variable name \"" + name.getValue() + "\" already exists in the same scope";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
 
-            return null;
+            return -1;
         }
         if (entries.isEmpty()) {
             String error = "Variable: " + name.getValue() + ", does not exist";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
 
-            return null;
+            return -1;
         }
-        SymbolRow attributes = entries.get(0);
+        int symbol = entries.get(0);
 
-        if (attributes.isDeclared() && isDeclaration)  {
+        if (isDeclared(symbol) && isDeclaration)  {
             String error = "Variable: " + name.getValue() + ", already declared";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
-        } else if (!attributes.isDeclared() && !isDeclaration && isInitialization) {
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+        } else if (!isDeclared(symbol) && !isDeclaration && isInitialization) {
             String error = "Variable: " + name.getValue() + ", is being initialized without being declared";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
-        } else if (!attributes.isDeclared() && !isDeclaration && !isInitialization) {
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+        } else if (!isDeclared(symbol) && !isDeclaration && !isInitialization) {
             String error = "Variable: " + name.getValue() + ", is being used without being declared";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
         }
-        else if ((attributes.isDeclared() || isDeclaration) && !attributes.isInitialized() && isInitialization && equalOp) {
+        else if ((isDeclared(symbol) || isDeclaration) && !isInitialized(symbol) && isInitialization && equalOp) {
             String error = "Variable: " + name.getValue() + ", is being operated without being initialized";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
         }
 
-        if (isDeclaration) attributes.setDeclared(true);
-        if (isInitialization) attributes.setInitialized(true);
-        if (readOnly) attributes.setReadOnly(true);
+        if (isDeclaration) setDeclared(symbol);
+        if (isInitialization) setInitialized(symbol);
+        if (readOnly) setReadOnly(symbol);
         if (readOnly && !isInitialization) {
             String error = "Variable: " + name.getValue() + ", is being declared as a constant without being initialized";
-            errorHandler.report(new SemanticWarning(error, name.getLocation()));
+            errorHandler.report(new SemanticWarning(error, name.getPosition()));
         }
 
-        if (isInitialization && (symbolsTable.lookUp(scopes.peek().getId()) instanceof SymbolAttribute || isDeclaration))
-            attributes.setMightNotBeInitialized(false);
+        // Only a declaration settles it, an assignment can be in a branch that doesn't run
+        if (isInitialization && isDeclaration)
+            setInitializedForSure(symbol);
 
-        if (attributes.isDeclared() && attributes.getMightNotBeInitialized() && isInitialization && equalOp) {
+        if (isDeclared(symbol) && mightNotBeInitialized(symbol) && isInitialization && equalOp) {
             String error = "Variable: " + name.getValue() + ", might not be initialized";
-            errorHandler.report(new SemanticWarning(error, name.getLocation()));
+            errorHandler.report(new SemanticWarning(error, name.getPosition()));
         }
-        return attributes;
+        return symbol;
     }
 
-    private void analyseVarOp(Node name, LinkedList<Node> nodes, boolean isDeclaration, boolean equalOp, boolean readOnly) {
+    private void analyseVarOp(Name name, Expression value, boolean isDeclaration, boolean equalOp, boolean readOnly) {
 
-        SymbolRow attributes = checkVariable(name, isDeclaration, equalOp, true, readOnly);
-        if (attributes == null) return;
+        int symbol = checkVariable(name, isDeclaration, equalOp, true, readOnly);
+        if (symbol == -1) return;
 
-        if (!readOnly && attributes.isReadOnly()) {
+        if (!readOnly && isReadOnly(symbol)) {
             String error = "Variable: " + name.getValue() + " is a constant, you cannot assign it a value";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
-        }
-        Parameter param = new Parameter(new Datatype(attributes.getDataType(), attributes.getDimensions()), name.getValue(), name.getId());
-        checkVarOpType(nodes, param);
-    }
-
-    private void analyseConditional(LinkedList<Node> nodes) {
-        Queue<Node> queue = new LinkedList<>(nodes);
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "if_", "elif":
-                    scopes.add(node);
-                    queue.add(analyseIf(node, node.getChilds(), getClosestFunction(node.getId())));
-                    scopes.pop();
-                    break;
-                case "cond_else", "else_opt":
-                    queue.add(node.getChilds().getLast());
-                    break;
-                case "else_":
-                    scopes.add(node);
-                    analyseFuncBody(node, node.getChilds().get(1).getChilds(), getClosestFunction(node.getId()));
-                    scopes.pop();
-                    break;
-            }
-        }
-    }
-
-    private Node analyseIf(Node name, LinkedList<Node> nodes, SymbolRow function) {
-        LinkedList<Node> queue = new LinkedList<>(nodes);
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "boolean_cond":
-                    analyseCondition(node.getChilds());
-                    break;
-                case "func_body":
-                    analyseFuncBody(name, node.getChilds(), function);
-                    break;
-                case "cond_else":
-                    return node.getChilds().getLast();
-            }
-        }
-        return new Node("skip");
-    }
-
-    private void analyseCondition(LinkedList<Node> nodes) {
-        Queue<Node> queue = new LinkedList<>(nodes);
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "name", "comparable_literal":
-                    Node comparison = queue.poll();
-                    Datatype type = new Datatype("ERROR", null);
-                    if (node.getStatement().equals("name"))
-                        type = checkVarType(node);
-                    else if (node.getStatement().equals("comparable_literal"))
-                        type = getLitType(node.getChilds().get(0));
-
-                    if (!comparison.getChilds().getFirst().getStatement().equals("epsilon"))
-                        checkVarOpType(comparison.getChilds().getLast().getChilds(), new Parameter(type, node.getValue(), node.getId()));
-                    else if (comparison.getChilds().getFirst().getStatement().equals("epsilon") && !type.getType().equals("bool_lit")) {
-                        String error = "Condition must be a bipolar expression";
-                        errorHandler.report(new SemanticError(error, node.getLocation()));
-                    }
-                    break;
-                case "condition", "boolean_cond", "nest_cond":
-                    queue.addAll(node.getChilds());
-                    break;
-            }
-        }
-    }
-
-    private void analyseWhileLoop(Node node) {
-        scopes.add(node);
-        if (node.getStatement().equals("while_")) {
-            analyseCondition(node.getChilds().get(2).getChilds());
-            analyseFuncBody(node, node.getChilds().get(5).getChilds(), getClosestFunction(node.getId()));
-        }
-        else if (node.getStatement().equals("do_while")) {
-            analyseFuncBody(node, node.getChilds().get(1).getChilds(), getClosestFunction(node.getId()));
-            analyseCondition(node.getChilds().get(6).getChilds());
-        }
-        scopes.pop();
-    }
-
-    private void analyseForLoop(Node node) {
-        scopes.add(node);
-        for (Node child : node.getChilds()) {
-            switch (child.getStatement()) {
-                case "for_decl":
-                    Node datatype = child.getChilds().get(0), name = child.getChilds().get(1), declaration = child.getChilds().getLast();
-                    boolean equalOp = declaration.getChilds().get(0).getStatement().equals("equal_assign_op");
-                    boolean isDeclaration = datatype.getChilds().get(0).getStatement().equals("datatype");
-
-                    if (declaration.getChilds().size() == 3)
-                        analyseVarOp(name, declaration.getChilds().get(1).getChilds(), isDeclaration, equalOp, false);
-                    else checkVariable(name, isDeclaration, false, false, false);
-                    break;
-                case "boolean_cond":
-                    analyseCondition(child.getChilds());
-                    break;
-                case "for_iterator":
-                    Node varName = child.getChilds().get(0), change = child.getChilds().getLast();
-                    Datatype type = checkVarType(varName);
-
-                    if (type.getType().equals("bipolar")) {
-                        String error = "Variable " + varName.getValue() + " is of type bipolar, so cannot be operated";
-                        errorHandler.report(new SemanticError(error, varName.getLocation()));
-                    } else if (change.getChilds().getLast().getStatement().equals("var_value")) {
-                        Datatype type2 = getVarValueType(change.getChilds().getLast());
-                        if (compareDataType(type, type2)) {
-                            String error = "Variable: " + varName.getValue() + ", of type " + type + " is being operated with " + type2;
-                            errorHandler.report(new SemanticError(error, varName.getLocation()));
-                        }
-                    }
-                    break;
-                case "func_body":
-                    analyseFuncBody(node, child.getChilds(), getClosestFunction(node.getId()));
-                    break;
-            }
-        }
-        scopes.pop();
-    }
-
-    private void analyseSwitch(LinkedList<Node> nodes) {
-        Queue<Node> queue = new LinkedList<>(nodes);
-        Datatype type = new Datatype("ERROR", null), caseType;
-
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "name":
-                    type = checkVarType(node);
-                    break;
-                case "case_":
-                    scopes.add(node);
-
-                    caseType = getLitType(node.getChilds().get(1).getChilds().get(0).getChilds().get(0));
-                    if (compareDataType(type, caseType)) {
-                        String error = "Trying to compare: " + caseType + " with " + type;
-                        errorHandler.report(new SemanticError(error, node.getChilds().get(1).getChilds().get(0).getChilds().get(0).getLocation()));
-                    }
-                    if (node.getChilds().get(3).getChilds().get(0).getStatement().equals("epsilon")) {
-                        String error = "Case cannot be empty";
-                        errorHandler.report(new SemanticError(error, node.getLocation()));
-                    } else
-                        analyseFuncBody(node, node.getChilds().get(3).getChilds().get(0).getChilds(), getClosestFunction(node.getId()));
-                    scopes.pop();
-                    queue.add(node.getChilds().getLast().getChilds().get(0));
-                    break;
-                case "default_":
-                    scopes.add(node);
-                    if (node.getChilds().get(0).getStatement().equals("left"))
-                        analyseFuncBody(node, node.getChilds().get(2).getChilds().get(0).getChilds(), getClosestFunction(node.getId()));
-                    scopes.pop();
-                    break;
-            }
-        }
-    }
-
-    private void analyseMain(Node node) {
-        Node name = node.getChilds().get(0);
-        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, true);
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+        }
+        Parameter param = new Parameter(symbolsTable.getType(symbol), name.getValue(), name.getId());
+        checkVarOpType(value, param);
+    }
+
+    private void analyseConditional(Conditional conditional) {
+        for (ConditionalBranch branch : conditional.getBranches()) {
+            enterScope(branch.getBody().getId());
+            if (branch.getCondition() != null) analyseCondition(branch.getCondition());
+            analyseBlock(branch.getBody());
+            exitScope();
+        }
+    }
+
+    private void analyseCondition(Expression condition) {
+        if (condition instanceof Negation negation) {
+            analyseCondition(negation.getOperand());
+        } else if (condition instanceof Binary binary && binary.isLogical()) {
+            analyseCondition(binary.getLeft());
+            analyseCondition(binary.getRight());
+        } else if (condition instanceof Binary comparison) {
+            Expression operand = comparison.getLeft();
+            Datatype type = getConditionOperandType(operand);
+
+            if (operand instanceof Variable variable)
+                checkVarOpType(comparison.getRight(), new Parameter(type, variable.getName().getValue(), variable.getName().getId()));
+            else
+                checkVarOpType(comparison.getRight(), new Parameter(type, null, 0));
+        } else if (!getConditionOperandType(condition).getType().equals("bool_lit")) {
+            String error = "Condition must be a bipolar expression";
+            errorHandler.report(new SemanticError(error, condition.getPosition()));
+        }
+    }
+
+    // The first operand of a condition is a name or a comparable literal
+    private Datatype getConditionOperandType(Expression operand) {
+        if (operand instanceof Variable variable)
+            return checkVarType(variable.getName());
+        return getLitType((Literal) operand);
+    }
+
+    private void analyseForLoop(ForLoop forLoop) {
+        enterScope(forLoop.getBody().getId());
+        analyseVarDecl(forLoop.getInit());
+        analyseCondition(forLoop.getCondition());
+
+        Name varName = forLoop.getIterator();
+        Datatype type = checkVarType(varName);
+
+        if (type.getType().equals("bipolar")) {
+            String error = "Variable " + varName.getValue() + " is of type bipolar, so cannot be operated";
+            errorHandler.report(new SemanticError(error, varName.getPosition()));
+        } else if (forLoop.getStep() != null) {
+            Datatype type2 = getVarValueType(forLoop.getStep());
+            if (compareDataType(type, type2)) {
+                String error = "Variable: " + varName.getValue() + ", of type " + type + " is being operated with " + type2;
+                errorHandler.report(new SemanticError(error, varName.getPosition()));
+            }
+        }
+
+        analyseBlock(forLoop.getBody());
+        exitScope();
+    }
+
+    private void analyseSwitch(Switch switch_) {
+        Datatype type = checkVarType(switch_.getSubject());
+        List<SwitchCase> cases = switch_.getCases();
+
+        // The default case has always been checked right after the first case and before the rest
+        analyseCase(cases.get(0), type);
+        if (switch_.getDefaultBody() != null) {
+            enterScope(switch_.getDefaultBody().getId());
+            analyseBlock(switch_.getDefaultBody());
+            exitScope();
+        }
+        for (int i = 1; i < cases.size(); i++) {
+            analyseCase(cases.get(i), type);
+        }
+    }
+
+    private void analyseCase(SwitchCase case_, Datatype type) {
+        Datatype caseType = getLitType(case_.getValue());
+        if (compareDataType(type, caseType)) {
+            String error = "Trying to compare: " + caseType + " with " + type;
+            errorHandler.report(new SemanticError(error, case_.getValue().getPosition()));
+        }
+        if (case_.getBody() == null) {
+            String error = "Case cannot be empty";
+            errorHandler.report(new SemanticError(error, case_.getPosition()));
+        } else {
+            enterScope(case_.getBody().getId());
+            analyseBlock(case_.getBody());
+            exitScope();
+        }
+    }
+
+    // CEO is analysed last, so the table gets the flags the analysis set once it is done
+    public void analyseMain(Name name, List<Statement> body) {
+        analyseCeo(name, body);
+
+        for (int id = 0; id < symbolsTable.size(); id++) {
+            if (symbolsTable.isAttribute(id)) symbolsTable.setFlags(id, scopes.getFlags(id));
+        }
+    }
+
+    private void analyseCeo(Name name, List<Statement> body) {
+        IdList entries = getEntriesInScope(name, true);
         if (checkDuplicates(entries)) {
             String error = "Function name CEO already exists in the same scope";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
             return;
         }
 
-        if (entries.isEmpty()) {
-            hasMain = false;
-            return;
-        }
+        if (entries.isEmpty()) return;
 
-        scopes.add(name);
-        SymbolRow attributes = symbolsTable.lookUp(name.getValue(), name.getId());
-        attributes.setDeclared(true);
+        enterScope(name.getId());
+        int symbol = name.getId();
+        setDeclared(symbol);
 
-        analyseFuncBody(name, node.getChilds().get(2).getChilds(), attributes);
-        scopes.pop();
+        analyseFuncBody(name.getValue(), name.getPosition(), body, symbol);
+        exitScope();
     }
 
-    private boolean checkDuplicates(ArrayList<SymbolRow> entries) {
+    private boolean checkDuplicates(IdList entries) {
         for (int i = 0; i < entries.size() - 1; i++) {
             for (int j = i + 1; j < entries.size(); j++) {
-                if (entries.get(i).getParentScope().getId() == entries.get(j).getParentScope().getId())
+                if (symbolsTable.getParentScope(entries.get(i)) == symbolsTable.getParentScope(entries.get(j)))
                     return true;
             }
         }
         return false;
     }
 
-    private Datatype getVarValueType(Node node) {
-        if (node.getChilds().getLast().getStatement().equals("literal")) {
-            return getLitType(node.getChilds().getLast().getChilds().get(0).getChilds().get(0));
-        } else {
-            Node name = node.getChilds().get(0);
-            if (node.getChilds().getLast().getChilds().size() == 1) {
-                Node arrFunc = node.getChilds().getLast().getChilds().get(0);
-                if (arrFunc.getStatement().equals("epsilon") || arrFunc.getChilds().get(0).getStatement().equals("epsilon"))
-                    return checkVarType(name);
-                else {
-                    Datatype varType = checkVarType(name);
-
-                    int dimensions = getArrPos(name, arrFunc);
-                    ArrayList<Integer> dims = new ArrayList<>();
-                    if (dimensions == -1) return new Datatype("ERROR", null);
-
-                    if (varType.getDimensions().size() == dimensions) return new Datatype(varType.getType(), null);
-                    for (int i = varType.getDimensions().size() - 1; i >= dimensions; i--) {
-                        dims.add(varType.getDimensions().get(i));
-                    }
-                    return new Datatype(varType.getType(), dims);
-                }
-            } else {
-                Node valueList = node.getChilds().getLast().getChilds().get(1);
+    // A value, not an operation: a literal, a name, a position of a fam or a function call
+    private Datatype getVarValueType(Expression value) {
+        if (value instanceof Literal literal) {
+            return getLitType(literal);
+        } else if (value instanceof Variable variable) {
+            return checkVarType(variable.getName());
+        } else if (value instanceof ArrayAccess arrAccess) {
+            Name name = arrAccess.getName();
+            Datatype varType = checkVarType(name);
 
-                ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, true);
-                if (entries.isEmpty()) {
-                    String error = "Function: " + name.getValue() + " is not declared";
-                    errorHandler.report(new SemanticError(error, name.getLocation()));
+            int dimensions = getArrPos(name, arrAccess.getIndex());
+            if (dimensions == -1) return Datatype.ERROR;
 
-                    return new Datatype("ERROR", null);
-                }
-                SymbolRow attributes = entries.get(0);
-                checkFuncCallType(name, valueList);
+            return symbolsTable.elementType(varType, dimensions);
+        } else {
+            Call call = (Call) value;
+            Name name = call.getName();
+
+            IdList entries = getEntriesInScope(name, true);
+            if (entries.isEmpty()) {
+                String error = "Function: " + name.getValue() + " is not declared";
+                errorHandler.report(new SemanticError(error, name.getPosition()));
 
-                return new Datatype(attributes.getDataType(), attributes.getDimensions());
+                return Datatype.ERROR;
             }
+            int symbol = entries.get(0);
+            checkFuncCallType(name, call.getArguments());
+
+            return symbolsTable.getType(symbol);
         }
     }
-    private Datatype getLitType(Node node) {
-            if (!node.getStatement().equals("str_lit")) {
-                return new Datatype(node.getStatement(), null);
+    private Datatype getLitType(Literal literal) {
+            if (literal.getKind() != NodeKind.STR_LIT) {
+                return Datatype.of(literal.getKind().getSymbol());
             } else {
-                ArrayList<Integer> dimension = new ArrayList<>();
-                dimension.add(node.getValue().length() - 2);
-
-                return new Datatype("mainchar", dimension);
+                return symbolsTable.famType(Datatype.of("mainchar"), literal.getValue().length() - 2);
             }
     }
 
-    private void checkVarOpType(LinkedList<Node> nodes, Parameter parameter) {
+    private void checkVarOpType(Expression value, Parameter parameter) {
         ArrayList<Datatype> types = new ArrayList<>();
-        Queue<Node> queue = new LinkedList<>(nodes);
-        boolean negated;
-        Node location = new Node("location");
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "neg":
-                    negated = node.getChilds().get(0).getStatement().equals("#");
-                    if (negated && !parameter.getDatatype().getType().equals("bipolar")) {
-                        String error = "Variable , " + parameter.getName() + ", of type " + parameter.getDatatype().getMessage() + " cannot be negated";
-                        errorHandler.report(new SemanticError(error, node.getChilds().get(0).getLocation()));
-                        return;
-                    }
-                    break;
-                case "var_op_val", "var_op", "assignation":
-                    queue.addAll(node.getChilds());
-                    break;
-                case "var_value":
-                    types.add(getVarValueType(node));
-                    if (node.getChilds().get(0).getChilds().isEmpty()) location = node.getChilds().get(0);
-                    else location = node.getChilds().get(0).getChilds().get(0).getChilds().get(0);
-                    break;
-                case "nested_op":
-                    if (node.getChilds().size() == 2) queue.add(node.getChilds().get(1));
-                    break;
+        Stack<Expression> stack = new Stack<>();
+        stack.push(value);
+        long location = SourcePosition.NONE;
+
+        // Operands from left to right, a # in front of any part of the operation needs a bipolar
+        while (!stack.isEmpty()) {
+            Expression node = stack.pop();
+            if (node instanceof Negation negation) {
+                if (!parameter.getDatatype().getType().equals("bipolar")) {
+                    String error = "Variable , " + parameter.getName() + ", of type " + parameter.getDatatype().getMessage() + " cannot be negated";
+                    errorHandler.report(new SemanticError(error, negation.getPosition()));
+                    return;
+                }
+                stack.push(negation.getOperand());
+            } else if (node instanceof Binary binary) {
+                stack.push(binary.getRight());
+                stack.push(binary.getLeft());
+            } else {
+                types.add(getVarValueType(node));
+                location = node.getPosition();
             }
         }
 
@@ -631,92 +721,84 @@ public class SemanticAnalyser {
             if (compareDataType(expectedType, types.get(0))) {
                 String error = "Variable \"" + parameter.getName() + "\" expects " +
                         parameter.getDatatype().getMessage() + " and receives " + types.get(0).getMessage();
-                errorHandler.report(new SemanticError(error, location.getLocation()));
+                errorHandler.report(new SemanticError(error, location));
             }
         }
         else {
             type = types.get(0);
-            if (type.getType().equals("str_lit") || type.getType().equals("null_lit") || type.getType().equals("bool_lit")) {
+            if (!type.canBeOperated()) {
                 String error = type + " cannot be operated";
-                errorHandler.report(new SemanticError(error, location.getLocation()));
+                errorHandler.report(new SemanticError(error, location));
 
                 return;
             }
 
             for (int j = 1; j < types.size(); j++) {
-                if (types.get(j).getType().equals("str_lit") || types.get(j).getType().equals("null_lit") || types.get(j).getType().equals("bool_lit")) {
+                if (!types.get(j).canBeOperated()) {
                     String error = types.get(j).getType() + " cannot be operated";
-                    errorHandler.report(new SemanticError(error, location.getLocation()));
+                    errorHandler.report(new SemanticError(error, location));
 
                     return;
                 }
-                if (getTypeRank(types.get(j).getType()) > getTypeRank(type.getType())) type = types.get(j);
+                if (types.get(j).getRank() > type.getRank()) type = types.get(j);
             }
 
             if (compareDataType(expectedType, type)) {
                 String error = "Variable \"" + parameter.getName() + "\" expects " +
                         parameter.getDatatype().getMessage() + " and receives " + types.get(0).getMessage();
-                errorHandler.report(new SemanticError(error, location.getLocation()));
+                errorHandler.report(new SemanticError(error, location));
             }
         }
     }
 
-    private void checkFuncCallType(Node name, Node valueList) {
+    private void checkFuncCallType(Name name, List<Expression> arguments) {
         Function function = getFunction(name.getValue());
-        Queue<Node> queue = new LinkedList<>();
-        queue.add(valueList);
         int i = 0;
 
         if (function == null) return;
 
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
+        for (Expression argument : arguments) {
+            if (i < function.getParameters().size())
+                checkVarOpType(argument, function.getParameters().get(i));
 
-            if (node.getStatement().equals("value_list") || node.getStatement().equals("var_list_more")) {
-                if (node.getChilds().size() == 1) break;
-                queue.addAll(node.getChilds());
-            } else if (node.getStatement().equals("var_op")) {
-                if (i < function.getParameters().size())
-                    checkVarOpType(node.getChilds(), function.getParameters().get(i));
-
-                i++;
-            }
+            i++;
         }
         if (i > function.getParameters().size() || i < function.getParameters().size()) {
             String error = "Function: " + function.getName() + " expects " + function.getParameters().size() +
                     " parameters and receives " + i;
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
         }
     }
 
-    private Datatype checkVarType(Node name) {
-        ArrayList<SymbolRow> entries = symbolsTable.getEntriesInScope(name, scopes, false);
+    private Datatype checkVarType(Name name) {
+        IdList entries = getEntriesInScope(name, false);
 
         if (entries.isEmpty()) {
             String error = "Variable: " + name.getValue() + ", does not exist";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
 
-            return new Datatype("ERROR", null);
+            return Datatype.ERROR;
         }
-        SymbolRow attributes = entries.get(0);
-        if (!attributes.isDeclared()) {
+        int symbol = entries.get(0);
+        if (!isDeclared(symbol)) {
             String error = "Variable: " + name.getValue() + ", used but not declared";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
         }
-        else if (!attributes.isInitialized()) {
+        else if (!isInitialized(symbol)) {
             String error = "Variable: " + name.getValue() + ", used but not initialized";
-            errorHandler.report(new SemanticError(error, name.getLocation()));
+            errorHandler.report(new SemanticError(error, name.getPosition()));
         }
-        return new Datatype(attributes.getDataType(), attributes.getDimensions());
+        return symbolsTable.getType(symbol);
     }
 
     private boolean compareDataType(Datatype type1, Datatype type2) {
         return !(checkDimensions(type1.getDimensions(), type2.getDimensions()) &&
-                checkType(type1.getType(), type2.getType()));
+                type1.isCompatible(type2));
     }
 
-    private boolean checkDimensions(ArrayList<Integer> dimensions1, ArrayList<Integer> dimensions2) {
-        if (dimensions1 == null && dimensions2 == null) return true;
+    private boolean checkDimensions(List<Integer> dimensions1, List<Integer> dimensions2) {
+        // Both null, or the same list
+        if (dimensions1 == dimensions2) return true;
         else if (dimensions1 == null || dimensions2 == null) return false;
         else if (dimensions1.size() != dimensions2.size()) return false;
         else {
@@ -728,128 +810,77 @@ public class SemanticAnalyser {
         return true;
     }
 
-    private boolean checkType(String type1, String type2) {
-        if ((type1.equals("bool_lit") || type1.equals("bipolar")) && (type2.equals("bool_lit") || type2.equals("bipolar")))
-            return true;
-        else if ((type1.equals("null_lit") || type1.equals("zombie")) && (type2.equals("null_lit") || type2.equals("zombie")))
-            return true;
-        else if ((type1.equals("num_lit") || type1.equals("char_lit") || type1.equals("bro") || type1.equals("mainchar")) &&
-                (type2.equals("num_lit") || type2.equals("char_lit") || type2.equals("bro") || type2.equals("mainchar")))
-            return true;
-        else if ((type1.equals("dec_lit") || type1.equals("sis")) &&
-                (type2.equals("dec_lit") || type2.equals("num_lit") || type2.equals("char_lit") || type2.equals("sis")  || type2.equals("bro")) || type2.equals("mainchar"))
-            return true;
-
-        return false;
-    }
-    private int getTypeRank(String type) {
-        return switch (type) {
-            case "char_lit", "mainchar" -> 0;
-            case "num_lit", "bro" -> 1;
-            case "sis", "dec_lit" -> 2;
-            case "twin" -> 3;
-            default -> -1;
-        };
-    }
+    // A unit only sees the functions stored before it
     private Function getFunction(String name) {
-        for (Function function : functions) {
-            if (function.getName().equals(name)) return function;
+        int visible = unit == null ? functions.size() : unit.getVisibleFunctions();
+        for (int i = 0; i < visible; i++) {
+            if (functions.get(i).getName().equals(name)) return functions.get(i);
         }
         return null;
     }
 
-    private SymbolRow getClosestFunction(int id) {
-        SymbolRow symbolRow = symbolsTable.lookUp(id);
+    private int getClosestFunction(int id) {
+        int symbol = id;
 
-        while (!(symbolRow instanceof SymbolAttribute) || !symbolRow.getParentScope().getName().equals("start")) {
-            if (symbolRow.isFunction()) return symbolRow;
-            symbolRow = symbolRow.getParentScope();
+        while (!symbolsTable.isAttribute(symbol) || !symbolsTable.getName(symbolsTable.getParentScope(symbol)).equals("start")) {
+            if (symbolsTable.isFunction(symbol)) return symbol;
+            symbol = symbolsTable.getParentScope(symbol);
         }
 
-        return symbolRow;
+        return symbol;
     }
 
-    private int getArrPos(Node name, Node arrPos) {
-        int dimensions = 0;
-        Queue<Node> queue = new LinkedList<>(arrPos.getChilds());
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            switch (node.getStatement()) {
-                case "arr_pos":
-                    queue.addAll(node.getChilds());
-                    break;
-                case "var_value":
-                    Datatype type = getVarValueType(node);
-
-                    if (type.getType().equals("ERROR")) return -1;
-                    if (type.getDimensions() != null) {
-                        String error = "Fam: " + name.getValue() + ", is being assigned a fam as position";
-                        errorHandler.report(new SemanticError(error, name.getLocation()));
-                        return -1;
-                    } else if (!type.getType().equals("num_lit") && !type.getType().equals("bro")) {
-                        String error = "Fam: " + name.getValue() + ", is being assigned " + type.getType() + " as position";
-                        errorHandler.report(new SemanticError(error, name.getLocation()));
-                        return -1;
-                    } else {
-                        dimensions++;
-                    }
-                    break;
-            }
-        }
-        return dimensions;
+    // Positions take a single index, so this is 1 or -1 when the index is not valid
+    private int getArrPos(Name name, Expression index) {
+        Datatype type = getVarValueType(index);
+
+        if (type.isError()) return -1;
+        if (type.getDimensions() != null) {
+            String error = "Fam: " + name.getValue() + ", is being assigned a fam as position";
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+            return -1;
+        } else if (!type.getType().equals("num_lit") && !type.getType().equals("bro")) {
+            String error = "Fam: " + name.getValue() + ", is being assigned " + type.getType() + " as position";
+            errorHandler.report(new SemanticError(error, name.getPosition()));
+            return -1;
+        }
+        return 1;
     }
 
-    private Datatype getArrListType(Node name, Node node) {
-        Queue<Node> queue = new LinkedList<>();
-        queue.add(node);
+    private Datatype getArrListType(ArrayLiteral arrList) {
         ArrayList<Datatype> types = new ArrayList<>();
-        while (!queue.isEmpty()) {
-            Node arrNode = queue.poll();
-            switch (arrNode.getStatement()) {
-                case "arr_value":
-                    Datatype type;
-                    if (arrNode.getChilds().get(0).getStatement().equals("neg")) {
-                        boolean negated = arrNode.getChilds().get(0).getChilds().get(0).getStatement().equals("#");
-                        type = getVarValueType(arrNode.getChilds().get(1));
-
-                        if (type.getType().equals("ERROR")) return new Datatype("ERROR", null);
-
-                        if (negated && type.getDimensions() != null) {
-                            String error = "A fam cannot be negated";
-                            errorHandler.report(new SemanticError(error, node.getLocation()));
-                        } else if (negated && !type.getType().equals("bipolar") && !type.getType().equals("bool_lit")) {
-                            String error = "A value of type " + type + " cannot be negated";
-                            errorHandler.report(new SemanticError(error, node.getLocation()));
-                        }
-                    } else {
-                        type = getArrListType(name, arrNode.getChilds().get(1));
-
-                        if (type.getType().equals("ERROR")) return new Datatype("ERROR", null);
-                    }
-                    types.add(type);
-                    break;
-                case "arr_list":
-                    queue.add(arrNode.getChilds().get(0));
-                    queue.addAll(arrNode.getChilds().getLast().getChilds());
-                    break;
+        for (Expression element : arrList.getElements()) {
+            Datatype type;
+            if (element instanceof ArrayLiteral nested) {
+                type = getArrListType(nested);
+
+                if (type.isError()) return Datatype.ERROR;
+            } else {
+                boolean negated = element instanceof Negation;
+                type = getVarValueType(negated ? ((Negation) element).getOperand() : element);
+
+                if (type.isError()) return Datatype.ERROR;
+
+                if (negated && type.getDimensions() != null) {
+                    String error = "A fam cannot be negated";
+                    errorHandler.report(new SemanticError(error, arrList.getPosition()));
+                } else if (negated && !type.getType().equals("bipolar") && !type.getType().equals("bool_lit")) {
+                    String error = "A value of type " + type + " cannot be negated";
+                    errorHandler.report(new SemanticError(error, arrList.getPosition()));
+                }
             }
+            types.add(type);
         }
 
         Datatype type = types.get(0);
         for (int i = 1; i < types.size(); i++) {
             if (compareDataType(type, types.get(i))) {
                 String error = "Fam is being assigned values of different types or dimensions";
-                errorHandler.report(new SemanticError(error, node.getLocation()));
-                return new Datatype("ERROR", null);
+                errorHandler.report(new SemanticError(error, arrList.getPosition()));
+                return Datatype.ERROR;
             }
         }
 
-        if (type.getDimensions() == null)  {
-            ArrayList<Integer> dims = new ArrayList<>();
-            dims.add(types.size());
-            return new Datatype(type.getType(), dims);
-        }
-        type.getDimensions().add(0, types.size());
-        return new Datatype(type.getType(), type.getDimensions());
+        return symbolsTable.famType(type, types.size());
     }
 }
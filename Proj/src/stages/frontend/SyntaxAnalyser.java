@@ -1,1525 +1,574 @@
 package stages.frontend;
 
 import entities.Node;
+import entities.NodeKind;
+import entities.SyntaxTree;
+import entities.NonTerminal;
 import entities.Token;
+import entities.TokenKind;
 import errors.ErrorHandler;
 import errors.ErrorListener;
+import errors.Error;
 import errors.types.UnexpectedTokenError;
-import exceptions.NoTokenLeftException;
+import exceptions.ParseAbandonedException;
+import exceptions.SliceParseException;
 import errors.types.UnknownTokenError;
-import stages.backend.IntermediateCodeGenerator;
-import symbols.SymbolAttribute;
-import symbols.SymbolRow;
 import symbols.SymbolsTable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class SyntaxAnalyser {
-    private final LexicalAnalyser lexicalAnalyser;
-    private final SemanticAnalyser semanticAnalyser;
-    private IntermediateCodeGenerator intermediateCodeGenerator;
+    private static final int PIPELINE_MIN_LENGTH = 16 * 1024;
+    private static final int PARALLEL_MIN_LENGTH = 256 * 1024;
+    private static final int SLICE_MIN_LENGTH = 32 * 1024;
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_INSERTIONS = 16;
+    private final TokenBuffer tokens;
     private final ErrorListener errorHandler;
     private final ErrorHandler errHandler;
     private final SymbolsTable symbolsTable;
     private Token currToken;
     private Token prevToken;
-    private final HashMap<String, String[]> first;
-    private final HashMap<String, String[]> follow;
+    private final SyntaxTree tree;
     private final Node parseTree;
-    private final Stack<SymbolRow> scopeStack;
+    private final Stack<Integer> scopeStack;
     private int currId;
+    private boolean endOfInput;
+    private int errorCount;
+    // Set from a syntax error until the next terminal that really matches, errors in between are not reported
+    private boolean panicking;
+    // The tree has terminals that were never in the source, so it is not worth analysing
+    private boolean recovered;
+    private Token insertedBefore;
+    private int insertions;
+
+    // Only used while parsing a slice of the program, to be merged later by parseInParallel
+    private final ArrayList<Node> sliceIdNodes;
+    private int sliceBlankLines;
+    private int blankLines;
+    // Names of the rows the global declaration being parsed adds to the program scope, only for a pipelined parse
+    private ArrayList<String> globalNames;
+    // Has every global declaration already lowered and being analysed, null when the file was parsed without one
+    private FunctionPipeline pipeline;
+
+    // Only parses, lowering the tree and the later stages are left to the caller. The tokens come from the lexer itself
+    // unless lexing ran as a stage of its own. Large files are parsed in slices on a ForkJoin pool, each one with its own
+    // lexer, or have their global declarations analysed and generated by a FunctionPipeline while the parse goes on
+    public SyntaxAnalyser(CharSequence srcCode, TokenSource tokens, ErrorHandler errHandler) {
+
+        this(tokens, errHandler);
+
+        if (parseInParallel(srcCode, scopeStack.peek())) return;
+
+        if (srcCode.length() >= PIPELINE_MIN_LENGTH) pipeline = new FunctionPipeline(symbolsTable);
+        try {
+            nextToken();
+            if (pipeline != null) parsePipelined();
+            else parse(parseTree);
+        }
+        catch (ParseAbandonedException ignored) {
+            // Already reported, the rest of the program was missing
+        }
+        catch (RuntimeException | java.lang.Error e) {
+            // Lowering a declaration can overflow the stack, nobody would wait for the workers of the pipeline then
+            if (pipeline != null) pipeline.cancel();
+            throw e;
+        }
+        //TreeRepresentation treeRepresentation = new TreeRepresentation(parseTree);
 
-    public SyntaxAnalyser(String srcCode, ErrorHandler errHandler, String outputFile) {
+        // There is nothing to analyse in a recovered tree, and a cancelled pipeline is missing globals
+        if (pipeline != null && (recovered || pipeline.isCancelled())) {
+            pipeline.cancel();
+            pipeline = null;
+        }
+    }
+
+    private SyntaxAnalyser(TokenSource tokenSource, ErrorHandler errHandler) {
 
         this.errHandler = errHandler;
         errorHandler = errHandler;
         symbolsTable = new SymbolsTable();
+        sliceIdNodes = null;
 
-        lexicalAnalyser = new LexicalAnalyser(srcCode);
-
-        first = new HashMap<>();
-        follow = new HashMap<>();
+        tokens = new TokenBuffer(tokenSource, 1);
 
         // Parse input
-        generateFirst();
-        generateFollow();
-
-        nextToken();
-
-        parseTree = new Node("start");
-        parseTree.setParent(null);
+        tree = new SyntaxTree();
+        parseTree = tree.newNode(NodeKind.START);
 
         scopeStack = new Stack<>();
 
         currId = 0;
-        SymbolAttribute symbolAttribute =
-                new SymbolAttribute(parseTree.getStatement(), currId++, null, null, 0, null, true);
-        symbolsTable.insert(symbolAttribute);
-        scopeStack.push(symbolAttribute);
-
-        start();
-        //TreeRepresentation treeRepresentation = new TreeRepresentation(parseTree);
-        semanticAnalyser = new SemanticAnalyser(parseTree, symbolsTable, errHandler);
-
-        //Stop execution if errors were found
-        if (!errHandler.getErrorWall().equals("Stan 🎉🎉🎉"))
-            return;
-
-        intermediateCodeGenerator = new IntermediateCodeGenerator(parseTree, symbolsTable, outputFile);
+        symbolsTable.insert(parseTree.getStatement(), currId, null, null, SymbolsTable.NO_SCOPE, true);
+        scopeStack.push(currId++);
     }
 
-    private void generateFirst() {
-        first.put("start", new String[]{"fact", "fam", "bro", "sis", "bipolar", "mainchar", "zombie", "CEO"});
-        first.put("globals", new String[]{"fact","fam", "bro", "sis", "bipolar", "mainchar", "zombie", "epsilon"});
-        first.put("globals_decl", new String[]{"fact","fam", "bro", "sis", "bipolar", "mainchar", "zombie"});
-        first.put("declaration", new String[]{"fam", "bro", "sis", "bipolar", "mainchar", "zombie"});
-        first.put("func_or_var_decl", new String[]{"var_decl_assign", "¿"});
-        first.put("constant", new String[]{"fact", "epsilon"});
-        first.put("var_decl_assign", new String[]{"=", ".", "+=", "-=", "*=", "/="});
-        first.put("var_op", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit", "bool_lit", "char_lit"});
-        first.put("var_op_val", new String[]{"name","(", "num_lit", "str_lit", "null_lit", "dec_lit", "bool_lit", "char_lit"});
-        first.put("nested_op", new String[]{"+","-", "*", "/", "%", "epsilon"});
-        first.put("operator", new String[]{"+","-", "*", "/", "%"});
-        first.put("high_priority_operator", new String[]{"*", "/", "%"});
-        first.put("arr_decl", new String[]{"fam"});
-        first.put("arr_dim", new String[]{"num_lit"});
-        first.put("arr_arr", new String[]{"num_lit", "epsilon"});
-        first.put("arr_assign", new String[]{"=", "epsilon"});
-        first.put("arr_assign_val", new String[]{"name", "(", "num_lit", "[", "str_lit", "null_lit", "dec_lit", "bool_lit", "char_lit"});
-        first.put("arr_list", new String[]{"name", "(", "num_lit", "[", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("arr_value", new String[]{"name", "(", "num_lit", "[", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("arr_value_list", new String[]{",", "epsilon"});
-        first.put("var_value", new String[]{"name", "(", "num_lit", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("arr_or_func", new String[]{"[", "¿", "epsilon"});
-        first.put("arr_pos", new String[]{"["});
-        first.put("neg", new String[]{"#", "epsilon"});
-        first.put("datatype", new String[]{"bro", "sis", "bipolar", "mainchar"});
-        first.put("literal", new String[]{"(", "num_lit", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("non_comparable_literal", new String[]{"str_lit", "null_lit"});
-        first.put("comparable_literal", new String[]{"num_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("main_", new String[]{"CEO"});
-        first.put("func_decl", new String[]{"¿"});
-        first.put("func_impl", new String[]{".", "¡"});
-        first.put("func_param", new String[]{"bro", "sis", "bipolar", "mainchar", "epsilon"});
-        first.put("param_decl", new String[]{"bro", "sis", "bipolar", "mainchar"});
-        first.put("param_list", new String[]{",", "epsilon"});
-        first.put("func_body", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "throwback", "vibe", "like","swipe", "4", "epsilon"});
-        first.put("expression", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "vibe", "like","swipe", "4"});
-        first.put("func_or_var", new String[]{"=", "[", "¿", "+=", "-=", "*=", "/=", "epsilon"});
-        first.put("end", new String[]{"throwback", "epsilon"});
-        first.put("return_", new String[]{"throwback"});
-        first.put("return_value", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("func_call", new String[]{"¿"});
-        first.put("value_list", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit", "epsilon"});
-        first.put("value_list_more", new String[]{",", "epsilon"});
-        first.put("var_assign", new String[]{"=", "+=", "-=", "*=", "/="});
-        first.put("assignation", new String[]{"=", "+=", "-=", "*=", "/="});
-        first.put("equal_assign_op", new String[]{"+=", "-=", "*=", "/="});
-        first.put("while_loop", new String[]{"vibe"});
-        first.put("while_opt", new String[]{"¡", "check"});
-        first.put("while_", new String[]{"check"});
-        first.put("do_while", new String[]{"¡"});
-        first.put("conditional", new String[]{"like"});
-        first.put("if_", new String[]{"like"});
-        first.put("cond_else", new String[]{"whatever", "epsilon"});
-        first.put("else_opt", new String[]{"like", "else_"});
-        first.put("elif", new String[]{"like"});
-        first.put("else_", new String[]{"¡"});
-        first.put("boolean_cond", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("condition", new String[]{"name", "(", "num_lit", "dec_lit","bool_lit", "char_lit"});
-        first.put("nest_cond", new String[]{"&", "|", "epsilon"});
-        first.put("comparison", new String[]{"<", "<=", ">", ">=", "==", "#=", "epsilon"});
-        first.put("comparison_op", new String[]{"<", "<=", ">", ">=", "==", "#="});
-        first.put("switch_", new String[]{"swipe"});
-        first.put("case_", new String[]{"right"});
-        first.put("nested_case", new String[]{"case_", "epsilon"});
-        first.put("default_", new String[]{"left", "epsilon"});
-        first.put("case_body", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "throwback", "vibe", "like", "swipe", "periodt", "4", "epsilon"});
-        first.put("break_", new String[]{"periodt", "epsilon"});
-        first.put("for_loop", new String[]{"4"});
-        first.put("for_decl", new String[]{"name", "bro", "sis", "bipolar", "mainchar"});
-        first.put("for_var_type", new String[]{"bro", "sis", "bipolar", "mainchar", "epsilon"});
-        first.put("for_iterator", new String[]{"name"});
-        first.put("it_change", new String[]{"+=", "-=", "*=", "/=", "++", "--"});
+    public Node getParseTree() {
+        return parseTree;
     }
 
-    private void generateFollow() {
-        follow.put("start", new String[]{"dollar"});
-        follow.put("globals", new String[]{"CEO"});
-        follow.put("globals_decl", new String[]{"zombie", "fact","fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("declaration", new String[]{"zombie", "fact", "fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("func_or_var_decl", new String[]{"zombie", "fact", "fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("constant", new String[]{"zombie", "fam", "bro", "sis", "bipolar", "mainchar"});
-        follow.put("var_decl_assign", new String[]{"zombie", "name", "fact", "(", "fam", "num_lit", "#", "bro", "sis", "bipolar", "mainchar", "dec_lit","bool_lit", "char_lit", "CEO", "!", "throwback", "vibe", "like", "swipe", "case_", "periodt", "4"});
-        follow.put("var_op", new String[]{".", ")", ",", "?", "&", "|"});
-        follow.put("var_op_val", new String[]{".", ")", ",", "?", "&", "|"});
-        follow.put("nested_op", new String[]{".", ")", ",", "?", "&", "|"});
-        follow.put("operator", new String[]{"name", "(", "num_lit", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        follow.put("high_priority_operator", new String[]{"name", "(", "num_lit", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        follow.put("arr_decl", new String[]{"zombie", "fact", "fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("arr_dim", new String[]{"bro", "sis", "bipolar", "mainchar"});
-        follow.put("arr_arr", new String[]{"bro", "sis", "bipolar", "mainchar"});
-        follow.put("arr_assign", new String[]{"name", "fam", ".", "bro", "sis", "bipolar", "mainchar", "¡", "throwback", "vibe", "like", "swipe", "periodt", "4"});
-        follow.put("arr_assign_val", new String[]{"name", "fam", ".", "bro", "sis", "bipolar", "mainchar", "¡", "throwback", "vibe", "like", "swipe", "periodt", "4"});
-        follow.put("arr_list", new String[]{"]"});
-        follow.put("arr_value", new String[]{"]", ","});
-        follow.put("arr_value_list", new String[]{"]"});
-        follow.put("var_value", new String[]{"name", ".", "fam", ")", "+", "-", "*", "/", "%","]", ",", "?", "&", "bro", "sis", "bipolar", "mainchar", "!", "?", "throwback", "vibe", "like", "&", "|", "swipe", "periodt", "4"});
-        follow.put("arr_or_func", new String[]{"name", ".", ")", "+", "-", "*", "/", "%", "fam", "]", ",", "bro", "sis", "bipolar", "mainchar", "!", "?", "throwback", "vibe", "like", "&", "|", "swipe", "case_", "periodt", "4"});
-        follow.put("arr_pos", new String[]{"name", ".", "=", "fam", ")", "+", "-", "*", "/", "%","]", ",", "?", "bro", "sis", "bipolar", "mainchar", "!", "throwback", "vibe", "like", "&", "|", "swipe", "case_", "periodt", "4"});
-        follow.put("neg", new String[]{"name", "(", "num_lit", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        follow.put("datatype", new String[]{"name"});
-        follow.put("literal", new String[]{"name", ".", "fam", ")", "+", "-", "*", "/", "%", "]", ",", "bro", "sis", "bipolar", "mainchar", "!", "?", "throwback", "vibe", "like", "&", "|", "swipe", "periodt", "4"});
-        follow.put("non_comparable_literal", new String[]{"name", ".", "fam", ")", "+", "-", "*", "/", "%", "]", ",", "bro", "sis", "bipolar", "mainchar", "!", "?", "throwback", "vibe", "like", "&", "|", "swipe", "case_", ":", "periodt", "4"});
-        follow.put("comparable_literal", new String[]{"name", ".", "fam", ")", "+", "-", "*", "/", "%", "]", ",", "bro", "sis", "bipolar", "mainchar", "!", "?", "throwback", "vibe", "like", "&", "|", "<", "<=", ">", ">=", "==", "#=", "swipe", "case_", ":", "periodt", "4"});
-        follow.put("main_", new String[]{"dollar"});
-        follow.put("func_decl", new String[]{"zombie", "fact", "fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("func_impl", new String[]{"zombie", "fact", "fam", "bro", "sis", "bipolar", "mainchar", "CEO"});
-        follow.put("func_param", new String[]{"?"});
-        follow.put("param_decl", new String[]{"?"});
-        follow.put("param_list", new String[]{"?"});
-        follow.put("func_body", new String[]{"!"});
-        follow.put("expression", new String[]{"name", "fam", "bro", "sis",  "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("func_or_var", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("end", new String[]{"!"});
-        follow.put("return_", new String[]{"!"});
-        follow.put("return_value", new String[]{"."});
-        follow.put("func_call", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback", "vibe", "like", "swipe", "periodt", "4"});
-        follow.put("value_list", new String[]{"?"});
-        follow.put("value_list_more", new String[]{"?"});
-        follow.put("var_assign", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback", "vibe", "like", "swipe", "periodt", "4"});
-        follow.put("assignation", new String[]{"."});
-        follow.put("equal_assign_op", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit", "bool_lit", "char_lit"});
-        follow.put("while_loop", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("while_opt", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("while_", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("do_while", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("conditional", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("if_", new String[]{"name", "fam", "bro", "sis",  "bipolar", "mainchar", "!", "throwback","vibe", "like", "whatever", "swipe", "case_", "periodt", "4"});
-        follow.put("cond_else", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("else_opt", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("elif", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("else_", new String[]{});
-        follow.put("boolean_cond", new String[]{".", "?"});
-        follow.put("condition", new String[]{".", ")", "?", "&", "|"});
-        follow.put("nest_cond", new String[]{".", "?"});
-        follow.put("comparison", new String[]{".", ")", "?", "&", "|"});
-        follow.put("comparison_op", new String[]{"name", "(", "num_lit", "#", "str_lit", "null_lit", "dec_lit","bool_lit", "char_lit"});
-        follow.put("switch_", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback","vibe", "like", "swipe", "periodt", "4"});
-        follow.put("case_", new String[]{});
-        follow.put("nested_case", new String[]{});
-        follow.put("default_", new String[]{"!"});
-        follow.put("case_body", new String[]{"!", "case_", "periodt"});
-        follow.put("break_", new String[]{"!", "case_", "periodt"});
-        follow.put("for_loop", new String[]{"name", "fam", "bro", "sis", "bipolar", "mainchar", "!", "throwback", "vibe", "like", "swipe", "periodt", "4"});
-        follow.put("for_decl", new String[]{"name", "(", "num_lit", "#", "dec_lit", "bool_lit", "char_lit"});
-        follow.put("for_var_type", new String[]{"name"});
-        follow.put("for_iterator", new String[]{"?"});
-        follow.put("it_change", new String[]{"?"});
+    public int getNodeCount() {
+        return tree.size();
     }
 
-    private Token checkNextToken() {
-        try {
-            return lexicalAnalyser.nextToken();
-        }
-        catch (NoTokenLeftException ignored) {
-        }
-        catch (UnknownTokenError e) {
-            errorHandler.report(e);
-            nextToken();
-        }
-        return null;
+    public SymbolsTable getSymbolsTable() {
+        return symbolsTable;
     }
 
-    private void nextToken() {
-        try {
-            if (currToken != null)
-                prevToken = currToken;
-            currToken = lexicalAnalyser.nextToken();
-        }
-        catch (NoTokenLeftException ignored) {}
-        catch (UnknownTokenError e) {
-            errorHandler.report(e);
-            nextToken();
-        }
+    public int getBlankLines() {
+        return blankLines;
     }
 
-    private static String[] mergeArrays(String[] array1, String[] array2) {
-        if (array2 == null) return array1;
-
-        int mergedLength = array1.length + array2.length;
-
-        String[] mergedArray = new String[mergedLength];
-
-        System.arraycopy(array1, 0, mergedArray, 0, array1.length);
-
-        System.arraycopy(array2, 0, mergedArray, array1.length, array2.length);
-
-        return mergedArray;
+    // The tree has terminals the parser inserted, there is nothing to analyse
+    public boolean isRecovered() {
+        return recovered;
     }
 
-    //Finds the First Set of terminals of a non-terminal (considering the follow function)
-    private String[] first(String nonTerminal) {
-        String[] firstSet = first.get(nonTerminal);
-        String[] followSet = follow.get(nonTerminal);
-
-        for (String terminal : firstSet) {
-            if (terminal.equals("epsilon")) {
-                firstSet = mergeArrays(firstSet, followSet);
-            }
-        }
-        return firstSet;
+    // Null when the globals were not handed to a pipeline, they have to be lowered and analysed with CEO then
+    public FunctionPipeline getPipeline() {
+        return pipeline;
     }
 
-    public boolean checkMatch(Token currToken, String s) {
-        if (!currToken.getType().equals(s.toUpperCase())) {
-            if(currToken.getValue().equals(s))
-                return true;
-            //Account for keyword 4 being a num_lit
-            return currToken.getValue().equals("4") && s.equals("num_lit");
-        }
-        return true;
-    }
+    // Parses one slice of the program with its own lexer, symbols and ids are kept aside until the slices are merged
+    private SyntaxAnalyser(LexicalAnalyser lexer, int globalScope) {
 
-    public boolean checkMatch(Token currToken, String[] values) {
-        for (String value : values) {
-            if (checkMatch(currToken, value)) return true;
-        }
-        return false;
-    }
-
-    public void match(Token currToken, String s, Node parent) {
-
-        if (checkMatch(currToken, s)) {
-            addTerminal(s, parent);
-        }
-        // Error recovery
-        else {
-            //One symbol lookahead
-            nextToken();
-
-            if (checkMatch(this.currToken, s)) {
-                //Skip to next token (assuming right one was received)
-                errorHandler.report(new UnexpectedTokenError(prevToken, s, lexicalAnalyser.getLocation()));
-                addTerminal(s, parent);
-                return;
+        errHandler = null;
+        errorHandler = new ErrorListener() {
+            @Override
+            public void report(Error err) {
+                throw new SliceParseException();
             }
+        };
+        symbolsTable = new SymbolsTable();
+        sliceIdNodes = new ArrayList<>();
 
-            //Report error and stop execution
-            errorHandler.report(new UnexpectedTokenError(currToken, s, lexicalAnalyser.getLocation()));
-            System.out.println(errHandler.getErrorWall());
-            errorHandler.abort();
-        }
-    }
-
-    private void addTerminal(String terminal, Node parent) {
-        Node newNode = new Node(terminal);
-        newNode.setLocation(lexicalAnalyser.getLocation());
-        newNode.setValue(currToken.getValue());
-        parent.addChild(newNode);
-
-        addToSymbolTable(terminal, parent, newNode);
+        tokens = new TokenBuffer(lexer, 1);
 
-        nextToken();
-    }
-
-    private void addToSymbolTable(String s, Node parent, Node node) {
-        if (s.equals("¡")) {
-            if (parent.getStatement().equals("main_")) {
-                Node CEONode = parent.getChilds().get(0);
-                CEONode.setId(currId);
-                SymbolAttribute symbolAttribute =
-                        new SymbolAttribute("CEO", currId++, "zombie", null, 1, scopeStack.peek(), true);
-                scopeStack.push(symbolAttribute);
-                symbolsTable.insert(symbolAttribute);
-            }
-            else if (parent.getStatement().equals("while_") || parent.getStatement().equals("do_while") ||
-                     parent.getStatement().equals("if_") || parent.getStatement().equals("elif") ||
-                     parent.getStatement().equals("else_")) {
-
-                parent.setId(currId);
-                SymbolRow symbolRow = new SymbolRow(scopeStack.peek(), currId++);
-                scopeStack.push(symbolRow);
-                symbolsTable.insert(symbolRow);
+        tree = new SyntaxTree();
+        parseTree = tree.newNode(NodeKind.START);
+        scopeStack = new Stack<>();
+        scopeStack.push(globalScope);
+        // Id 0 is the program scope, the rows of the slice are numbered from 1 until they are merged
+        currId = 1;
+    }
+
+    // Splits the globals at top-level boundaries and parses the slices on a ForkJoin pool. The merged tree, symbols and
+    // ids are the same the sequential parse gives, any slice it can't reproduce exactly makes it return false instead
+    private boolean parseInParallel(CharSequence srcCode, int globalScope) {
+
+        if (srcCode.length() < PARALLEL_MIN_LENGTH) return false;
+
+        TopLevelSplitter splitter = new TopLevelSplitter(srcCode);
+        if (splitter.getCount() < 2) return false;
+
+        // The last boundary closes the main body, so the slice after the one before it holds CEO
+        ArrayList<Integer> sliceStarts = new ArrayList<>();
+        ArrayList<Integer> sliceLines = new ArrayList<>();
+        sliceStarts.add(0);
+        sliceLines.add(0);
+        for (int i = 0; i < splitter.getCount() - 1; i++) {
+            int offset = splitter.getOffset(i);
+            if (offset - sliceStarts.get(sliceStarts.size() - 1) >= SLICE_MIN_LENGTH || i == splitter.getCount() - 2) {
+                sliceStarts.add(offset);
+                sliceLines.add(splitter.getLine(i));
             }
         }
-        else if (node.getStatement().equals(":")) {
-            parent.setId(currId);
-            SymbolRow symbolRow = new SymbolRow(scopeStack.peek(), currId++);
-            scopeStack.push(symbolRow);
-            symbolsTable.insert(symbolRow);
-        }
-        else if ((node.getStatement().equals("right")) && !parent.getParent().getStatement().equals("switch_")
-                || node.getStatement().equals("left") || s.equals("!")) {
-            scopeStack.pop();
-        }
-        else if (node.getStatement().equals("name") && parent.getChilds().get(0).getStatement().equals("zombie")) {
-
-                SymbolAttribute symbolAttribute =
-                        new SymbolAttribute(node.getValue(), currId, "zombie", null, 1, scopeStack.peek(), true);
-                scopeStack.push(symbolAttribute);
-                symbolsTable.insert(symbolAttribute);
-                node.setId(currId++);
-        }
-        else if (s.equals("¿") && parent.getStatement().equals("func_decl") && parent.getParent().getStatement().equals("func_or_var_decl")) {
-
-            Node declarationNode = parent.getParent().getParent();
-            String datatype = declarationNode.getChilds().get(0).getChilds().get(0).getStatement();
-            Node nameNode = declarationNode.getChilds().get(1);
-
-            SymbolAttribute symbolAttribute =
-                    new SymbolAttribute(nameNode.getValue(), currId, datatype, null, 1, scopeStack.peek(), true);
-            scopeStack.push(symbolAttribute);
-            symbolsTable.insert(symbolAttribute);
-            nameNode.setId(currId++);
-        }
-        else if (parent.getStatement().equals("var_decl_assign") && parent.getParent().getStatement().equals("func_or_var_decl")
-                && parent.getChilds().get(0).equals(node)) {
-                //variable
+        if (sliceStarts.size() < 3) return false;
 
-            String datatype = parent.getParent().getParent().getChilds().get(0).getChilds().get(0).getStatement();
-            Node nameNode = parent.getParent().getParent().getChilds().get(1);
-
-            SymbolAttribute symbolAttribute =
-                    new SymbolAttribute(nameNode.getValue(), currId, datatype, null, 1, scopeStack.peek(), false);
-            symbolsTable.insert(symbolAttribute);
-            nameNode.setId(currId++);
-        }
-        else if (node.getStatement().equals("name") && (parent.getStatement().equals("expression")
-                && parent.getChilds().get(0).getStatement().equals("datatype") || parent.getStatement().equals("param_decl"))) {
-
-            String datatype = parent.getChilds().get(0).getChilds().get(0).getStatement();
-            SymbolAttribute symbolAttribute =
-                    new SymbolAttribute(node.getValue(), currId, datatype, null, 1, scopeStack.peek(), false);
-            symbolsTable.insert(symbolAttribute);
-            node.setId(currId++);
-        }
-        else if (node.getStatement().equals("name") && parent.getStatement().equals("for_decl")) {
-
-            //for loop scope
-            parent.getParent().setId(currId);
-            SymbolRow symbolRow = new SymbolRow(scopeStack.peek(), currId++);
-            scopeStack.push(symbolRow);
-            symbolsTable.insert(symbolRow);
-
-            if (!parent.getChilds().get(0).getChilds().get(0).getStatement().equals("epsilon")) {
-                String datatype = parent.getChilds().get(0).getChilds().get(0).getChilds().get(0).getStatement();
-                SymbolAttribute symbolAttribute =
-                        new SymbolAttribute(node.getValue(), currId, datatype, null, 1, scopeStack.peek(), false);
-                symbolsTable.insert(symbolAttribute);
-                node.setId(currId++);
-                System.out.println();
-            }
+        ArrayList<SyntaxAnalyser> slices = new ArrayList<>();
+        ArrayList<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < sliceStarts.size(); i++) {
+            int start = sliceStarts.get(i);
+            int end = i + 1 < sliceStarts.size() ? sliceStarts.get(i + 1) : srcCode.length();
+            boolean isMain = i + 1 == sliceStarts.size();
 
+            LexicalAnalyser lexer = start == 0
+                    ? new LexicalAnalyser(srcCode)
+                    : new LexicalAnalyser(srcCode, start, start, sliceLines.get(i));
+            SyntaxAnalyser slice = new SyntaxAnalyser(lexer, globalScope);
+            slices.add(slice);
+            tasks.add(() -> slice.parseSlice(end, isMain));
         }
-        else if (node.getStatement().equals("name") && parent.getStatement().equals("arr_decl")) {
 
-            String datatype = parent.getChilds().get(2).getChilds().get(0).getStatement();
-            ArrayList<Integer> dimensions = new ArrayList<>();
-
-            Node arr_dimNode = parent.getChilds().get(1);
-            boolean exit = false;
-            while (!exit) {
-                if (arr_dimNode.getChilds().size() == 0) {
-                    exit = true;
-                }
-                else { // (arr_dimNode.getChilds().get(0).getStatement().equals("num_lit"))
-                    dimensions.add(Integer.valueOf(arr_dimNode.getChilds().get(0).getValue()));
-                    arr_dimNode = arr_dimNode.getChilds().get(1).getChilds().get(0);
-
-                }
+        try {
+            for (Future<Boolean> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                if (!result.get()) return false;
             }
-
-            SymbolAttribute symbolAttribute =
-                    new SymbolAttribute(node.getValue(), currId, datatype, dimensions, 1, scopeStack.peek(), false);
-            symbolsTable.insert(symbolAttribute);
-            node.setId(currId++);
-        }
-
-    }
-
-    private void start() {
-        this.parseTree.addChild(new Node("globals"));
-        globals(this.parseTree.getChilds().getFirst());
-
-        this.parseTree.addChild(new Node("main_"));
-        main_(this.parseTree.getChilds().getLast());
-    }
-
-    private void globals(Node parent) {
-        if (checkMatch(currToken, first("globals_decl"))) {
-            Node declNode = new Node("globals_decl");
-            parent.addChild(declNode);
-            globals_decl(declNode);
-
-            Node globNode = new Node("globals");
-            parent.addChild(globNode);
-            globals(globNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void globals_decl(Node parent) {
-        Node constNode = new Node("constant");
-        parent.addChild(constNode);
-        constant(constNode);
-
-        Node declNode = new Node("declaration");
-        parent.addChild(declNode);
-        declaration(declNode);
-    }
-
-    private void declaration(Node parent) {
-        Node currNode;
-        if (checkMatch(currToken, first("arr_decl"))) {
-            currNode = new Node("arr_decl");
-            parent.addChild(currNode);
-            arr_decl(currNode);
-        }
-        else if (checkMatch(currToken, "zombie")) {
-            match(currToken, "zombie", parent);
-            match(currToken, "name", parent);
-
-            currNode = new Node("func_decl");
-            parent.addChild(currNode);
-            func_decl(currNode);
         }
-        else {
-            currNode = new Node("datatype");
-            parent.addChild(currNode);
-            datatype(currNode);
-
-            match(currToken, "name", parent);
-
-            Node funcVarNode = new Node("func_or_var_decl");
-            parent.addChild(funcVarNode);
-            func_or_var_decl(funcVarNode);
+        catch (InterruptedException e) {
+            // Whoever interrupted gets to see it, the file is parsed again on this thread
+            Thread.currentThread().interrupt();
+            return false;
         }
-    }
-
-    private void func_or_var_decl(Node parent) {
-        Node currNode;
-        if (checkMatch(currToken, first("var_decl_assign"))) {
-            currNode = new Node("var_decl_assign");
-            parent.addChild(currNode);
-            var_decl_assign(currNode);
-        }
-        else {
-            currNode = new Node("func_decl");
-            parent.addChild(currNode);
-            func_decl(currNode);
+        catch (ExecutionException e) {
+            // A slice with a syntax error is parsed again with the rest of the file, which reports it
+            if (e.getCause() instanceof SliceParseException) return false;
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof java.lang.Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
         }
-    }
-
-    private void constant(Node parent) {
-        if (checkMatch(currToken, "fact")) {
-            match(currToken, "fact", parent);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
 
-    private void var_decl_assign(Node parent) {
-        if (checkMatch(currToken, "=")) {
-            match(currToken, "=", parent);
-
-            Node currNode = new Node("var_op");
-            parent.addChild(currNode);
-            var_op(currNode);
-        }
-        else if (checkMatch(currToken, first("equal_assign_op"))) {
-            Node eqAssignNode = new Node("equal_assign_op");
-            parent.addChild(eqAssignNode);
-            equal_assign_op(eqAssignNode);
-
-            Node currNode = new Node("var_op");
-            parent.addChild(currNode);
-            var_op(currNode);
-        }
-        match(currToken, ".", parent);
+        mergeSlices(slices);
+        return true;
     }
 
-    private void var_op(Node parent) {
-        Node negNode = new Node("neg");
-        parent.addChild(negNode);
-        neg(negNode);
+    // <start> ::= <globals> <main_>, a declaration at a time so each one is handed to the pipeline as soon as it is read
+    private void parsePipelined() {
+        Node globals = parseTree.addChild(NodeKind.GLOBALS);
+        while (predicts(NonTerminal.GLOBALS_DECL)) {
+            Node declNode = globals.addChild(NodeKind.GLOBALS_DECL);
+            globalNames = new ArrayList<>();
+            parse(declNode);
 
-        Node varNode = new Node("var_op_val");
-        parent.addChild(varNode);
-        var_op_val(varNode);
-    }
-    private void var_op_val(Node parent) {
-        if (checkMatch(currToken, first("var_value"))) {
-            Node varNode = new Node("var_value");
-            parent.addChild(varNode);
-            var_value(varNode);
-
-            Node nestedNode = new Node("nested_op");
-            parent.addChild(nestedNode);
-            nested_op(nestedNode);
+            if (!recovered && !pipeline.isCancelled()) pipeline.submit(AstBuilder.global(declNode), globalNames);
+            globals = globals.addChild(NodeKind.GLOBALS);
         }
-        else {
-            match(currToken, "(", parent);
-
-            Node varNode = new Node("var_op");
-            parent.addChild(varNode);
-            var_op(varNode);
+        globals.setEpsilon();
 
-            match(currToken, ")", parent);
-        }
+        globalNames = new ArrayList<>();
+        parse(parseTree.addChild(NodeKind.MAIN));
+        pipeline.setMainNames(globalNames);
     }
 
-    private void nested_op(Node parent) {
-        if (checkMatch(currToken, first("operator"))) {
-            Node operatorNode = new Node("operator");
-            parent.addChild(operatorNode);
-            operator(operatorNode);
-
-            Node varNode = new Node("var_op_val");
-            parent.addChild(varNode);
-            var_op_val(varNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
+    // Throws a SliceParseException at the first error, false when the slice doesn't end where it should
+    private boolean parseSlice(int end, boolean isMain) {
+        nextToken();
 
-    private void operator(Node parent) {
-        if (checkMatch(currToken, "+")) {
-            match(currToken, "+", parent);
-        }
-        else if (checkMatch(currToken, "-")) {
-            match(currToken, "-", parent);
-        }
-        else {
-            Node highPriorityNode = new Node("high_priority_operator");
-            parent.addChild(highPriorityNode);
-            high_priority_operator(highPriorityNode);
+        if (isMain) {
+            parse(parseTree);
+            return true;
         }
-    }
 
-    private void high_priority_operator(Node parent) {
-        if (checkMatch(currToken, "*")) {
-            match(currToken, "*", parent);
-        }
-        else if (checkMatch(currToken, "/")) {
-            match(currToken, "/", parent);
+        while (!endOfInput && currToken.getStart() < end && predicts(NonTerminal.GLOBALS_DECL)) {
+            Node declNode = parseTree.addChild(NodeKind.GLOBALS_DECL);
+            parse(declNode);
         }
-        else {
-            match(currToken, "%", parent);
-        }
-    }
-
-    private void arr_decl(Node parent) {
-        match(currToken, "fam", parent);
-
-        Node dimNode = new Node("arr_dim");
-        parent.addChild(dimNode);
-        arr_dim(dimNode);
-
-        Node dataNode = new Node("datatype");
-        parent.addChild(dataNode);
-        datatype(dataNode);
-
-        match(currToken, "name", parent);
 
-        Node assignNode = new Node("arr_assign");
-        parent.addChild(assignNode);
-        arr_assign(assignNode);
-
-        match(currToken, ".", parent);
+        // The slice has to stop exactly at its end, with no scope left open by a declaration without body
+        return !endOfInput && prevToken != null && prevToken.getEnd() <= end && currToken.getStart() >= end
+                && scopeStack.size() == 1;
     }
 
-    private void arr_dim(Node parent) {
-        match(currToken, "num_lit", parent);
+    private void mergeSlices(List<SyntaxAnalyser> slices) {
 
-        Node arrNode = new Node("arr_arr");
-        parent.addChild(arrNode);
-        arr_arr(arrNode);
-    }
+        SyntaxAnalyser mainSlice = slices.get(slices.size() - 1);
+        Node mainNode = null;
 
-    private void arr_arr(Node parent) {
-        if (checkMatch(currToken, first("arr_dim"))) {
-            Node dimNode = new Node("arr_dim");
-            parent.addChild(dimNode);
-            arr_dim(dimNode);
+        ArrayList<Node> declarations = new ArrayList<>();
+        int blankLines = 0;
 
-            return;
+        for (SyntaxAnalyser slice : slices) {
+            // The ids of the slice start at 1, right after the program scope
+            int idOffset = currId - 1;
+            symbolsTable.append(slice.symbolsTable, idOffset);
+            for (Node node : slice.sliceIdNodes) {
+                node.setId(node.getId() + idOffset);
+            }
+            currId += slice.currId - 1;
+            blankLines += slice.sliceBlankLines;
+
+            // The nodes of the slice are copied after the ones already in the tree, shifted by offset
+            int offset = tree.append(slice.tree);
+            if (slice == mainSlice) {
+                Node mainGlobals = tree.node(slice.parseTree.getFirstChild().getIndex() + offset);
+                while (mainGlobals.getChildCount() == 2) {
+                    declarations.add(mainGlobals.getFirstChild());
+                    mainGlobals = mainGlobals.getLastChild();
+                }
+                mainNode = tree.node(slice.parseTree.getLastChild().getIndex() + offset);
+            }
+            else {
+                for (Node declaration : slice.parseTree.getChilds()) {
+                    declarations.add(tree.node(declaration.getIndex() + offset));
+                }
+            }
         }
-        parent.addChild(new Node("epsilon"));
-    }
 
-    private void arr_assign(Node parent) {
-        if (checkMatch(currToken, "=")) {
-            match(currToken, "=", parent);
-
-            Node assignValNode = new Node("arr_assign_val");
-            parent.addChild(assignValNode);
-            arr_assign_val(assignValNode);
-
-            return;
+        Node globals = parseTree.addChild(NodeKind.GLOBALS);
+        for (Node declaration : declarations) {
+            globals.attach(declaration);
+            Node next = globals.addChild(NodeKind.GLOBALS);
+            globals = next;
         }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void arr_assign_val(Node parent) {
-        if (checkMatch(currToken, "[")) {
-            match(currToken, "[", parent);
+        globals.setEpsilon();
+        parseTree.attach(mainNode);
 
-            Node listNode = new Node("arr_list");
-            parent.addChild(listNode);
-            arr_list(listNode);
-
-            match(currToken, "]", parent);
-        }
-        else{
-            Node varValueNode = new Node("var_value");
-            parent.addChild(varValueNode);
-            var_value(varValueNode);
+        for (int i = 0; i < blankLines; i++) {
+            System.out.println();
         }
+        this.blankLines += blankLines;
     }
 
-    private void arr_list(Node parent) {
-        Node arrValueNode = new Node("arr_value");
-        parent.addChild(arrValueNode);
-        arr_value(arrValueNode);
-
-        Node arrValueListNode = new Node("arr_value_list");
-        parent.addChild(arrValueListNode);
-        arr_value_list(arrValueListNode);
-    }
-
-    private void arr_value(Node parent) {
-        if (checkMatch(currToken, first("neg"))) {
-            Node negNode = new Node("neg");
-            parent.addChild(negNode);
-            neg(negNode);
-
-            Node varValueNode = new Node("var_value");
-            parent.addChild(varValueNode);
-            var_value(varValueNode);
-        }
-        else{
-            match(currToken, "[", parent);
-
-            Node listNode = new Node("arr_list");
-            parent.addChild(listNode);
-            arr_list(listNode);
+    private void nextToken() {
+        if (currToken != null)
+            prevToken = currToken;
 
-            match(currToken, "]", parent);
+        Token token;
+        while ((token = tokens.next()) != null && token.getKind() == TokenKind.UNKNOWN) {
+            report(new UnknownTokenError(token.getValue(), token.getPosition()));
         }
-    }
-
-    private void arr_value_list(Node parent) {
-        if (checkMatch(currToken, ",")) {
-            match(currToken, ",", parent);
-
-            Node arrListNode = new Node("arr_list");
-            parent.addChild(arrListNode);
-            arr_list(arrListNode);
 
+        // Past the last token (or the error limit) the parser only sees end of input, which ends any recovery
+        if (token == null || errorCount >= MAX_ERRORS) {
+            if (!endOfInput) currToken = tokens.endOfInput();
+            endOfInput = true;
             return;
         }
-        parent.addChild(new Node("epsilon"));
+        currToken = token;
     }
 
-    private void var_value(Node parent) {
-        if (checkMatch(currToken, first("literal"))) {
-            Node litNode = new Node("literal");
-            parent.addChild(litNode);
-            literal(litNode);
-        }
-        else{
-            match(currToken, "name", parent);
+    private void report(Error error) {
+        if (panicking) return;
 
-            Node arrFuncNode = new Node("arr_or_func");
-            parent.addChild(arrFuncNode);
-            arr_or_func(arrFuncNode);
-        }
+        errorCount++;
+        errorHandler.report(error);
     }
 
-    private void arr_or_func(Node parent) {
-        if (checkMatch(currToken, first("arr_pos"))) {
-            Node arrPosNode = new Node("arr_pos");
-            parent.addChild(arrPosNode);
-            arr_pos(arrPosNode);
-
-            return;
-        }
-        else if (checkMatch(currToken, "¿")) {
-            match(currToken, "¿", parent);
-
-            Node valueListNode = new Node("value_list");
-            parent.addChild(valueListNode);
-            value_list(valueListNode);
+    // First token after the current one that is not unknown, the buffer is left where it was
+    private Token peekNextToken() {
+        int mark = tokens.mark();
 
-            match(currToken, "?", parent);
+        Token token;
+        do {
+            token = tokens.next();
+        } while (token != null && token.getKind() == TokenKind.UNKNOWN);
 
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
+        tokens.reset(mark);
+        return token;
     }
 
-    private void arr_pos(Node parent) {
-        match(currToken, "[", parent);
-
-        Node varValueNode = new Node("var_value");
-        parent.addChild(varValueNode);
-        var_value(varValueNode);
-
-        match(currToken, "]", parent);
+    public boolean checkMatch(Token currToken, int terminal) {
+        //Account for keyword 4 being a num_lit
+        return currToken.getKind() == terminal || (currToken.getKind() == TokenKind.FOUR && terminal == TokenKind.NUM_LIT);
     }
 
-    private void neg(Node parent) {
-        if (checkMatch(currToken, "#")) {
-            match(currToken, "#", parent);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
+    // One table load tells if the current token can start the non-terminal (or follow it, if it can be empty)
+    private boolean predicts(int nonTerminal) {
+        return ParseTable.predicts(nonTerminal, currToken.getKind());
     }
 
-    private void datatype(Node parent) {
-        if (checkMatch(currToken, "bro")) {
-            match(currToken, "bro", parent);
-        }
-        else if (checkMatch(currToken, "sis")) {
-            match(currToken, "sis", parent);
-        }
-        else if (checkMatch(currToken, "bipolar")) {
-            match(currToken, "bipolar", parent);
-        }
-        else {
-            match(currToken, "mainchar", parent);
-        }
-    }
+    public void match(Token currToken, int terminal, Node parent) {
 
-    private void literal(Node parent) {
-        if (checkMatch(currToken, first("comparable_literal"))) {
-            Node compLitNode = new Node("comparable_literal");
-            parent.addChild(compLitNode);
-            comparable_literal(compLitNode);
-        }
-        else{
-            Node nonCompLitNode = new Node("non_comparable_literal");
-            parent.addChild(nonCompLitNode);
-            non_comparable_literal(nonCompLitNode);
-        }
-    }
-
-    private void non_comparable_literal(Node parent) {
-        if (checkMatch(currToken, "str_lit")) {
-            match(currToken, "str_lit", parent);
-        }
-        else {
-            match(currToken, "null_lit", parent);
-        }
-    }
-
-    private void comparable_literal(Node parent) {
-        if (checkMatch(currToken, "num_lit")) {
-            match(currToken, "num_lit", parent);
-        }
-        else if (checkMatch(currToken, "dec_lit")) {
-            match(currToken, "dec_lit", parent);
-        }
-        else if (checkMatch(currToken, "bool_lit")) {
-            match(currToken, "bool_lit", parent);
-        }
-        else {
-            match(currToken, "char_lit", parent);
-        }
-    }
-
-    private void main_(Node parent) {
-        match(currToken, "CEO", parent);
-        match(currToken, "¡", parent);
-
-        Node funcBodyNode = new Node("func_body");
-        parent.addChild(funcBodyNode);
-        func_body(funcBodyNode);
-
-        match(currToken, "!", parent);
-    }
-
-    private void func_decl(Node parent) {
-        match(currToken, "¿", parent);
-
-        Node funcParamNode = new Node("func_param");
-        parent.addChild(funcParamNode);
-        func_param(funcParamNode);
-
-        match(currToken, "?", parent);
-
-        Node funcImplNode = new Node("func_impl");
-        parent.addChild(funcImplNode);
-        func_impl(funcImplNode);
-    }
-
-    private void func_impl(Node parent) {
-        if (checkMatch(currToken, "¡")) {
-            match(currToken, "¡", parent);
-
-            Node funcBodyNode = new Node("func_body");
-            parent.addChild(funcBodyNode);
-            func_body(funcBodyNode);
-
-            match(currToken, "!", parent);
+        if (checkMatch(currToken, terminal)) {
+            addTerminal(terminal, parent);
         }
+        // Error recovery
         else {
-            match(currToken, ".", parent);
-        }
-    }
-
-    private void func_param(Node parent) {
-        if  (checkMatch(currToken, first("param_decl"))) {
-            Node paramDeclNode = new Node("param_decl");
-            parent.addChild(paramDeclNode);
-            param_decl(paramDeclNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void param_decl(Node parent) {
-        Node datatypeNode = new Node("datatype");
-        parent.addChild(datatypeNode);
-        datatype(datatypeNode);
-
-        match(currToken, "name", parent);
-
-        Node paramListNode = new Node("param_list");
-        parent.addChild(paramListNode);
-        param_list(paramListNode);
-    }
-
-    private void param_list(Node parent) {
-        if (checkMatch(currToken, ",")) {
-            match(currToken, ",", parent);
-            Node paramDecNode = new Node("param_decl");
-            parent.addChild(paramDecNode);
-            param_decl(paramDecNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void func_body(Node parent) {
-        if (checkMatch(currToken, first("expression"))) {
-            Node expressionNode = new Node("expression");
-            parent.addChild(expressionNode);
-            expression(expressionNode);
-
-            Node funcBodyNode = new Node("func_body");
-            parent.addChild(funcBodyNode);
-            func_body(funcBodyNode);
+            //One symbol lookahead
+            Token nextToken = peekNextToken();
 
-            return;
-        }
-        else if (checkMatch(currToken, first("end"))) {
-            Node endNode = new Node("end");
-            parent.addChild(endNode);
-            end(endNode);
+            if (nextToken != null && checkMatch(nextToken, terminal)) {
+                //Skip to next token (assuming right one was received)
+                nextToken();
+                report(new UnexpectedTokenError(prevToken, TokenKind.nameOf(terminal)));
+                addTerminal(terminal, parent);
+                return;
+            }
 
-            return;
+            synchronize(terminal, parent);
         }
-        parent.addChild(new Node("epsilon"));
     }
 
-    private void expression(Node parent) {
-        if (checkMatch(currToken, first("conditional"))) {
-            Node conditionalNode = new Node("conditional");
-            parent.addChild(conditionalNode);
-            conditional(conditionalNode);
-        }
-        else if (checkMatch(currToken, first("while_loop"))) {
-            Node whileLoopNode = new Node("while_loop");
-            parent.addChild(whileLoopNode);
-            while_loop(whileLoopNode);
-        }
-        else if (checkMatch(currToken, first("for_loop"))) {
-            Node forLoopNode = new Node("for_loop");
-            parent.addChild(forLoopNode);
-            for_loop(forLoopNode);
-        }
-        else if (checkMatch(currToken, first("switch_"))) {
-            Node switchNode = new Node("switch_");
-            parent.addChild(switchNode);
-            switch_(switchNode);
-        }
-        else if (checkMatch(currToken, "name")) {
-            match(currToken, "name", parent);
+    // Panic mode: tokens are skipped until the expected terminal or one that can follow the non-terminal being parsed.
+    // If the terminal isn't found it is inserted, so the caller goes on as if it had been there
+    private void synchronize(int terminal, Node parent) {
+        report(new UnexpectedTokenError(currToken, TokenKind.nameOf(terminal)));
+        panicking = true;
+        recovered = true;
 
-            Node funcVarNode = new Node("func_or_var");
-            parent.addChild(funcVarNode);
-            func_or_var(funcVarNode);
+        int nonTerminal = parent.getKind().getNonTerminal();
+        while (!endOfInput && !checkMatch(currToken, terminal) && !ParseTable.follows(nonTerminal, currToken.getKind())) {
+            nextToken();
         }
-        else if (checkMatch(currToken, first("datatype"))) {
-            Node datatypeNode = new Node("datatype");
-            parent.addChild(datatypeNode);
-            datatype(datatypeNode);
-
-            match(currToken, "name", parent);
 
-            Node varDeclNode = new Node("var_decl_assign");
-            parent.addChild(varDeclNode);
-            var_decl_assign(varDeclNode);
-        }
-        else if (checkMatch(currToken, first("arr_decl"))) {
-            Node arrDeclNode = new Node("arr_decl");
-            parent.addChild(arrDeclNode);
-            arr_decl(arrDeclNode);
-        }
-        else {
-            parent.addChild(new Node("epsilon"));
+        // Rules that default to one of their productions can keep asking for terminals without reading any, so after a
+        // few insertions before the same token it is dropped, or the parse given up once there is nothing left to drop
+        while (!checkMatch(currToken, terminal) && currToken == insertedBefore && insertions >= MAX_INSERTIONS) {
+            if (endOfInput) throw new ParseAbandonedException();
+            nextToken();
         }
-    }
 
-    private void func_or_var(Node parent) {
-        if (checkMatch(currToken, first("func_call"))) {
-            Node funcNode = new Node("func_call");
-            parent.addChild(funcNode);
-            func_call(funcNode);
-        }
-        else if (checkMatch(currToken, first("arr_pos"))){
-            Node arrPosNode = new Node("arr_pos");
-            parent.addChild(arrPosNode);
-            arr_pos(arrPosNode);
-
-            Node arrAssignNode = new Node("arr_assign");
-            parent.addChild(arrAssignNode);
-            arr_assign(arrAssignNode);
+        if (checkMatch(currToken, terminal)) {
+            addTerminal(terminal, parent);
         }
         else {
-            Node varNode = new Node("var_assign");
-            parent.addChild(varNode);
-            var_assign(varNode);
-        }
-    }
-    private void end(Node parent) {
-        if (checkMatch(currToken, first("return_"))) {
-            Node returnNode = new Node("return_");
-            parent.addChild(returnNode);
-            return_(returnNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void return_(Node parent) {
-        match(currToken, "throwback", parent);
-
-        Node returnValueNode = new Node("return_value");
-        parent.addChild(returnValueNode);
-        return_value(returnValueNode);
-
-        match(currToken, ".", parent);
-    }
-
-    private void return_value(Node parent) {
-        Node negNode = new Node("neg");
-        parent.addChild(negNode);
-        neg(negNode);
-
-        Node varValueNode = new Node("var_value");
-        parent.addChild(varValueNode);
-        var_value(varValueNode);
-    }
-
-    private void func_call(Node parent) {
-        match(currToken, "¿", parent);
-
-        Node valueListNode = new Node("value_list");
-        parent.addChild(valueListNode);
-        value_list(valueListNode);
-
-        match(currToken, "?", parent);
-        match(currToken, ".", parent);
-    }
+            insertions = currToken == insertedBefore ? insertions + 1 : 1;
+            insertedBefore = currToken;
 
-    private void value_list(Node parent) {
-        if (checkMatch(currToken, first("var_op"))) {
-            Node varOpNode = new Node("var_op");
-            parent.addChild(varOpNode);
-            var_op(varOpNode);
-
-            Node varListMoreNode = new Node("var_list_more");
-            parent.addChild(varListMoreNode);
-            var_list_more(varListMoreNode);
-
-            return;
+            // Names and literals get a harmless value, the symbol table still needs the scopes opened and closed
+            String value = TokenKind.hasSourceValue(terminal) ? "" : TokenKind.nameOf(terminal);
+            if (terminal == TokenKind.NUM_LIT) value = "0";
+            insertTerminal(terminal, parent, value);
         }
-        parent.addChild(new Node("epsilon"));
     }
 
-    private void var_list_more(Node parent) {
-        if (checkMatch(currToken, ",")) {
-            match(currToken, ",", parent);
-
-            Node varListNode = new Node("value_list");
-            parent.addChild(varListNode);
-            value_list(varListNode);
+    private void addTerminal(int terminal, Node parent) {
+        panicking = false;
+        insertTerminal(terminal, parent, currToken.getValue());
 
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void var_assign(Node parent) {
-        Node assignationNode = new Node("assignation");
-        parent.addChild(assignationNode);
-        assignation(assignationNode);
-
-        match(currToken, ".", parent);
+        nextToken();
     }
 
-    private void assignation(Node parent) {
-        if (checkMatch(currToken, "=")) {
-            match(currToken, "=", parent);
-
-            Node varOpNode = new Node("var_op");
-            parent.addChild(varOpNode);
-            var_op(varOpNode);
-        }
-        else {
-            Node equalAssignOpNode = new Node("equal_assign_op");
-            parent.addChild(equalAssignOpNode);
-            equal_assign_op(equalAssignOpNode);
+    private void insertTerminal(int terminal, Node parent, String value) {
+        Node newNode = parent.addChild(NodeKind.ofTerminal(terminal));
+        newNode.setPosition(currToken.getPosition());
+        newNode.setValue(value);
 
-            Node varOpNode = new Node("var_op");
-            parent.addChild(varOpNode);
-            var_op(varOpNode);
-        }
-    }
-
-    private void equal_assign_op(Node parent) {
-        if (checkMatch(currToken, "+=")) {
-            match(currToken, "+=", parent);
-        }
-        else if (checkMatch(currToken, "-=")) {
-            match(currToken, "-=", parent);
-        }
-        else if (checkMatch(currToken, "*=")) {
-            match(currToken, "*=", parent);
-        }
-        else {
-            match(currToken, "/=", parent);
-        }
+        addToSymbolTable(terminal, parent, newNode);
     }
 
-    private void while_loop(Node parent) {
-        match(currToken, "vibe", parent);
-
-        Node whileNode = new Node("while_opt");
-        parent.addChild(whileNode);
-        while_opt(whileNode);
-    }
+    private void addToSymbolTable(int terminal, Node parent, Node node) {
+        if (terminal == TokenKind.BODY_OPEN) {
+            if (parent.getKind() == NodeKind.MAIN) {
+                Node CEONode = parent.getChild(0);
+                assignId(CEONode, currId);
+                insertSymbol("CEO", currId, "zombie", null, true);
+                scopeStack.push(currId++);
+            }
+            else if (parent.getKind() == NodeKind.WHILE || parent.getKind() == NodeKind.DO_WHILE ||
+                     parent.getKind() == NodeKind.IF || parent.getKind() == NodeKind.ELIF ||
+                     parent.getKind() == NodeKind.ELSE) {
 
-    private void while_opt(Node parent) {
-        if (checkMatch(currToken, first("while_"))) {
-            Node whileNode = new Node("while_");
-            parent.addChild(whileNode);
-            while_(whileNode);
+                assignId(parent, currId);
+                symbolsTable.insertBlock(currId, scopeStack.peek());
+                scopeStack.push(currId++);
+            }
         }
-        else {
-            Node doWhileNode = new Node("do_while");
-            parent.addChild(doWhileNode);
-            do_while(doWhileNode);
+        else if (terminal == TokenKind.COLON) {
+            assignId(parent, currId);
+            symbolsTable.insertBlock(currId, scopeStack.peek());
+            scopeStack.push(currId++);
         }
-    }
-
-    private void while_(Node parent) {
-        match(currToken, "check", parent);
-        match(currToken, "¿", parent);
-
-        Node booleanCondNode = new Node("boolean_cond");
-        parent.addChild(booleanCondNode);
-        boolean_cond(booleanCondNode);
-
-        match(currToken, "?", parent);
-        match(currToken, "¡", parent);
-
-        Node funcBodyNode = new Node("func_body");
-        parent.addChild(funcBodyNode);
-        func_body(funcBodyNode);
-
-        match(currToken, "!", parent);
-    }
-
-    private void do_while(Node parent) {
-        match(currToken, "¡", parent);
-
-        Node funcBodyNode = new Node("func_body");
-        parent.addChild(funcBodyNode);
-        func_body(funcBodyNode);
-
-        match(currToken, "!", parent);
-        match(currToken, "then", parent);
-        match(currToken, "check", parent);
-        match(currToken, "¿", parent);
-
-        Node booleanCondNode = new Node("boolean_cond");
-        parent.addChild(booleanCondNode);
-        boolean_cond(booleanCondNode);
-
-        match(currToken, "?", parent);
-    }
-
-    private void conditional(Node parent) {
-        Node ifNode = new Node("if_");
-        parent.addChild(ifNode);
-        if_(ifNode);
-
-        Node elseNode = new Node("cond_else");
-        parent.addChild(elseNode);
-        cond_else(elseNode);
-    }
-
-    private void if_(Node parent) {
-        match(currToken, "like", parent);
-        match(currToken, "¿", parent);
-
-        Node booleanCondNode = new Node("boolean_cond");
-        parent.addChild(booleanCondNode);
-        boolean_cond(booleanCondNode);
-
-        match(currToken, "?", parent);
-        match(currToken, "¡", parent);
-
-        Node funcBodyNode = new Node("func_body");
-        parent.addChild(funcBodyNode);
-        func_body(funcBodyNode);
-
-        match(currToken, "!", parent);
-    }
-
-    private void cond_else(Node parent) {
-        if (checkMatch(currToken, "whatever")) {
-            match(currToken, "whatever", parent);
-
-            Node elseNode = new Node("else_opt");
-            parent.addChild(elseNode);
-            else_opt(elseNode);
-
-            return;
+        else if (terminal == TokenKind.RIGHT && parent.getParent().getKind() != NodeKind.SWITCH
+                || terminal == TokenKind.LEFT || terminal == TokenKind.BODY_CLOSE) {
+            scopeStack.pop();
         }
-        parent.addChild(new Node("epsilon"));
-    }
+        else if (terminal == TokenKind.NAME && parent.getChild(0).getKind() == NodeKind.ZOMBIE) {
 
-    private void else_opt(Node parent) {
-        if (checkMatch(currToken, first("elif"))) {
-            Node elifNode = new Node("elif");
-            parent.addChild(elifNode);
-            elif(elifNode);
+                insertSymbol(node.getValue(), currId, "zombie", null, true);
+                scopeStack.push(currId);
+                assignId(node, currId++);
         }
-        else {
-            Node elseNode = new Node("else_");
-            parent.addChild(elseNode);
-            else_(elseNode);
-        }
-    }
-
-    private void elif(Node parent) {
-        match(currToken, "like", parent);
-        match(currToken, "¿", parent);
-
-        Node booleanCondNode = new Node("boolean_cond");
-        parent.addChild(booleanCondNode);
-        boolean_cond(booleanCondNode);
-
-        match(currToken, "?", parent);
-        match(currToken, "¡", parent);
-
-        Node funcBodyNode = new Node("func_body");
-        parent.addChild(funcBodyNode);
-        func_body(funcBodyNode);
-
-        match(currToken, "!", parent);
-
-        Node condElseNode = new Node("cond_else");
-        parent.addChild(condElseNode);
-        cond_else(condElseNode);
+        else if (terminal == TokenKind.ARGS_OPEN && parent.getKind() == NodeKind.FUNC_DECL && parent.getParent().getKind() == NodeKind.FUNC_OR_VAR_DECL) {
 
-    }
-
-    private void else_(Node parent) {
-        match(currToken, "¡", parent);
-
-        Node currNode = new Node("func_body");
-        parent.addChild(currNode);
-        func_body(currNode);
-
-        match(currToken, "!", parent);
-    }
-
-    private void boolean_cond(Node parent) {
-        Node negNode = new Node("neg");
-        parent.addChild(negNode);
-        neg(negNode);
-
-        Node condNode = new Node("condition");
-        parent.addChild(condNode);
-        condition(condNode);
-
-        Node nestedCondNode = new Node("nest_cond");
-        parent.addChild(nestedCondNode);
-        nest_cond(nestedCondNode);
-    }
-
-    private void condition(Node parent) {
-        if (checkMatch(currToken, "name")) {
-            match(currToken, "name", parent);
+            Node declarationNode = parent.getParent().getParent();
+            String datatype = declarationNode.getChild(0).getChild(0).getStatement();
+            Node nameNode = declarationNode.getChild(1);
 
-            Node comparisonNode = new Node("comparison");
-            parent.addChild(comparisonNode);
-            comparison(comparisonNode);
-        }
-        else if (checkMatch(currToken, first("comparable_literal"))) {
-            Node literalNode = new Node("comparable_literal");
-            parent.addChild(literalNode);
-            comparable_literal(literalNode);
-
-            Node comparisonNode = new Node("comparison");
-            parent.addChild(comparisonNode);
-            comparison(comparisonNode);
+            insertSymbol(nameNode.getValue(), currId, datatype, null, true);
+            scopeStack.push(currId);
+            assignId(nameNode, currId++);
         }
-        else {
-            match(currToken, "(", parent);
+        else if (parent.getKind() == NodeKind.VAR_DECL_ASSIGN && parent.getParent().getKind() == NodeKind.FUNC_OR_VAR_DECL
+                && parent.getChild(0).equals(node)) {
+                //variable
 
-            Node currNode = new Node("condition");
-            parent.addChild(currNode);
-            condition(currNode);
+            String datatype = parent.getParent().getParent().getChild(0).getChild(0).getStatement();
+            Node nameNode = parent.getParent().getParent().getChild(1);
 
-            match(currToken, ")", parent);
+            insertSymbol(nameNode.getValue(), currId, datatype, null, false);
+            assignId(nameNode, currId++);
         }
-    }
-
-    private void nest_cond(Node parent) {
-        if (checkMatch(currToken, "&")) {
-            match(currToken, "&", parent);
+        else if (terminal == TokenKind.NAME && (parent.getKind() == NodeKind.EXPRESSION
+                && parent.getChild(0).getKind() == NodeKind.DATATYPE || parent.getKind() == NodeKind.PARAM_DECL)) {
 
-            Node booleanNode = new Node("boolean_cond");
-            parent.addChild(booleanNode);
-            boolean_cond(booleanNode);
-
-            return;
+            String datatype = parent.getChild(0).getChild(0).getStatement();
+            insertSymbol(node.getValue(), currId, datatype, null, false);
+            assignId(node, currId++);
         }
-        else if (checkMatch(currToken, "|")) {
-            match(currToken, "|", parent);
+        else if (terminal == TokenKind.NAME && parent.getKind() == NodeKind.FOR_DECL) {
 
-            Node booleanNode = new Node("boolean_cond");
-            parent.addChild(booleanNode);
-            boolean_cond(booleanNode);
+            //for loop scope
+            assignId(parent.getParent(), currId);
+            symbolsTable.insertBlock(currId, scopeStack.peek());
+            scopeStack.push(currId++);
+
+            if (!parent.getChild(0).isEpsilon()) {
+                String datatype = parent.getChild(0).getChild(0).getChild(0).getStatement();
+                insertSymbol(node.getValue(), currId, datatype, null, false);
+                assignId(node, currId++);
+                printBlankLine();
+            }
 
-            return;
         }
-        parent.addChild(new Node("epsilon"));
-    }
+        else if (terminal == TokenKind.NAME && parent.getKind() == NodeKind.ARR_DECL) {
 
-    private void comparison(Node parent) {
-        if (checkMatch(currToken, first("comparison_op"))) {
-            Node compOpNode = new Node("comparison_op");
-            parent.addChild(compOpNode);
-            comparison_op(compOpNode);
-
-            Node varOpNode = new Node("var_op");
-            parent.addChild(varOpNode);
-            var_op(varOpNode);
+            String datatype = parent.getChild(2).getChild(0).getStatement();
+            ArrayList<Integer> dimensions = new ArrayList<>();
 
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
-    }
+            // <arr_dim> ::= num_lit <arr_arr>, the last <arr_arr> is epsilon
+            Node arr_dimNode = parent.getChild(1);
+            while (arr_dimNode != null) {
+                dimensions.add(Integer.valueOf(arr_dimNode.getChild(0).getValue()));
+                arr_dimNode = arr_dimNode.getChild(1).getFirstChild();
+            }
 
-    private void comparison_op(Node parent) {
-        if (checkMatch(currToken, "<")) {
-            match(currToken, "<", parent);
-        }
-        else if (checkMatch(currToken, "<=")) {
-            match(currToken, "<=", parent);
-        }
-        else if (checkMatch(currToken, ">")) {
-            match(currToken, ">", parent);
-        }
-        else if (checkMatch(currToken, ">=")) {
-            match(currToken, ">=", parent);
-        }
-        else if (checkMatch(currToken, "==")) {
-            match(currToken, "==", parent);
+            insertSymbol(node.getValue(), currId, datatype, dimensions, false);
+            assignId(node, currId++);
         }
-        else{
-            match(currToken, "#=", parent);
-        }
-    }
-
-    private void switch_(Node parent) {
-        match(currToken, "swipe", parent);
-        match(currToken, "¿", parent);
-        match(currToken, "name", parent);
-        match(currToken, "?", parent);
-        match(currToken, "¡", parent);
 
-        Node caseNode = new Node("case_");
-        parent.addChild(caseNode);
-        case_(caseNode);
-
-        Node defaultNode = new Node("default_");
-        parent.addChild(defaultNode);
-        default_(defaultNode);
-
-        match(currToken, "!", parent);
     }
 
-    private void case_(Node parent) {
-        match(currToken, "right", parent);
-
-        Node litNode = new Node("literal");
-        parent.addChild(litNode);
-        literal(litNode);
+    // An attribute of the innermost open scope
+    private void insertSymbol(String name, int id, String datatype, List<Integer> dimensions, boolean isFunction) {
+        int parentScope = scopeStack.peek();
+        symbolsTable.insert(name, id, datatype, dimensions, parentScope, isFunction);
 
-        match(currToken, ":", parent);
-
-        Node caseNode = new Node("case_body");
-        parent.addChild(caseNode);
-        case_body(caseNode);
-
-        Node nestCaseNode = new Node("nested_case");
-        parent.addChild(nestCaseNode);
-        nested_case(nestCaseNode);
-    }
-
-    private void nested_case(Node parent) {
-        if (checkMatch(currToken, first("case_"))) {
-            Node caseNode = new Node("case_");
-            parent.addChild(caseNode);
-            case_(caseNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
+        if (globalNames != null && parentScope == scopeStack.firstElement())
+            globalNames.add(name);
     }
 
-    private void default_(Node parent) {
-        if (checkMatch(currToken, "left")) {
-            match(currToken, "left", parent);
-            match(currToken, ":", parent);
-
-            Node currNode = new Node("case_body");
-            parent.addChild(currNode);
-            case_body(currNode);
-
-            return;
-        }
-        parent.addChild(new Node("epsilon"));
+    private void assignId(Node node, int id) {
+        node.setId(id);
+        if (sliceIdNodes != null) sliceIdNodes.add(node);
     }
 
-    private void case_body(Node parent) {
-        if (checkMatch(currToken, first("func_body"))) {
-            Node funcNode = new Node("func_body");
-            parent.addChild(funcNode);
-            func_body(funcNode);
-
-            Node breakNode = new Node("break_");
-            parent.addChild(breakNode);
-            break_(breakNode);
-
-            return;
+    private void printBlankLine() {
+        if (sliceIdNodes != null) {
+            sliceBlankLines++;
         }
-        parent.addChild(new Node("epsilon"));
-    }
-
-    private void break_(Node parent) {
-        if (checkMatch(currToken, "periodt")) {
-            match(currToken, "periodt", parent);
-            match(currToken, ".", parent);
-
-            return;
+        else {
+            blankLines++;
+            System.out.println();
         }
-        parent.addChild(new Node("epsilon"));
     }
 
-    private void for_loop(Node parent) {
-        match(currToken, "4", parent);
-        match(currToken, "¿", parent);
+    // Table-driven LL(1) parse of the non-terminal of node into it, the current token picks each production
+    private void parse(Node node) {
+        ParseStack stack = new ParseStack();
+        expand(node, stack);
 
-        Node forDecNode = new Node("for_decl");
-        parent.addChild(forDecNode);
-        for_decl(forDecNode);
+        while (!stack.isEmpty()) {
+            int symbol = stack.peekSymbol();
+            Node parent = tree.node(stack.peekParent());
+            stack.pop();
 
-        Node boolNode = new Node("boolean_cond");
-        parent.addChild(boolNode);
-        boolean_cond(boolNode);
-
-        match(currToken, ".", parent);
-
-        Node forItNode = new Node("for_iterator");
-        parent.addChild(forItNode);
-        for_iterator(forItNode);
-
-        match(currToken, "?", parent);
-        match(currToken, "¡", parent);
-
-        Node forBodyNode = new Node("func_body");
-        parent.addChild(forBodyNode);
-        func_body(forBodyNode);
-
-        match(currToken, "!", parent);
-    }
-
-    private void for_decl(Node parent) {
-        Node forNode = new Node("for_var_type");
-        parent.addChild(forNode);
-        for_var_type(forNode);
-
-        match(currToken, "name", parent);
-
-        Node varNode = new Node("var_decl_assign");
-        parent.addChild(varNode);
-        var_decl_assign(varNode);
-    }
+            if (ParseTable.isTerminal(symbol)) {
+                match(currToken, symbol, parent);
+                continue;
+            }
 
-    private void for_var_type(Node parent) {
-        if (checkMatch(currToken, first("datatype"))) {
-            Node currNode = new Node("datatype");
-            parent.addChild(currNode);
-            datatype(currNode);
+            Node child = parent.addChild(NodeKind.ofNonTerminal(ParseTable.nonTerminalOf(symbol)));
+            // An inserted parenthesis read nothing, going on would only insert it again
+            if (ParseTable.isNested(symbol) && panicking) continue;
 
-            return;
+            expand(child, stack);
         }
-        parent.addChild(new Node("epsilon"));
     }
 
-    private void for_iterator(Node parent) {
-        match(currToken, "name", parent);
-
-        Node currNode = new Node("it_change");
-        parent.addChild(currNode);
-        it_change(currNode);
-    }
-
-    private void it_change(Node parent) {
-        if (checkMatch(currToken, "++")) {
-            match(currToken, "++", parent);
-        }
-        else if (checkMatch(currToken, "--")) {
-            match(currToken, "--", parent);
-        }
-        else {
-            Node equalNode = new Node("equal_assign_op");
-            parent.addChild(equalNode);
-            equal_assign_op(equalNode);
+    // Pushes the symbols of the production the current token predicts for node, the first one ends up on top
+    private void expand(Node node, ParseStack stack) {
+        int[] production = ParseTable.production(node.getKind().getNonTerminal(), currToken.getKind());
 
-            Node varNode = new Node("var_value");
-            parent.addChild(varNode);
-            var_value(varNode);
+        if (production.length == 0) node.setEpsilon();
+        for (int i = production.length - 1; i >= 0; i--) {
+            stack.push(production[i], node.getIndex());
         }
     }
 }
@@ -0,0 +1,99 @@
+package stages.frontend;
+
+import entities.Token;
+import exceptions.NoTokenLeftException;
+
+// Ring buffer of lexed tokens between the lexer and the parser. Unknown tokens are kept as they are, reporting them is
+// left to whoever consumes them
+public class TokenBuffer {
+
+    private static final int BATCH_SIZE = 32;
+
+    private final TokenSource lexer;
+    private final int maxLookahead;
+    private Token[] ring;
+    private int cursor;
+    private int filled;
+    private int marks;
+    private int markStart;
+    private boolean exhausted;
+
+    public TokenBuffer(TokenSource lexer, int maxLookahead) {
+        this.lexer = lexer;
+        this.maxLookahead = maxLookahead;
+
+        int capacity = Integer.highestOneBit(Math.max(maxLookahead + BATCH_SIZE, 2) * 2 - 1);
+        ring = new Token[capacity];
+        cursor = 0;
+        filled = 0;
+        marks = 0;
+        exhausted = false;
+    }
+
+    // The k-th token after the current one (k = 0 is the current one), or null past the end of the source
+    public Token peek(int k) {
+        if (k < 0 || k > maxLookahead) {
+            throw new IllegalArgumentException("Lookahead " + k + " is out of range 0.." + maxLookahead);
+        }
+
+        while (cursor + k >= filled) {
+            if (exhausted) return null;
+            fill();
+        }
+        return ring[(cursor + k) & (ring.length - 1)];
+    }
+
+    // Returns the current token and moves past it, null once the source is over
+    public Token next() {
+        Token token = peek(0);
+        if (token != null) cursor++;
+        return token;
+    }
+
+    // Token that stands for the end of the source, next() returns null instead of it
+    public Token endOfInput() {
+        return lexer.endOfInput();
+    }
+
+    // Keeps every token from here on until the mark is reset or released
+    public int mark() {
+        if (marks++ == 0) markStart = cursor;
+        return cursor;
+    }
+
+    public void reset(int mark) {
+        cursor = mark;
+        release(mark);
+    }
+
+    public void release(int mark) {
+        if (marks > 0) marks--;
+    }
+
+    private void fill() {
+        int kept = filled - (marks > 0 ? markStart : cursor);
+        if (kept + BATCH_SIZE > ring.length) grow(kept + BATCH_SIZE);
+
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                ring[filled & (ring.length - 1)] = lexer.scanToken();
+                filled++;
+            }
+        }
+        catch (NoTokenLeftException e) {
+            exhausted = true;
+        }
+    }
+
+    // Absolute positions stay valid, only the slots they map to move
+    private void grow(int minCapacity) {
+        int capacity = ring.length;
+        while (capacity < minCapacity) capacity *= 2;
+
+        Token[] grown = new Token[capacity];
+        for (int i = marks > 0 ? markStart : cursor; i < filled; i++) {
+            grown[i & (capacity - 1)] = ring[i & (ring.length - 1)];
+        }
+        ring = grown;
+    }
+}
@@ -0,0 +1,59 @@
+package stages.frontend;
+
+import entities.Token;
+import exceptions.NoTokenLeftException;
+
+import java.util.Arrays;
+
+// Every token of a source, lexed before the parse starts when lexing runs as a stage of its own
+public class TokenList {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Token[] tokens;
+    private int size;
+    private final Token endOfInput;
+
+    public TokenList(TokenSource lexer) {
+        tokens = new Token[INITIAL_CAPACITY];
+        size = 0;
+
+        try {
+            while (true) {
+                Token token = lexer.scanToken();
+                if (size == tokens.length) tokens = Arrays.copyOf(tokens, size * 2);
+                tokens[size++] = token;
+            }
+        }
+        catch (NoTokenLeftException e) {
+            // The whole source is lexed
+        }
+        endOfInput = lexer.endOfInput();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Token get(int index) {
+        return tokens[index];
+    }
+
+    // Hands the tokens out again from the first one, each reader on its own
+    public TokenSource reader() {
+        return new TokenSource() {
+            private int next = 0;
+
+            @Override
+            public Token scanToken() throws NoTokenLeftException {
+                if (next == size) throw new NoTokenLeftException();
+                return tokens[next++];
+            }
+
+            @Override
+            public Token endOfInput() {
+                return endOfInput;
+            }
+        };
+    }
+}
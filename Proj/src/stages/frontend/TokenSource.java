@@ -0,0 +1,13 @@
+package stages.frontend;
+
+import entities.Token;
+import exceptions.NoTokenLeftException;
+
+// Where a TokenBuffer takes its tokens from, the lexer itself or the tokens it already produced
+public interface TokenSource {
+
+    // Text that matches no token comes back as an UNKNOWN token
+    Token scanToken() throws NoTokenLeftException;
+
+    Token endOfInput();
+}
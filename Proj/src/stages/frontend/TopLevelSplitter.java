@@ -0,0 +1,110 @@
+package stages.frontend;
+
+import java.util.Arrays;
+
+// Finds where top-level items end (a "." outside any body, or the "!" closing an outermost body) without lexing
+public class TopLevelSplitter {
+
+    private int[] offsets;
+    private int[] lines;
+    private int count;
+
+    public TopLevelSplitter(CharSequence srcCode) {
+        offsets = new int[64];
+        lines = new int[64];
+        count = 0;
+
+        if (!scan(srcCode)) count = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // Offset right after the i-th boundary, where the next top-level item starts
+    public int getOffset(int i) {
+        return offsets[i];
+    }
+
+    // Line the i-th boundary is on
+    public int getLine(int i) {
+        return lines[i];
+    }
+
+    // Skips literals and comments exactly like the tokenizer does, so that their contents can't look like boundaries
+    private boolean scan(CharSequence srcCode) {
+
+        int length = srcCode.length();
+        int unclosedCommentFrom = Integer.MAX_VALUE;
+        int depth = 0;
+        int line = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = srcCode.charAt(i);
+
+            switch (c) {
+                case '\n' -> line++;
+                case '"', '\'' -> {
+                    int end = nextQuote(srcCode, i + 1);
+                    if (end < 0) return depth == 0;
+
+                    for (int j = i + 1; j < end; j++) {
+                        if (srcCode.charAt(j) == '\n') line++;
+                    }
+                    i = end;
+                }
+                case '<' -> {
+                    if (i + 1 < length && srcCode.charAt(i + 1) == '<' && i + 2 < unclosedCommentFrom) {
+                        int end = commentEnd(srcCode, i + 2);
+
+                        if (end < 0) {
+                            unclosedCommentFrom = i + 2;
+                        }
+                        else {
+                            for (int j = i + 2; j < end; j++) {
+                                if (srcCode.charAt(j) == '\n') line++;
+                            }
+                            i = end + 1;
+                        }
+                    }
+                }
+                case '¡' -> depth++;
+                case '!' -> {
+                    if (depth == 0) return false;
+                    if (--depth == 0) add(i + 1, line);
+                }
+                case '.' -> {
+                    if (depth == 0) add(i + 1, line);
+                }
+                default -> {
+                }
+            }
+        }
+        return depth == 0;
+    }
+
+    private int nextQuote(CharSequence srcCode, int from) {
+        for (int i = from; i < srcCode.length(); i++) {
+            char c = srcCode.charAt(i);
+            if (c == '"' || c == '\'') return i;
+        }
+        return -1;
+    }
+
+    private int commentEnd(CharSequence srcCode, int from) {
+        for (int i = from; i + 1 < srcCode.length(); i++) {
+            if (srcCode.charAt(i) == '>' && srcCode.charAt(i + 1) == '>') return i;
+        }
+        return -1;
+    }
+
+    private void add(int offset, int line) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lines = Arrays.copyOf(lines, count * 2);
+        }
+        offsets[count] = offset;
+        lines[count] = line;
+        count++;
+    }
+}
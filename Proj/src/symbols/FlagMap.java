@@ -0,0 +1,94 @@
+package symbols;
+
+import java.util.Arrays;
+
+// The flags the analysis set on the rows, in a trie over the bits of the ids: the last 5 bits pick the flags in a leaf
+// and each level above takes the next 5. Setting a flag copies the path to its leaf and shares every other node with
+// the map it was set in, so a map never changes once it is made and any thread can read it without locking. The leaf
+// set last is kept apart and only copied while the flags set go to it, the rows of a scope have ids close together
+public final class FlagMap {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    // A row nothing was set on has the flags it was inserted with
+    public static final FlagMap EMPTY = new FlagMap(null, BITS, -1, null);
+
+    // An Object[] of children above the leaves, a byte[] of flags for the leaves, null where nothing was set
+    private final Object root;
+    // How many bits of the id the trie covers
+    private final int bits;
+    // The leaf set last, newer than the one in the trie, and the ids it holds shifted by BITS
+    private final int tailIndex;
+    private final byte[] tail;
+
+    private FlagMap(Object root, int bits, int tailIndex, byte[] tail) {
+        this.root = root;
+        this.bits = bits;
+        this.tailIndex = tailIndex;
+        this.tail = tail;
+    }
+
+    public byte get(int id) {
+        if (id >>> BITS == tailIndex) return tail[id & MASK];
+
+        byte[] leaf = leaf(id);
+        return leaf == null ? SymbolsTable.INSERTED : leaf[id & MASK];
+    }
+
+    private byte[] leaf(int id) {
+        if (id >>> bits != 0) return null;
+
+        Object node = root;
+        for (int shift = bits - BITS; shift > 0 && node != null; shift -= BITS) {
+            node = ((Object[]) node)[id >>> shift & MASK];
+        }
+        return (byte[]) node;
+    }
+
+    public FlagMap set(int id, byte flags) {
+        if (id >>> BITS == tailIndex) {
+            byte[] leaf = tail.clone();
+            leaf[id & MASK] = flags;
+            return new FlagMap(root, bits, tailIndex, leaf);
+        }
+
+        FlagMap map = tail == null ? this : put(tailIndex << BITS, tail);
+        byte[] leaf = map.leaf(id);
+        leaf = leaf == null ? newLeaf() : leaf.clone();
+        leaf[id & MASK] = flags;
+        return new FlagMap(map.root, map.bits, id >>> BITS, leaf);
+    }
+
+    // The map with the leaf of the id in the trie and no tail
+    private FlagMap put(int id, byte[] leaf) {
+        // A trie too small for the id gets levels on top, the current one being their first child
+        Object top = root;
+        int topBits = bits;
+        while (id >>> topBits != 0) {
+            if (top != null) {
+                Object[] parent = new Object[WIDTH];
+                parent[0] = top;
+                top = parent;
+            }
+            topBits += BITS;
+        }
+        return new FlagMap(put(top, topBits - BITS, id, leaf), topBits, -1, null);
+    }
+
+    private static Object put(Object node, int shift, int id, byte[] leaf) {
+        if (shift == 0) return leaf;
+
+        Object[] children = node == null ? new Object[WIDTH] : ((Object[]) node).clone();
+        int index = id >>> shift & MASK;
+        children[index] = put(children[index], shift - BITS, id, leaf);
+        return children;
+    }
+
+    private static byte[] newLeaf() {
+        byte[] leaf = new byte[WIDTH];
+        Arrays.fill(leaf, SymbolsTable.INSERTED);
+        return leaf;
+    }
+}
@@ -0,0 +1,57 @@
+package symbols;
+
+import java.util.Arrays;
+
+// Ids of symbol rows in the order they were added, without boxing them. A list never changes: adding to it gives a new
+// one that shares its array and fills the next free slot, or copies the array when another list already filled it
+public final class IdList {
+
+    public static final IdList EMPTY = new IdList(new int[0], new int[1], 0);
+
+    private final int[] ids;
+    // How many slots of the array the lists sharing it have filled, the first element being the count
+    private final int[] filled;
+    private final int size;
+
+    private IdList(int[] ids, int[] filled, int size) {
+        this.ids = ids;
+        this.filled = filled;
+        this.size = size;
+    }
+
+    // Only one thread at a time can add to the lists sharing an array, the table does it while it holds its lock
+    public IdList add(int id) {
+        if (size == filled[0] && size < ids.length) {
+            ids[size] = id;
+            filled[0]++;
+            return new IdList(ids, filled, size + 1);
+        }
+
+        int[] copy = Arrays.copyOf(ids, Math.max(4, size * 2));
+        copy[size] = id;
+        return new IdList(copy, new int[] {size + 1}, size + 1);
+    }
+
+    // Copies both, so unlike add any thread can do it
+    public IdList addAll(IdList other) {
+        if (isEmpty()) return other;
+        if (other.isEmpty()) return this;
+
+        int[] copy = Arrays.copyOf(ids, size + other.size);
+        System.arraycopy(other.ids, 0, copy, size, other.size);
+        return new IdList(copy, new int[] {copy.length}, copy.length);
+    }
+
+    public int get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,127 @@
+package symbols;
+
+// A hash array mapped trie, each level taking the next 5 bits of the hash. Putting a key copies the nodes on the way to
+// it and shares every other node with the map it was put in, so a map never changes once it is made and any thread can
+// read it without locking
+public final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new Node(0, new Object[0]));
+
+    // Only the slots whose bit is set in the bitmap are stored, in the order of their bits
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    // Keys with the same hash are chained in the same slot
+    private static final class Leaf {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+        private final Leaf next;
+
+        private Leaf(int hash, Object key, Object value, Leaf next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private final Node root;
+
+    private PersistentMap(Node root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int hash = key.hashCode();
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << (hash >>> shift & MASK);
+            if ((node.bitmap & bit) == 0) return null;
+
+            Object slot = node.slots[Integer.bitCount(node.bitmap & bit - 1)];
+            if (slot instanceof Node child) {
+                node = child;
+                continue;
+            }
+
+            for (Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next) {
+                if (leaf.hash == hash && leaf.key.equals(key)) return (V) leaf.value;
+            }
+            return null;
+        }
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public PersistentMap<K, V> put(K key, V value) {
+        return new PersistentMap<>(put(root, 0, key.hashCode(), key, value));
+    }
+
+    private static Node put(Node node, int shift, int hash, Object key, Object value) {
+        int bit = 1 << (hash >>> shift & MASK);
+        int index = Integer.bitCount(node.bitmap & bit - 1);
+
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            slots[index] = new Leaf(hash, key, value, null);
+            System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+            return new Node(node.bitmap | bit, slots);
+        }
+
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Node child) {
+            replacement = put(child, shift + BITS, hash, key, value);
+        }
+        else {
+            Leaf leaf = (Leaf) slot;
+            if (leaf.hash == hash) replacement = replace(leaf, key, value);
+            else replacement = split(leaf, new Leaf(hash, key, value, null), shift + BITS);
+        }
+
+        Object[] slots = node.slots.clone();
+        slots[index] = replacement;
+        return new Node(node.bitmap, slots);
+    }
+
+    private static Leaf replace(Leaf chain, Object key, Object value) {
+        if (chain == null) return null;
+        if (chain.key.equals(key)) return new Leaf(chain.hash, key, value, chain.next);
+
+        Leaf next = replace(chain.next, key, value);
+        if (next == null) return new Leaf(chain.hash, key, value, chain);
+        return new Leaf(chain.hash, chain.key, chain.value, next);
+    }
+
+    // Two hashes differ in some bit, so they part at the latest on the level of the last two bits
+    private static Node split(Leaf first, Leaf second, int shift) {
+        int firstIndex = first.hash >>> shift & MASK;
+        int secondIndex = second.hash >>> shift & MASK;
+        if (firstIndex == secondIndex)
+            return new Node(1 << firstIndex, new Object[] {split(first, second, shift + BITS)});
+
+        Object[] slots = firstIndex < secondIndex ? new Object[] {first, second} : new Object[] {second, first};
+        return new Node(1 << firstIndex | 1 << secondIndex, slots);
+    }
+}
@@ -0,0 +1,53 @@
+package symbols;
+
+// The scopes open at a point of the analysis, innermost first, with the flags it has set on the rows so far. Entering a
+// scope only links a new scope to the chain, and setting a flag only copies the path to the row in the map of flags, so
+// a chain never changes once it is made: another thread can read it, and going back to it drops what was set after it
+public final class ScopeChain {
+
+    private final int scope;
+    private final ScopeChain parent;
+    // The rows the analysis set flags on, the rest are as they were inserted
+    private final FlagMap flags;
+
+    // The outermost scope of the chain, with the flags the analysis starts from
+    public ScopeChain(int scope, FlagMap flags) {
+        this(scope, null, flags);
+    }
+
+    private ScopeChain(int scope, ScopeChain parent, FlagMap flags) {
+        this.scope = scope;
+        this.parent = parent;
+        this.flags = flags;
+    }
+
+    public ScopeChain enter(int id) {
+        return new ScopeChain(id, this, flags);
+    }
+
+    // The flags set inside the scope stay set once it is left
+    public ScopeChain exit() {
+        return new ScopeChain(parent.scope, parent.parent, flags);
+    }
+
+    public int getScope() {
+        return scope;
+    }
+
+    public ScopeChain getParent() {
+        return parent;
+    }
+
+    public FlagMap getFlags() {
+        return flags;
+    }
+
+    public byte getFlags(int id) {
+        return flags.get(id);
+    }
+
+    public ScopeChain setFlags(int id, byte value) {
+        if (getFlags(id) == value) return this;
+        return new ScopeChain(scope, parent, flags.set(id, value));
+    }
+}
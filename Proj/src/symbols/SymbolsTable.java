@@ -1,108 +1,419 @@
 package symbols;
 
-import entities.Node;
+import entities.Datatype;
+import entities.ast.Name;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Stack;
+import java.util.List;
 
+// The rows are stored by id in primitive columns: the interned name and type, the id of the scope and the flags. Rows
+// are also indexed by the scope they are declared in, so resolving a name takes one probe per open scope instead of a
+// scan over every row with that name. The index is persistent: inserting takes the lock of the table and publishes a
+// new version, resolving reads the last one published without locking, so the parser can go on inserting rows while a
+// pipeline worker looks names up and function bodies analysed in parallel never wait. Reading and setting the facts of
+// a row needs no lock
 public class SymbolsTable {
-    private final HashMap<String, ArrayList<SymbolRow>> symbols;
+
+    // The parent scope of the program, the only row without one
+    public static final int NO_SCOPE = -1;
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final byte PRESENT = 1;
+    private static final byte ATTRIBUTE = 1 << 1;
+    private static final byte FUNCTION = 1 << 2;
+    public static final byte DECLARED = 1 << 3;
+    public static final byte INITIALIZED = 1 << 4;
+    public static final byte MIGHT_NOT_BE_INITIALIZED = 1 << 5;
+    public static final byte READ_ONLY = 1 << 6;
+    // The flags of a row the analysis didn't set anything on
+    public static final byte INSERTED = MIGHT_NOT_BE_INITIALIZED;
+    // What the parser knows about a row, the rest is set by the analysis
+    private static final byte PARSED = PRESENT | ATTRIBUTE | FUNCTION;
+
+    // The columns of PAGE_SIZE consecutive ids. A page never moves once it is allocated, so the flags and registers a
+    // worker sets are never lost to the parser growing the table
+    private static final class Page {
+        private final int[] names = new int[PAGE_SIZE];
+        private final int[] types = new int[PAGE_SIZE];
+        private final int[] parentScopes = new int[PAGE_SIZE];
+        private final byte[] flags = new byte[PAGE_SIZE];
+        private final String[] registers = new String[PAGE_SIZE];
+        // The attributes a scope declares by name, replaced by a new map for each one
+        private final PersistentMap<?, ?>[] declarations = new PersistentMap<?, ?>[PAGE_SIZE];
+    }
+
+    // Values stored once and referred to by their index, -1 being null. The array is copied before it grows and
+    // published after the value is in, so whoever holds an index finds its value without locking
+    private static final class Pool<T> {
+        private final HashMap<T, Integer> indexes = new HashMap<>();
+        private volatile Object[] values = new Object[16];
+
+        private int intern(T value) {
+            if (value == null) return -1;
+
+            Integer index = indexes.get(value);
+            if (index != null) return index;
+
+            int next = indexes.size();
+            Object[] current = values;
+            if (next == current.length) current = Arrays.copyOf(current, next * 2);
+            current[next] = value;
+            values = current;
+            indexes.put(value, next);
+            return next;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(int index) {
+            return index == -1 ? null : (T) values[index];
+        }
+    }
+
+    // The attributes stored under one name, each list in insertion order. Inserting one gives new entries
+    private static final class Entries {
+        private static final Entries NONE = new Entries(IdList.EMPTY, IdList.EMPTY);
+
+        private final IdList functions;
+        // Variables whose scope is called start, the ones a function falls back to
+        private final IdList globals;
+
+        private Entries(IdList functions, IdList globals) {
+            this.functions = functions;
+            this.globals = globals;
+        }
+    }
+
+    // The types the analysis builds out of one type, each one built once
+    private static final class Derived {
+        // By the number of dimensions indexed, null until it is built
+        private final Datatype[] elements;
+        // Sorted, the fams of each size
+        private int[] famSizes = new int[0];
+        private Datatype[] fams = new Datatype[0];
+
+        private Derived(Datatype type) {
+            elements = new Datatype[type.getDimensions() == null ? 0 : type.getDimensions().size() + 1];
+        }
+    }
+
+    private volatile Page[] pages;
+    private volatile int size;
+    private final Pool<String> names;
+    // One type per name and dimensions for the whole table, by their index. The ones the analysis builds are in it too
+    private final Pool<Datatype> types;
+    private final HashMap<Datatype, Derived> derived;
+    private volatile PersistentMap<String, Entries> symbols;
 
     public SymbolsTable() {
-        symbols = new HashMap<>();
+        pages = new Page[16];
+        names = new Pool<>();
+        types = new Pool<>();
+        derived = new HashMap<>();
+        symbols = PersistentMap.empty();
+    }
+
+    // dimensions is null for anything but a fam
+    public synchronized void insert(String name, int id, String dataType, List<Integer> dimensions, int parentScope,
+                                    boolean isFunction) {
+        insertAttribute(name, id, dataType, dimensions, parentScope, isFunction);
     }
 
-    public void insert(SymbolRow symbolRow) {
+    private void insertAttribute(String name, int id, String dataType, List<Integer> dimensions, int parentScope,
+                                 boolean isFunction) {
+        if (contains(id)) return;
+
+        byte flags = (byte) (PRESENT | ATTRIBUTE | INSERTED | (isFunction ? FUNCTION : 0));
+        int type = types.intern(dataType == null ? null : Datatype.of(dataType, dimensions));
+        addRow(id, names.intern(name), type, parentScope, flags);
+
+        Entries entries = symbols.getOrDefault(name, Entries.NONE);
+        IdList functions = entries.functions;
+        IdList globals = entries.globals;
 
-        String name = Integer.toString(symbolRow.getId());
-        if (symbolRow instanceof SymbolAttribute) {
-            name = symbolRow.getName();
+        if (parentScope != NO_SCOPE) {
+            PersistentMap<String, IdList> declared = getDeclarations(parentScope);
+            pageFor(parentScope).declarations[parentScope & PAGE_MASK] =
+                    declared.put(name, declared.getOrDefault(name, IdList.EMPTY).add(id));
         }
-        ArrayList<SymbolRow> symbolRowList = symbols.get(name);
 
-        if (symbolRowList == null) {
-            symbolRowList = new ArrayList<>();
-            symbolRowList.add(symbolRow);
-            symbols.put(name, symbolRowList);
+        // Only the variables of the program scope are globals, the ones of a block or without a scope never are
+        if (isFunction) {
+            functions = functions.add(id);
         }
-        else {
-            if (lookUp(name, symbolRow.getId()) == null) {
-                symbolRowList.add(symbolRow);
-            }
+        else if (parentScope != NO_SCOPE && isAttribute(parentScope) && getName(parentScope).equals("start")) {
+            globals = globals.add(id);
         }
+        // The row is in its columns before it can be resolved
+        symbols = symbols.put(name, new Entries(functions, globals));
+    }
 
+    // The scope of a block, which has no name
+    public synchronized void insertBlock(int id, int parentScope) {
+        if (!contains(id)) addRow(id, -1, -1, parentScope, PRESENT);
     }
 
-    public SymbolRow lookUp(String name, int id) {
+    // Adds the rows of a table whose ids start at 1 after the ones of this table. Scope 0 is the program in both
+    public synchronized void append(SymbolsTable slice, int offset) {
+        for (int id = 1; id < slice.size(); id++) {
+            if (!slice.contains(id)) continue;
+
+            int parentScope = slice.getParentScope(id);
+            if (parentScope != 0) parentScope += offset;
 
-        ArrayList<SymbolRow> symbolRowList = symbols.get(name);
-        if (symbolRowList == null) {
-            return null;
+            if (slice.isAttribute(id))
+                insertAttribute(slice.getName(id), id + offset, slice.getDataType(id), slice.getDimensions(id),
+                        parentScope, slice.isFunction(id));
+            else if (!contains(id + offset))
+                addRow(id + offset, -1, -1, parentScope, PRESENT);
         }
+    }
+
+    private void addRow(int id, int name, int type, int parentScope, byte flags) {
+        Page page = pageFor(id);
+        int row = id & PAGE_MASK;
+        page.names[row] = name;
+        page.types[row] = type;
+        page.parentScopes[row] = parentScope;
+        page.flags[row] = flags;
+        size = Math.max(size, id + 1);
+    }
+
+    // The page of the id, allocated if it is the first row in it
+    private Page pageFor(int id) {
+        Page[] current = pages;
+        int pageIndex = id >>> PAGE_BITS;
+        if (pageIndex >= current.length) current = Arrays.copyOf(current, Math.max(current.length * 2, pageIndex + 1));
+        if (current[pageIndex] == null) current[pageIndex] = new Page();
+        pages = current;
+        return current[pageIndex];
+    }
+
+    // Ids go from 0 without gaps, so this is also the number of rows
+    public int size() {
+        return size;
+    }
+
+    private Page page(int id) {
+        return pages[id >>> PAGE_BITS];
+    }
+
+    public boolean contains(int id) {
+        Page[] current = pages;
+        if (id < 0 || id >>> PAGE_BITS >= current.length) return false;
+
+        Page page = current[id >>> PAGE_BITS];
+        return page != null && (page.flags[id & PAGE_MASK] & PRESENT) != 0;
+    }
+
+    private boolean hasFlag(int id, byte flag) {
+        return (page(id).flags[id & PAGE_MASK] & flag) != 0;
+    }
+
+    private void setFlag(int id, byte flag, boolean value) {
+        byte[] flags = page(id).flags;
+        int row = id & PAGE_MASK;
+        flags[row] = (byte) (value ? flags[row] | flag : flags[row] & ~flag);
+    }
+
+    // Blocks are the only rows that are not attributes
+    public boolean isAttribute(int id) {
+        return contains(id) && hasFlag(id, ATTRIBUTE);
+    }
+
+    public String getName(int id) {
+        return names.get(page(id).names[id & PAGE_MASK]);
+    }
+
+    // Pooled by the table, so the same for every row of the type
+    public Datatype getType(int id) {
+        return types.get(page(id).types[id & PAGE_MASK]);
+    }
+
+    public String getDataType(int id) {
+        Datatype type = getType(id);
+        return type == null ? null : type.getType();
+    }
+
+    // Shared by the rows of the type, so it can't be modified. A variable has null
+    public List<Integer> getDimensions(int id) {
+        Datatype type = getType(id);
+        return type == null ? null : type.getDimensions();
+    }
+
+    // The type of a position of fam reached through the given number of indexes, with the dimensions left last one
+    // first. Like every type built here it is the one of the pool, so building it again allocates nothing
+    public synchronized Datatype elementType(Datatype fam, int dimensions) {
+        Derived from = derivedFrom(fam);
+        Datatype element = from.elements[dimensions];
+        if (element != null) return element;
 
-        for (SymbolRow symbolRow : symbolRowList) {
-            if (symbolRow.getId() == id) {
-                return symbolRow;
+        List<Integer> famDimensions = fam.getDimensions();
+        ArrayList<Integer> dims = null;
+        if (famDimensions.size() != dimensions) {
+            dims = new ArrayList<>();
+            for (int i = famDimensions.size() - 1; i >= dimensions; i--) {
+                dims.add(famDimensions.get(i));
             }
         }
-        return null;
+        element = pooled(Datatype.of(fam.getType(), dims));
+        from.elements[dimensions] = element;
+        return element;
+    }
+
+    // A fam of size values of the given type, a string is a fam of mainchar
+    public synchronized Datatype famType(Datatype element, int size) {
+        Derived from = derivedFrom(element);
+        int index = Arrays.binarySearch(from.famSizes, size);
+        if (index >= 0) return from.fams[index];
+
+        ArrayList<Integer> dims = new ArrayList<>();
+        dims.add(size);
+        if (element.getDimensions() != null) dims.addAll(element.getDimensions());
+        Datatype fam = pooled(Datatype.of(element.getType(), dims));
+
+        index = -index - 1;
+        from.famSizes = insertAt(from.famSizes, index, size);
+        Datatype[] fams = Arrays.copyOf(from.fams, from.fams.length + 1);
+        System.arraycopy(fams, index, fams, index + 1, fams.length - index - 1);
+        fams[index] = fam;
+        from.fams = fams;
+        return fam;
+    }
+
+    private Derived derivedFrom(Datatype type) {
+        Derived from = derived.get(type);
+        if (from == null) {
+            from = new Derived(type);
+            derived.put(type, from);
+        }
+        return from;
+    }
+
+    private Datatype pooled(Datatype type) {
+        return types.get(types.intern(type));
+    }
+
+    private static int[] insertAt(int[] values, int index, int value) {
+        int[] inserted = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(inserted, index, inserted, index + 1, inserted.length - index - 1);
+        inserted[index] = value;
+        return inserted;
+    }
+
+    public int getParentScope(int id) {
+        return page(id).parentScopes[id & PAGE_MASK];
+    }
+
+    public boolean isFunction(int id) {
+        return contains(id) && hasFlag(id, FUNCTION);
+    }
+
+    public boolean isDeclared(int id) {
+        return hasFlag(id, DECLARED);
+    }
+
+    public void setDeclared(int id, boolean declared) {
+        setFlag(id, DECLARED, declared);
+    }
+
+    public boolean isInitialized(int id) {
+        return hasFlag(id, INITIALIZED);
+    }
+
+    public void setInitialized(int id, boolean initialized) {
+        setFlag(id, INITIALIZED, initialized);
     }
 
-    // Only for non-SymbolAttributes
-    public SymbolRow lookUp(int id) {
-        return lookUp(Integer.toString(id), id);
+    public boolean getMightNotBeInitialized(int id) {
+        return hasFlag(id, MIGHT_NOT_BE_INITIALIZED);
     }
 
-    public ArrayList<SymbolRow> getEntriesInScope(Node nameNode, Stack<Node> stack, boolean isFunction) {
+    public void setMightNotBeInitialized(int id, boolean mightNotBeInitialized) {
+        setFlag(id, MIGHT_NOT_BE_INITIALIZED, mightNotBeInitialized);
+    }
+
+    public boolean isReadOnly(int id) {
+        return hasFlag(id, READ_ONLY);
+    }
+
+    public void setReadOnly(int id, boolean isReadOnly) {
+        setFlag(id, READ_ONLY, isReadOnly);
+    }
+
+    // The flags the analysis sets, DECLARED, INITIALIZED, MIGHT_NOT_BE_INITIALIZED and READ_ONLY, as one value
+    public byte getFlags(int id) {
+        return (byte) (page(id).flags[id & PAGE_MASK] & ~PARSED);
+    }
+
+    public void setFlags(int id, byte flags) {
+        byte[] current = page(id).flags;
+        int row = id & PAGE_MASK;
+        current[row] = (byte) (current[row] & PARSED | flags & ~PARSED);
+    }
+
+    public String getRegister(int id) {
+        return page(id).registers[id & PAGE_MASK];
+    }
+
+    public void setRegister(int id, String register) {
+        page(id).registers[id & PAGE_MASK] = register;
+    }
+
+    // Leaves every row as the parser inserted it, for an analysis that has to start again
+    public synchronized void clearAnalysis() {
+        for (int id = 0; id < size; id++) {
+            if (!isAttribute(id)) continue;
+
+            setFlags(id, INSERTED);
+            setRegister(id, null);
+        }
+    }
+
+    // The chain holds the scopes open at the name. They are searched up to the closest function, and a function that
+    // declares nothing with the name falls back to the variables of the program. A name that is nowhere gets no rows
+    public IdList getEntriesInScope(Name nameNode, ScopeChain chain, boolean isFunction) {
 
         String name = nameNode.getValue();
-        ArrayList<SymbolRow> entries = new ArrayList<>();
-        ArrayList<SymbolRow> result = symbols.get(name);
+        IdList entries = IdList.EMPTY;
+        Entries result = symbols.get(name);
 
         if (result == null) return entries;
 
         if (isFunction) {
-            for (SymbolRow symbolRow : result) {
-                if (symbolRow.isFunction()) {
-                    entries.add(symbolRow);
-                    nameNode.setId(symbolRow.getId());
-                }
-            }
-            return entries;
+            return found(result.functions, entries, nameNode);
         }
-        SymbolRow scopeSymbolRow;
-        for (int i = stack.size()-1; i >= 0; i--) {
-            scopeSymbolRow = lookUp(stack.get(i).getValue() , stack.get(i).getId());
-            if (scopeSymbolRow == null) {
-                if (stack.get(i).getId() == 0) {
-                    scopeSymbolRow = lookUp("start", 0);
-                }
-                else {
-                    scopeSymbolRow = lookUp(stack.get(i).getId());
-                }
-            }
+        for (ScopeChain scope = chain; scope != null; scope = scope.getParent()) {
+            IdList rows = getDeclarations(scope.getScope()).get(name);
+            if (rows != null) entries = found(rows, entries, nameNode);
 
-            for (SymbolRow symbolRow : result) {
-                if (symbolRow.getParentScope().equals(scopeSymbolRow)) {
-                    entries.add(symbolRow);
-                    nameNode.setId(symbolRow.getId());
-                }
-            }
-
-            if (scopeSymbolRow.isFunction() && !entries.isEmpty()) {
+            boolean isFunctionScope = isFunction(scope.getScope());
+            if (isFunctionScope && !entries.isEmpty()) {
                 return entries;
             }
-            else if (scopeSymbolRow.isFunction() && entries.isEmpty()){
-                for (SymbolRow symbolRow : result) {
-                    if (!symbolRow.isFunction() && symbolRow.parentScope.getName().equals("start")) {
-                        entries.add(symbolRow);
-                        nameNode.setId(symbolRow.getId());
-                    }
-                }
-                return entries;
+            else if (isFunctionScope && entries.isEmpty()){
+                return found(result.globals, entries, nameNode);
             }
         }
         return entries;
     }
+
+    // A map never changes once it is made, so a worker that reads it while the parser replaces it sees either one whole
+    @SuppressWarnings("unchecked")
+    private PersistentMap<String, IdList> getDeclarations(int scope) {
+        Page[] current = pages;
+        Page page = scope >>> PAGE_BITS < current.length ? current[scope >>> PAGE_BITS] : null;
+        PersistentMap<?, ?> declared = page == null ? null : page.declarations[scope & PAGE_MASK];
+        return declared == null ? PersistentMap.empty() : (PersistentMap<String, IdList>) declared;
+    }
+
+    // The name ends up with the id of the last row found
+    private static IdList found(IdList rows, IdList entries, Name nameNode) {
+        if (!rows.isEmpty()) nameNode.setId(rows.get(rows.size() - 1));
+        return entries.addAll(rows);
+    }
 }
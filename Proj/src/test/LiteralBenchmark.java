@@ -0,0 +1,55 @@
+package test;
+
+import exceptions.NoTokenLeftException;
+import errors.types.UnknownTokenError;
+import stages.frontend.LexicalAnalyser;
+
+// Lexes a single string literal of growing size, the time per KB should stay flat if literal scanning is linear
+public class LiteralBenchmark {
+
+    private static final int KB = 1024;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws UnknownTokenError {
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            lex(buildSource(64 * KB));
+        }
+
+        System.out.printf("%12s %12s %12s%n", "size (KB)", "time (ms)", "ns / KB");
+        for (int size = KB; size <= 10 * KB * KB; size *= 10) {
+            String srcCode = buildSource(size);
+
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                lex(srcCode);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+
+            System.out.printf("%12d %12.3f %12d%n", size / KB, best / 1e6, best / (size / KB));
+        }
+    }
+
+    // Spaces and punctuation split the literal into as many delimiter fragments as possible
+    private static String buildSource(int size) {
+        StringBuilder builder = new StringBuilder(size);
+        builder.append("bro text = \"");
+        while (builder.length() < size - 2) {
+            builder.append("a, b (.) ");
+        }
+        builder.setLength(size - 2);
+        return builder.append("\".").toString();
+    }
+
+    private static void lex(String srcCode) throws UnknownTokenError {
+        LexicalAnalyser lexer = new LexicalAnalyser(srcCode);
+        try {
+            while (true) {
+                lexer.nextToken();
+            }
+        } catch (NoTokenLeftException ignored) {
+        }
+    }
+}
@@ -1,13 +1,32 @@
 package test;
 
+import entities.Token;
+import helpers.AnalysisCache;
+import main.CompilationResult;
+import main.CompilerPipeline;
+import main.Main;
+import main.Stage;
+import main.StageMetrics;
 import org.junit.jupiter.api.Test;
+import stages.frontend.IncrementalLexer;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import static main.Main.compileZZZ;
 import static org.junit.jupiter.api.Assertions.*;
 
 class MainTest {
 
+    // The bodies of the functions are only analysed in parallel with more than one worker, which a single core doesn't
+    // give by default
+    static {
+        System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", "4");
+    }
+
     private String readFile(String file) {
         StringBuilder builder = new StringBuilder();
         String expectedOutput;
@@ -27,6 +46,15 @@ class MainTest {
         return expectedOutput;
     }
 
+    // Writes a copy of the file with padding added to every comment that starts a line. The lines and what the program
+    // compiles to stay the same, only the size changes. Returns the name of the copy
+    private String pad(String file, int padding) throws IOException {
+        String padded = "padded" + file.substring(0, 1).toUpperCase() + file.substring(1);
+        String source = readFile("src/test/src/" + file).replaceAll("(?m)^<<", "<<" + "x".repeat(padding));
+        Files.writeString(Path.of("src/test/src/" + padded), source);
+        return padded;
+    }
+
     @Test
     void fibonacci() {
         compileZZZ("fibonacci.txt", "a.out");
@@ -96,4 +124,253 @@ class MainTest {
         assertEquals(readFile("src/test/expected/errorRecovery.txt"), baos.toString().replace("\r\n", "\n"));
     }
 
+    @Test
+    void panicRecovery() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(baos));
+
+        CompilationResult result = compileZZZ("panicRecovery.txt", "a.out");
+
+        System.setOut(originalOut);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(readFile("src/test/expected/panicRecovery.txt"), baos.toString().replace("\r\n", "\n"));
+    }
+
+    @Test
+    void incrementalLexing() {
+        IncrementalLexer lexer = new IncrementalLexer(readFile("src/test/src/fibonacci.txt"));
+
+        // Inside a name, across lines, at both ends of the file and closing a comment that was lexed as operators
+        String source = lexer.getSource();
+        lexer.edit(source.indexOf("fibonacci ¿"), 9, "fib");
+        source = lexer.getSource();
+        lexer.edit(source.indexOf("fact bro ONE"), 0, "fact bro TWO = 2.\n");
+        source = lexer.getSource();
+        lexer.edit(source.indexOf("right 1:"), source.indexOf("left:") - source.indexOf("right 1:"), "");
+        lexer.edit(0, 0, "bro FIRST = 1.\n");
+        lexer.edit(lexer.getSource().length(), 0, "\n<< bro LAST = 2.");
+        lexer.edit(lexer.getSource().length(), 0, " >>");
+
+        Token[] expected = new IncrementalLexer(lexer.getSource()).getTokens();
+        Token[] tokens = lexer.getTokens();
+        assertEquals(expected.length, tokens.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getKind(), tokens[i].getKind());
+            assertEquals(expected[i].getValue(), tokens[i].getValue());
+            assertEquals(expected[i].getPosition(), tokens[i].getPosition());
+        }
+    }
+
+    @Test
+    void parallelParse() throws IOException {
+        // Big enough to be parsed in three slices, the last one holding CEO
+        String padded = pad("fibonacci.txt", 100 * 1024);
+        try {
+            compileZZZ(padded, "a.out");
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+        }
+        finally {
+            Files.deleteIfExists(Path.of("src/test/src/" + padded));
+        }
+    }
+
+    @Test
+    void parallelParseError() throws IOException {
+        // The slice with the error is parsed again with the rest of the file, which reports it where it is
+        Path broken = Path.of("src/test/src/brokenFibonacci.txt");
+        Files.writeString(broken, readFile("src/test/src/fibonacci.txt").replace("fVal += ", "fVal += ."));
+        String padded = pad("brokenFibonacci.txt", 100 * 1024);
+        try {
+            String expected = compileOutput("brokenFibonacci.txt");
+            assertTrue(expected.contains("Unexpected token"));
+            assertEquals(expected, compileOutput(padded));
+        }
+        finally {
+            Files.deleteIfExists(broken);
+            Files.deleteIfExists(Path.of("src/test/src/" + padded));
+        }
+    }
+
+    private String compileOutput(String file) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(baos));
+
+        compileZZZ(file, "a.out");
+
+        System.setOut(originalOut);
+        return baos.toString();
+    }
+
+    @Test
+    void analysisCache() throws IOException {
+        Path directory = Files.createTempDirectory("zzzc");
+        String padded = pad("fibonacci.txt", 1);
+        try {
+            AnalysisCache cache = new AnalysisCache(directory, "1");
+            new CompilerPipeline(cache).run("src/test/src/fibonacci.txt", "a.out", Stage.WRITE);
+            new CompilerPipeline(cache).run("src/test/src/fibonacci.txt", "a.out", Stage.WRITE);
+            assertEquals(1, cache.getMisses());
+            assertEquals(1, cache.getHits());
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+
+            // A changed entry is a miss and gets written again
+            Path entry = entries(directory).get(0);
+            byte[] bytes = Files.readAllBytes(entry);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(entry, bytes);
+            new CompilerPipeline(cache).run("src/test/src/fibonacci.txt", "a.out", Stage.WRITE);
+            assertEquals(2, cache.getMisses());
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+            new CompilerPipeline(cache).run("src/test/src/fibonacci.txt", "a.out", Stage.WRITE);
+            assertEquals(2, cache.getHits());
+
+            // A changed source is a miss, and with room for a single entry the one used last is kept
+            AnalysisCache small = new AnalysisCache(directory, "1", Files.size(entry) * 3 / 2);
+            new CompilerPipeline(small).run("src/test/src/" + padded, "a.out", Stage.WRITE);
+            assertEquals(1, small.getMisses());
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+            assertEquals(1, entries(directory).size());
+            new CompilerPipeline(small).run("src/test/src/" + padded, "a.out", Stage.WRITE);
+            assertEquals(1, small.getHits());
+
+            // Another version of the compiler doesn't read what this one stored
+            AnalysisCache newer = new AnalysisCache(directory, "2");
+            new CompilerPipeline(newer).run("src/test/src/" + padded, "a.out", Stage.WRITE);
+            assertEquals(1, newer.getMisses());
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+            // The classes the compiler runs from give the same version every time
+            assertEquals(AnalysisCache.versionOf(Main.class), AnalysisCache.versionOf(Main.class));
+        }
+        finally {
+            Files.deleteIfExists(Path.of("src/test/src/" + padded));
+            for (Path entry : entries(directory)) {
+                Files.delete(entry);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void pipelinedParse() throws IOException {
+        // Big enough for the globals to be analysed and generated while the parse goes on, too small for slices
+        String padded = pad("fibonacci.txt", 8 * 1024);
+        try {
+            compileZZZ(padded, "a.out");
+            assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+        }
+        finally {
+            Files.deleteIfExists(Path.of("src/test/src/" + padded));
+        }
+    }
+
+    @Test
+    void forwardCall() throws IOException {
+        compileZZZ("forwardCall.txt", "a.out");
+        assertEquals(readFile("src/test/expected/forwardCall.txt"), readFile("a.out"));
+
+        // The pipeline can't analyse the call before the function is declared and leaves it to the sequential analysis
+        String padded = pad("forwardCall.txt", 8 * 1024);
+        try {
+            compileZZZ(padded, "a.out");
+            assertEquals(readFile("src/test/expected/forwardCall.txt"), readFile("a.out"));
+        }
+        finally {
+            Files.deleteIfExists(Path.of("src/test/src/" + padded));
+        }
+    }
+
+    @Test
+    void stopAfter() {
+        CompilationResult result = compileZZZ("fibonacci.txt", "a.out", Stage.SEMANTIC);
+        assertTrue(result.isSuccessful());
+        assertNull(result.getOutputFile());
+        assertEquals(List.of(Stage.READ, Stage.PARSE, Stage.SEMANTIC), stagesOf(result));
+
+        // The parser lexes as it goes unless lexing is a stage of its own
+        result = compileZZZ("fibonacci.txt", "a.out");
+        assertEquals("a.out", result.getOutputFile());
+        assertEquals(List.of(Stage.READ, Stage.PARSE, Stage.SEMANTIC, Stage.TAC, Stage.TARGET, Stage.WRITE),
+                stagesOf(result));
+        assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+
+        result = new CompilerPipeline(null, true).run("src/test/src/fibonacci.txt", "a.out", Stage.WRITE);
+        assertEquals(List.of(Stage.values()), stagesOf(result));
+        assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+
+        result = compileZZZ("fibonacci.txt", "a.out", Stage.LEX);
+        assertEquals(List.of(Stage.READ, Stage.LEX), stagesOf(result));
+    }
+
+    @Test
+    void commandLine() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(baos));
+
+        Main.main(new String[] {"zzz", "fibonacci.txt", "--timings"});
+
+        System.setErr(originalErr);
+
+        List<String> names = baos.toString().lines().map(line -> line.split(" ")[0]).toList();
+        assertEquals(List.of("read", "lex", "parse", "semantic", "tac", "target", "write"), names);
+        assertEquals(readFile("src/test/expected/fibonacci.txt"), readFile("a.out"));
+
+        try {
+            Main.main(new String[] {"zzz", "fibonacci.txt", "parsed.out", "--stop-after=parse"});
+            assertFalse(Files.exists(Path.of("parsed.out")));
+        }
+        finally {
+            Files.deleteIfExists(Path.of("parsed.out"));
+        }
+    }
+
+    @Test
+    void parallelAnalysis() {
+        assertTrue(ForkJoinPool.getCommonPoolParallelism() >= 2);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(baos));
+
+        // Each body reads globals the ones before it set, so they are analysed again once those are known
+        compileZZZ("globalFlags.txt", "a.out");
+
+        System.setOut(originalOut);
+
+        assertEquals(readFile("src/test/expected/globalFlags.txt"), baos.toString().replace("\r\n", "\n"));
+    }
+
+    @Test
+    void deepNesting() throws IOException {
+        // Far deeper than the stack of a thread takes by default, lowering and the later stages recurse on each level
+        Path deep = Path.of("src/test/src/deepNesting.txt");
+        try {
+            Files.writeString(deep, "CEO ¡\n    bro r = 0.\n" + "like ¿ r == 0 ? ¡\n".repeat(5000) + "r = 1.\n"
+                    + "!\n".repeat(5000) + "!\n");
+            assertTrue(compileZZZ("deepNesting.txt", "a.out").isSuccessful());
+
+            // Deeper than the stack of the compiler takes, it is reported instead of crashing
+            Files.writeString(deep, "CEO ¡\n    bro r = " + "(".repeat(1000000) + "1" + ")".repeat(1000000) + ".\n!\n");
+            CompilationResult result = compileZZZ("deepNesting.txt", "a.out");
+            assertFalse(result.isSuccessful());
+            assertTrue(result.getErrorWall().contains("The program nests too deep to be compiled"));
+        }
+        finally {
+            Files.deleteIfExists(deep);
+        }
+    }
+
+    private List<Stage> stagesOf(CompilationResult result) {
+        return result.getStages().stream().map(StageMetrics::getStage).toList();
+    }
+
+    private List<Path> entries(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
 }
\ No newline at end of file